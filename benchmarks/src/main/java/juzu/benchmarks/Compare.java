@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.benchmarks;
+
+import juzu.impl.common.JSON;
+import juzu.impl.common.Tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files in the JSON format, the first one being the baseline.
+ *
+ * @author Julien Viet
+ */
+public class Compare {
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: java " + Compare.class.getName() + " <baseline.json> <result.json>");
+      System.exit(1);
+    }
+    Map<String, JSON> baseline = load(new File(args[0]));
+    Map<String, JSON> result = load(new File(args[1]));
+    System.out.println(String.format("%-80s %14s %14s %-10s %8s", "Benchmark", "Baseline", "Result", "Units", "Delta"));
+    for (Map.Entry<String, JSON> entry : result.entrySet()) {
+      JSON metric = entry.getValue().getJSON("primaryMetric");
+      double score = score(metric);
+      JSON previous = baseline.get(entry.getKey());
+      if (previous != null) {
+        double previousScore = score(previous.getJSON("primaryMetric"));
+        double delta = (score - previousScore) * 100 / previousScore;
+        System.out.println(String.format("%-80s %14.3f %14.3f %-10s %+7.1f%%", entry.getKey(), previousScore, score, metric.getString("scoreUnit"), delta));
+      } else {
+        System.out.println(String.format("%-80s %14s %14.3f %-10s %8s", entry.getKey(), "-", score, metric.getString("scoreUnit"), "-"));
+      }
+    }
+  }
+
+  /**
+   * Load a result file and key each result by its benchmark name, mode and parameters.
+   *
+   * @param file the result file
+   * @return the results
+   * @throws IOException any io exception
+   */
+  private static Map<String, JSON> load(File file) throws IOException {
+    LinkedHashMap<String, JSON> results = new LinkedHashMap<String, JSON>();
+    for (Object o : (List<?>)JSON.parse(Tools.read(file))) {
+      JSON result = (JSON)o;
+      StringBuilder key = new StringBuilder(result.getString("benchmark"));
+      key.append(" (").append(result.getString("mode"));
+      JSON params = result.getJSON("params");
+      if (params != null) {
+        for (String name : params.names()) {
+          key.append(", ").append(name).append('=').append(params.get(name));
+        }
+      }
+      key.append(')');
+      results.put(key.toString(), result);
+    }
+    return results;
+  }
+
+  private static double score(JSON metric) {
+    Object score = metric.get("score");
+    return score instanceof Number ? ((Number)score).doubleValue() : Double.parseDouble(String.valueOf(score));
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.asset;
+
+import juzu.asset.AssetLocation;
+import juzu.impl.resource.ResourceResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Benchmarks the resolution of the assets of a request against the asset graph.
+ *
+ * @author Julien Viet
+ */
+@State(Scope.Benchmark)
+public class AssetManagerBenchmark {
+
+  /** The number of deployed scripts. */
+  @Param({"10", "100"})
+  int size;
+
+  /** . */
+  AssetManager manager;
+
+  /** . */
+  List<String> leaf;
+
+  /** . */
+  List<String> all;
+
+  @Setup
+  public void setup() {
+    manager = new AssetManager("/assets/", ResourceResolver.NULL_RESOLVER);
+    AssetDeployment deployment = manager.createDeployment();
+    all = new ArrayList<String>();
+    for (int i = 0;i < size;i++) {
+      String id = "script" + i;
+      String[] dependencies = i > 0 ? new String[]{"script" + (i - 1)} : new String[0];
+      deployment.addAsset(id, "script", AssetLocation.URL, "http://cdn/" + id + ".js", null, null, null, null, dependencies);
+      deployment.addAsset("stylesheet" + i, "stylesheet", AssetLocation.URL, "http://cdn/stylesheet" + i + ".css", null, null, null, null);
+      all.add(id);
+      all.add("stylesheet" + i);
+    }
+    if (!deployment.deploy()) {
+      throw new AssertionError("Could not deploy assets");
+    }
+    leaf = Collections.singletonList("script" + (size - 1));
+  }
+
+  @Benchmark
+  public Iterable<Asset> resolveLeaf() {
+    return manager.resolveAssets(leaf);
+  }
+
+  @Benchmark
+  public Iterable<Asset> resolveAll() {
+    return manager.resolveAssets(all);
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.bridge.spi.portlet;
+
+import juzu.PropertyMap;
+import juzu.impl.bridge.Bridge;
+import juzu.impl.common.MethodHandle;
+import juzu.impl.common.MimeType;
+import juzu.impl.common.Name;
+import juzu.impl.inject.spi.InjectorProvider;
+import juzu.impl.plugin.controller.ControllerService;
+import juzu.impl.request.ControllerHandler;
+import juzu.request.Phase;
+import juzu.request.ResponseParameter;
+import juzu.test.AbstractTestCase;
+import juzu.test.protocol.mock.MockApplication;
+import juzu.test.protocol.portlet.PortletStubs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Benchmarks the urls rendered by a portlet view request: each invocation creates a request bridge and renders
+ * a view, an action and a resource url for each value. The portlet objects are stubs, so this measures the bridge
+ * side of the url rendering.
+ *
+ * @author Julien Viet
+ */
+@State(Scope.Benchmark)
+public class PortletURLBenchmark {
+
+  /** . */
+  static final Name APP = Name.parse("juzu.benchmarks.app");
+
+  /** The number of urls of each phase rendered per request. */
+  @Param({"200"})
+  int size;
+
+  /** . */
+  MockApplication<File> application;
+
+  /** . */
+  PortletStubs stubs;
+
+  /** . */
+  Bridge bridge;
+
+  /** . */
+  MethodHandle view;
+
+  /** . */
+  MethodHandle action;
+
+  /** . */
+  MethodHandle resource;
+
+  /** . */
+  ArrayList<Map<String, ResponseParameter>> parameters;
+
+  @Setup
+  public void setup() throws Exception {
+    if (System.getProperty("juzu.test.workspace.path") == null) {
+      File workspace = new File(System.getProperty("java.io.tmpdir"), "juzu-benchmarks-" + System.nanoTime());
+      System.setProperty("juzu.test.workspace.path", workspace.getAbsolutePath());
+    }
+    application = new MockApplication<File>(AbstractTestCase.compiler(false, APP), InjectorProvider.GUICE, APP).init();
+    stubs = new PortletStubs();
+    bridge = stubs.bridge(application.getContext());
+    for (ControllerHandler handler : application.getContext().resolveBean(ControllerService.class).getDescriptor().getHandlers()) {
+      if (handler.getName().equals("view")) {
+        view = handler.getHandle();
+      } else if (handler.getName().equals("action")) {
+        action = handler.getHandle();
+      } else if (handler.getName().equals("resource")) {
+        resource = handler.getHandle();
+      }
+    }
+    parameters = new ArrayList<Map<String, ResponseParameter>>(size);
+    for (int i = 0;i < size;i++) {
+      parameters.add(Collections.singletonMap("value", ResponseParameter.create("value", Integer.toString(i))));
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    application.close();
+  }
+
+  @Benchmark
+  public StringBuilder render() throws Exception {
+    PortletViewBridge request = new PortletViewBridge(bridge, stubs.renderRequest(), stubs.renderResponse(), stubs.config());
+    PropertyMap properties = new PropertyMap();
+    StringBuilder sb = new StringBuilder();
+    for (Map<String, ResponseParameter> value : parameters) {
+      request.createDispatch(Phase.VIEW, view, value).renderURL(properties, MimeType.PLAIN, sb);
+      request.createDispatch(Phase.ACTION, action, value).renderURL(properties, MimeType.PLAIN, sb);
+      request.createDispatch(Phase.RESOURCE, resource, value).renderURL(properties, MimeType.PLAIN, sb);
+    }
+    return sb;
+  }
+}
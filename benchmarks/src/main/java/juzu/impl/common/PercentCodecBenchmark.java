@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the percent encoding and decoding of path segments and query parameter values.
+ *
+ * @author Julien Viet
+ */
+@State(Scope.Benchmark)
+public class PercentCodecBenchmark {
+
+  /** A value that needs no encoding. */
+  static final String SAFE = "the-quick_brown.fox~jumps";
+
+  /** A value with reserved and non ascii chars. */
+  static final String UNSAFE = "caf\u00e9 & cr\u00e8me = cr\u00e8me br\u00fbl\u00e9e / 100% \u20ac?";
+
+  /** . */
+  String encodedSegment;
+
+  /** . */
+  String encodedValue;
+
+  @Setup
+  public void setup() {
+    encodedSegment = PercentCodec.RFC3986_SEGMENT.encode(UNSAFE);
+    encodedValue = PercentCodec.RFC3986_QUERY_PARAM_VALUE.encode(UNSAFE);
+  }
+
+  @Benchmark
+  public String encodeSafeSegment() {
+    return PercentCodec.RFC3986_SEGMENT.encode(SAFE);
+  }
+
+  @Benchmark
+  public String encodeSegment() {
+    return PercentCodec.RFC3986_SEGMENT.encode(UNSAFE);
+  }
+
+  @Benchmark
+  public String encodeQueryParamValue() {
+    return PercentCodec.RFC3986_QUERY_PARAM_VALUE.encode(UNSAFE);
+  }
+
+  @Benchmark
+  public String decodeSafeSegment() {
+    return PercentCodec.RFC3986_SEGMENT.decode(SAFE);
+  }
+
+  @Benchmark
+  public String decodeSegment() {
+    return PercentCodec.RFC3986_SEGMENT.decode(encodedSegment);
+  }
+
+  @Benchmark
+  public String decodeQueryParamValue() {
+    return PercentCodec.RFC3986_QUERY_PARAM_VALUE.decode(encodedValue);
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.common;
+
+import juzu.request.RequestParameter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Benchmarks the parsing of query strings and form url encoded bodies.
+ *
+ * @author Julien Viet
+ */
+@State(Scope.Benchmark)
+public class QueryParserBenchmark {
+
+  /** . */
+  String query;
+
+  @Setup
+  public void setup() throws IOException {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0;i < 10;i++) {
+      if (i > 0) {
+        sb.append('&');
+      }
+      sb.append("param").append(i).append('=');
+      PercentCodec.RFC3986_QUERY_PARAM_VALUE.encode("value " + i + " \u00e9\u00e8", sb);
+    }
+    sb.append("&multi=a&multi=b&multi=c");
+    query = sb.toString();
+  }
+
+  @Benchmark
+  public void queryParser(Blackhole blackhole) {
+    for (Iterator<RequestParameter> i = Lexers.queryParser(query);i.hasNext();) {
+      blackhole.consume(i.next());
+    }
+  }
+
+  @Benchmark
+  public Map<String, RequestParameter> parseQuery() {
+    return Lexers.parseQuery(query);
+  }
+
+  @Benchmark
+  public void formURLEncodedParser(Blackhole blackhole) {
+    for (RequestParameter parameter : new FormURLEncodedParser(Tools.UTF_8, query, 0, query.length())) {
+      blackhole.consume(parameter);
+    }
+  }
+}
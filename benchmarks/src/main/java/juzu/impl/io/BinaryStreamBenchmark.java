@@ -0,0 +1,93 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.io;
+
+import juzu.impl.common.Tools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Benchmarks the encoding of chars to bytes performed when streaming a response.
+ *
+ * @author Julien Viet
+ */
+@State(Scope.Thread)
+public class BinaryStreamBenchmark {
+
+  /** Discards the bytes. */
+  static final OutputStream NULL = new OutputStream() {
+    @Override
+    public void write(int b) {
+    }
+    @Override
+    public void write(byte[] b, int off, int len) {
+    }
+  };
+
+  /** . */
+  BinaryOutputStream stream;
+
+  /** . */
+  String ascii;
+
+  /** . */
+  String nonAscii;
+
+  /** . */
+  String[] fragments;
+
+  @Setup
+  public void setup() {
+    StringBuilder asciiBuffer = new StringBuilder();
+    StringBuilder nonAsciiBuffer = new StringBuilder();
+    while (asciiBuffer.length() < 4096) {
+      asciiBuffer.append("<li class=\"item\">The quick brown fox jumps over the lazy dog</li>\n");
+      nonAsciiBuffer.append("<li class=\"item\">Portez ce vieux whisky au juge blond qui fume \u20ac \u00a9</li>\n");
+    }
+    ascii = asciiBuffer.toString();
+    nonAscii = nonAsciiBuffer.toString();
+    fragments = new String[]{"<li class=\"", "item", "\">", "The quick brown fox", "</li>\n"};
+    stream = new BinaryOutputStream(Tools.UTF_8, NULL);
+  }
+
+  @Benchmark
+  public void appendAscii() throws IOException {
+    stream.append(ascii);
+  }
+
+  @Benchmark
+  public void appendNonAscii() throws IOException {
+    stream.append(nonAscii);
+  }
+
+  @Benchmark
+  public void appendFragments() throws IOException {
+    for (String fragment : fragments) {
+      stream.append(fragment);
+    }
+  }
+
+  @Benchmark
+  public void appendChar() throws IOException {
+    stream.append('a');
+  }
+}
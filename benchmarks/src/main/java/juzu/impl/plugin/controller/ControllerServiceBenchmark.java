@@ -0,0 +1,70 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.plugin.controller;
+
+import juzu.impl.common.Name;
+import juzu.impl.inject.spi.InjectorProvider;
+import juzu.test.AbstractTestCase;
+import juzu.test.protocol.mock.MockApplication;
+import juzu.test.protocol.mock.MockClient;
+import juzu.test.protocol.mock.MockViewBridge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+
+/**
+ * Benchmarks a view request end to end, from the {@link ControllerService#invoke(juzu.impl.bridge.spi.RequestBridge)}
+ * call of the mock bridge to the response.
+ *
+ * @author Julien Viet
+ */
+@State(Scope.Benchmark)
+public class ControllerServiceBenchmark {
+
+  /** . */
+  static final Name APP = Name.parse("juzu.benchmarks.app");
+
+  /** . */
+  MockApplication<File> application;
+
+  /** . */
+  MockClient client;
+
+  @Setup
+  public void setup() throws Exception {
+    if (System.getProperty("juzu.test.workspace.path") == null) {
+      File workspace = new File(System.getProperty("java.io.tmpdir"), "juzu-benchmarks-" + System.nanoTime());
+      System.setProperty("juzu.test.workspace.path", workspace.getAbsolutePath());
+    }
+    application = new MockApplication<File>(AbstractTestCase.compiler(false, APP), InjectorProvider.GUICE, APP).init();
+    client = application.client();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    application.close();
+  }
+
+  @Benchmark
+  public MockViewBridge render() {
+    return client.render();
+  }
+}
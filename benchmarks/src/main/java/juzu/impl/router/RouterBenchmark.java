@@ -0,0 +1,90 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.router;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Benchmarks the routing and the rendering of a route table.
+ *
+ * @author Julien Viet
+ */
+@State(Scope.Benchmark)
+public class RouterBenchmark {
+
+  /** The number of routes in the table. */
+  @Param({"10", "100", "1000"})
+  int size;
+
+  /** . */
+  Router router;
+
+  /** . */
+  Route last;
+
+  /** . */
+  String firstPath;
+
+  /** . */
+  String lastPath;
+
+  /** . */
+  Map<String, String> parameters;
+
+  @Setup
+  public void setup() throws Exception {
+    router = new Router();
+    for (int i = 0;i < size;i++) {
+      last = router.append("/section" + i + "/{id}/page");
+    }
+    firstPath = "/section0/123/page";
+    lastPath = "/section" + (size - 1) + "/123/page";
+    parameters = Collections.singletonMap("id", "123");
+  }
+
+  @Benchmark
+  public RouteMatch routeFirst() {
+    return router.route(firstPath);
+  }
+
+  @Benchmark
+  public RouteMatch routeLast() {
+    return router.route(lastPath);
+  }
+
+  @Benchmark
+  public RouteMatch routeNotFound() {
+    return router.route("/unknown/123/page");
+  }
+
+  @Benchmark
+  public RouteMatch matches() {
+    return last.matches(parameters);
+  }
+
+  @Benchmark
+  public String render() {
+    return last.matches(parameters).render();
+  }
+}
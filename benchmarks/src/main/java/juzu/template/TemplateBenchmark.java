@@ -0,0 +1,79 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.template;
+
+import juzu.impl.template.spi.TemplateStub;
+import juzu.impl.template.spi.juzu.ast.AbstractTemplateTestCase;
+import juzu.templating.mustache.TemplateStubImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks the rendering of the same list with the Groovy and the Mustache template engines.
+ *
+ * @author Julien Viet
+ */
+@State(Scope.Benchmark)
+public class TemplateBenchmark {
+
+  /** . */
+  static final String GROOVY = "<ul><% items.each { item -> %><li class=\"item\">${item}</li><% } %></ul>";
+
+  /** The number of rendered items. */
+  @Param({"10", "100"})
+  int size;
+
+  /** . */
+  TemplateStub groovy;
+
+  /** . */
+  TemplateStub mustache;
+
+  /** . */
+  Map<String, Object> attributes;
+
+  @Setup
+  public void setup() throws Exception {
+    groovy = new AbstractTemplateTestCase() {}.template(GROOVY);
+    mustache = new TemplateStubImpl(TemplateBenchmark.class.getClassLoader(), "juzu.benchmarks.templates.list");
+    mustache.init();
+    List<String> items = new ArrayList<String>();
+    for (int i = 0;i < size;i++) {
+      items.add("item" + i);
+    }
+    attributes = Collections.<String, Object>singletonMap("items", items);
+  }
+
+  @Benchmark
+  public StringBuilder renderGroovy() throws IOException {
+    return new TemplateRenderContext(groovy, attributes).render();
+  }
+
+  @Benchmark
+  public StringBuilder renderMustache() throws IOException {
+    return new TemplateRenderContext(mustache, attributes).render();
+  }
+}
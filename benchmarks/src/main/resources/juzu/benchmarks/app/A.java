@@ -0,0 +1,46 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.benchmarks.app;
+
+import juzu.Action;
+import juzu.Resource;
+import juzu.Response;
+import juzu.View;
+
+/** @author Julien Viet */
+public class A {
+
+  @View
+  public Response.Content index() {
+    return Response.ok("hello");
+  }
+
+  @View
+  public Response.Content view(String value) {
+    return Response.ok("view " + value);
+  }
+
+  @Action
+  public Response.View action(String value) {
+    return A_.view(value);
+  }
+
+  @Resource
+  public Response.Content resource(String value) {
+    return Response.ok("resource " + value);
+  }
+}
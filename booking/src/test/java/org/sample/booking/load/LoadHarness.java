@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sample.booking.load;
+
+import juzu.impl.common.Tools;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.scan.StandardJarScanner;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Starts the booking application in an embedded Tomcat and replays the {@link Scenario#BOOKING} scenario
+ * from concurrent clients on localhost, after a warmup phase the throughput, the latency percentiles, the
+ * garbage collections and the allocation per request are reported.</p>
+ *
+ * <p>The harness is configured with system properties:</p>
+ * <ul>
+ *   <li><code>load.threads</code>: the number of clients, 8 by default</li>
+ *   <li><code>load.warmup</code>: the warmup duration in seconds, 10 by default</li>
+ *   <li><code>load.duration</code>: the measured duration in seconds, 30 by default</li>
+ *   <li><code>load.webapp</code>: the exploded booking application, <code>target/juzu-booking</code> by default</li>
+ *   <li><code>load.report</code>: the optional file where the measurement is written in JSON</li>
+ * </ul>
+ *
+ * <p>The system properties starting with <code>juzu.</code> are set as init parameters of the application
+ * context, so the bridge options can be compared under the same workload.</p>
+ *
+ * @author Julien Viet
+ */
+public class LoadHarness {
+
+  public static void main(String[] args) throws Exception {
+    int threads = Integer.getInteger("load.threads", 8);
+    int warmup = Integer.getInteger("load.warmup", 10);
+    int duration = Integer.getInteger("load.duration", 30);
+    File webapp = new File(System.getProperty("load.webapp", "target/juzu-booking")).getAbsoluteFile();
+    String report = System.getProperty("load.report");
+    if (!webapp.isDirectory()) {
+      throw new IllegalArgumentException("The booking application " + webapp + " does not exist, it is created by mvn package");
+    }
+
+    //
+    int port = freePort();
+    Tomcat tomcat = new Tomcat();
+    tomcat.setBaseDir(new File(webapp.getParentFile(), "load-tomcat").getAbsolutePath());
+    tomcat.setPort(port);
+    tomcat.setSilent(true);
+    Context context = tomcat.addWebapp("/booking", webapp.getAbsolutePath());
+
+    // Only scan the application jars, the harness classpath is not part of the application
+    StandardJarScanner scanner = new StandardJarScanner();
+    scanner.setScanClassPath(false);
+    context.setJarScanner(scanner);
+    for (Map.Entry<Object, Object> property : System.getProperties().entrySet()) {
+      String name = property.getKey().toString();
+      if (name.startsWith("juzu.")) {
+        context.addParameter(name, property.getValue().toString());
+      }
+    }
+    tomcat.start();
+
+    //
+    try {
+      String base = "http://localhost:" + port + "/booking";
+      System.out.println("Warming up " + base + " with " + threads + " clients for " + warmup + "s");
+      run(base, threads, warmup);
+      System.out.println("Measuring with " + threads + " clients for " + duration + "s");
+      Measurement measurement = run(base, threads, duration);
+      measurement.print(System.out);
+      if (report != null) {
+        FileWriter writer = new FileWriter(report);
+        try {
+          measurement.toJSON().toString(writer, 2);
+        }
+        finally {
+          Tools.safeClose(writer);
+        }
+      }
+    }
+    finally {
+      tomcat.stop();
+      tomcat.destroy();
+    }
+  }
+
+  /**
+   * Replay the booking scenario from concurrent clients until the duration elapses.
+   *
+   * @param base the application base url
+   * @param threads the number of clients
+   * @param seconds the duration
+   * @return the measurement
+   * @throws InterruptedException if the current thread is interrupted
+   */
+  static Measurement run(final String base, int threads, int seconds) throws InterruptedException {
+    final Measurement measurement = new Measurement();
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+    Thread[] clients = new Thread[threads];
+    for (int i = 0;i < clients.length;i++) {
+      final Random random = new Random(i);
+      clients[i] = new Thread("load-client-" + i) {
+        @Override
+        public void run() {
+          while (Scenario.BOOKING.replay(base, random, measurement, deadline)) {
+            // Next session
+          }
+        }
+      };
+    }
+    measurement.start();
+    for (Thread client : clients) {
+      client.start();
+    }
+    for (Thread client : clients) {
+      client.join();
+    }
+    measurement.stop();
+    return measurement;
+  }
+
+  private static int freePort() throws IOException {
+    ServerSocket socket = new ServerSocket(0);
+    try {
+      return socket.getLocalPort();
+    }
+    finally {
+      socket.close();
+    }
+  }
+}
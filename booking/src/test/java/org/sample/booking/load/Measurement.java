@@ -0,0 +1,222 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sample.booking.load;
+
+import juzu.impl.common.JSON;
+import juzu.impl.metrics.Histogram;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The measurement of a load phase: the latency of the requests of each kind, the garbage collections and the
+ * bytes allocated by the server threads, measured through JMX between {@link #start()} and {@link #stop()}.
+ *
+ * @author Julien Viet
+ */
+public class Measurement {
+
+  /** . */
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+  /** Latencies in microseconds. */
+  private final EnumMap<Scenario.Kind, Histogram> latencies = new EnumMap<Scenario.Kind, Histogram>(Scenario.Kind.class);
+
+  /** . */
+  private final EnumMap<Scenario.Kind, AtomicLong> errors = new EnumMap<Scenario.Kind, AtomicLong>(Scenario.Kind.class);
+
+  /** . */
+  private long begin;
+
+  /** . */
+  private long elapsed;
+
+  /** The bytes allocated per thread when the measurement started. */
+  private Map<Long, Long> allocations;
+
+  /** . */
+  private long allocated;
+
+  /** . */
+  private final Map<String, long[]> collections = new LinkedHashMap<String, long[]>();
+
+  public Measurement() {
+    for (Scenario.Kind kind : Scenario.Kind.values()) {
+      latencies.put(kind, new Histogram());
+      errors.put(kind, new AtomicLong());
+    }
+  }
+
+  void record(Scenario.Kind kind, long nanos, boolean ok) {
+    latencies.get(kind).record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    if (!ok) {
+      errors.get(kind).incrementAndGet();
+    }
+  }
+
+  void start() {
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      collections.put(gc.getName(), new long[]{-gc.getCollectionCount(), -gc.getCollectionTime()});
+    }
+    allocations = allocatedBytes();
+    begin = System.nanoTime();
+  }
+
+  /**
+   * Stop the measurement, the client threads must have terminated so their allocations are not accounted.
+   */
+  void stop() {
+    elapsed = System.nanoTime() - begin;
+    Map<Long, Long> current = allocatedBytes();
+    if (allocations != null && current != null) {
+      allocated = 0;
+      for (Map.Entry<Long, Long> entry : current.entrySet()) {
+        Long previous = allocations.get(entry.getKey());
+        allocated += entry.getValue() - (previous != null ? previous : 0);
+      }
+    } else {
+      allocated = -1;
+    }
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      long[] collection = collections.get(gc.getName());
+      if (collection != null) {
+        collection[0] += gc.getCollectionCount();
+        collection[1] += gc.getCollectionTime();
+      }
+    }
+  }
+
+  /**
+   * Returns the bytes allocated so far by each live thread or null when the JVM cannot measure it. The bytes
+   * allocated by a thread that terminates during the measurement are lost, this is not an issue for the server
+   * as the request threads are pooled.
+   *
+   * @return the allocated bytes per thread id
+   */
+  static Map<Long, Long> allocatedBytes() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean)bean;
+      if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+        long[] ids = bean.getAllThreadIds();
+        long[] bytes = sunBean.getThreadAllocatedBytes(ids);
+        Map<Long, Long> allocations = new HashMap<Long, Long>();
+        for (int i = 0;i < ids.length;i++) {
+          if (bytes[i] >= 0) {
+            allocations.put(ids[i], bytes[i]);
+          }
+        }
+        return allocations;
+      }
+    }
+    return null;
+  }
+
+  public long getRequests() {
+    long requests = 0;
+    for (Histogram histogram : latencies.values()) {
+      requests += histogram.getCount();
+    }
+    return requests;
+  }
+
+  public long getErrors() {
+    long count = 0;
+    for (AtomicLong error : errors.values()) {
+      count += error.get();
+    }
+    return count;
+  }
+
+  public double getThroughput() {
+    return getRequests() * (double)TimeUnit.SECONDS.toNanos(1) / elapsed;
+  }
+
+  /**
+   * Returns the bytes allocated per request by the server or -1 when it cannot be measured.
+   *
+   * @return the allocation rate
+   */
+  public long getAllocationPerRequest() {
+    long requests = getRequests();
+    return allocated < 0 || requests == 0 ? -1 : allocated / requests;
+  }
+
+  public void print(PrintStream out) {
+    out.printf("Requests   : %d in %.1fs, %.1f req/s, %d errors%n",
+        getRequests(), elapsed / 1e9, getThroughput(), getErrors());
+    out.printf("%-10s %8s %8s %8s %8s %8s %8s %8s %8s (ms)%n", "Kind", "count", "errors", "mean", "p50", "p90", "p99", "p99.9", "max");
+    for (Scenario.Kind kind : Scenario.Kind.values()) {
+      Histogram histogram = latencies.get(kind);
+      if (histogram.getCount() > 0) {
+        out.printf("%-10s %8d %8d %8.2f", kind.name().toLowerCase(), histogram.getCount(), errors.get(kind).get(), histogram.getMean() / 1000);
+        for (double percentile : PERCENTILES) {
+          out.printf(" %8.2f", histogram.getValueAtPercentile(percentile) / 1000d);
+        }
+        out.printf(" %8.2f%n", histogram.getMax() / 1000d);
+      }
+    }
+    for (Map.Entry<String, long[]> collection : collections.entrySet()) {
+      out.printf("GC         : %s %d collections, %d ms%n", collection.getKey(), collection.getValue()[0], collection.getValue()[1]);
+    }
+    long allocation = getAllocationPerRequest();
+    if (allocation >= 0) {
+      out.printf("Allocation : %d KB/request, %.1f MB/s%n", allocation / 1024, allocation * getThroughput() / (1024 * 1024));
+    } else {
+      out.printf("Allocation : not supported by this JVM%n");
+    }
+  }
+
+  public JSON toJSON() {
+    JSON json = JSON.json().
+        set("requests", getRequests()).
+        set("errors", getErrors()).
+        set("duration", TimeUnit.NANOSECONDS.toMillis(elapsed)).
+        set("throughput", Math.round(getThroughput())).
+        set("allocationPerRequest", getAllocationPerRequest());
+    JSON kinds = JSON.json();
+    for (Scenario.Kind kind : Scenario.Kind.values()) {
+      Histogram histogram = latencies.get(kind);
+      JSON latency = JSON.json().
+          set("count", histogram.getCount()).
+          set("errors", errors.get(kind).get());
+      if (histogram.getCount() > 0) {
+        latency.set("mean", Math.round(histogram.getMean())).set("max", histogram.getMax());
+        for (double percentile : PERCENTILES) {
+          String name = percentile == (long)percentile ? Long.toString((long)percentile) : Double.toString(percentile);
+          latency.set("p" + name, histogram.getValueAtPercentile(percentile));
+        }
+      }
+      kinds.set(kind.name().toLowerCase(), latency);
+    }
+    json.set("latencies", kinds.set("unit", "us"));
+    JSON gc = JSON.json();
+    for (Map.Entry<String, long[]> collection : collections.entrySet()) {
+      gc.set(collection.getKey(), JSON.json().set("count", collection.getValue()[0]).set("time", collection.getValue()[1]));
+    }
+    json.set("gc", gc);
+    return json;
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.sample.booking.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A scripted user session replayed by each client of the load harness: the user logs in, browses the hotels,
+ * opens the booking form of an hotel and logs out.
+ *
+ * @author Julien Viet
+ */
+public class Scenario {
+
+  /**
+   * The kind of request, so the latencies of each phase are reported separately.
+   */
+  public enum Kind {
+    VIEW, ACTION, RESOURCE
+  }
+
+  /**
+   * A request of the scenario, the <code>{hotel}</code> token of the path is replaced by the hotel
+   * chosen for the session.
+   */
+  public static class Step {
+
+    /** . */
+    final Kind kind;
+
+    /** . */
+    final String path;
+
+    /** The url encoded form for an action or null. */
+    final String form;
+
+    public Step(Kind kind, String path, String form) {
+      this.kind = kind;
+      this.path = path;
+      this.form = form;
+    }
+  }
+
+  /** The booking session. */
+  public static final Scenario BOOKING = new Scenario(
+      new Step(Kind.VIEW, "/", null),
+      new Step(Kind.ACTION, "/login", "username=demo&password=demo"),
+      new Step(Kind.VIEW, "/", null),
+      new Step(Kind.RESOURCE, "/hotels?search=&size=5&page=0", null),
+      new Step(Kind.RESOURCE, "/hotels?search=a&size=5&page=1", null),
+      new Step(Kind.VIEW, "/hotels/{hotel}", null),
+      new Step(Kind.VIEW, "/hotels/{hotel}/booking", null),
+      new Step(Kind.ACTION, "/logout", "")
+  );
+
+  /** The number of hotels of the booking sample. */
+  private static final int HOTELS = 7;
+
+  /** . */
+  final List<Step> steps;
+
+  public Scenario(Step... steps) {
+    this.steps = Collections.unmodifiableList(Arrays.asList(steps.clone()));
+  }
+
+  /**
+   * Replay one session of the scenario and record each request in the measurement.
+   *
+   * @param base the application base url
+   * @param random the random used for choosing the hotel
+   * @param measurement the measurement
+   * @param deadline the time after which no request is sent, as given by {@link System#nanoTime()}
+   * @return false when the deadline was reached during the session
+   */
+  boolean replay(String base, Random random, Measurement measurement, long deadline) {
+    String hotel = Integer.toString(random.nextInt(HOTELS));
+    String cookie = null;
+    for (Step step : steps) {
+      if (System.nanoTime() > deadline) {
+        return false;
+      }
+      String path = step.path.replace("{hotel}", hotel);
+      long begin = System.nanoTime();
+      boolean ok;
+      try {
+        HttpURLConnection conn = (HttpURLConnection)new URL(base + path).openConnection();
+        conn.setInstanceFollowRedirects(false);
+        if (cookie != null) {
+          conn.setRequestProperty("Cookie", cookie);
+        }
+        if (step.form != null) {
+          byte[] body = step.form.getBytes("UTF-8");
+          conn.setRequestMethod("POST");
+          conn.setDoOutput(true);
+          conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+          conn.setFixedLengthStreamingMode(body.length);
+          OutputStream out = conn.getOutputStream();
+          out.write(body);
+          out.close();
+        }
+        int status = conn.getResponseCode();
+        consume(status < 400 ? conn.getInputStream() : conn.getErrorStream());
+        String setCookie = conn.getHeaderField("Set-Cookie");
+        if (setCookie != null && setCookie.startsWith("JSESSIONID=")) {
+          int pos = setCookie.indexOf(';');
+          cookie = pos == -1 ? setCookie : setCookie.substring(0, pos);
+        }
+        ok = status < 400;
+      }
+      catch (IOException e) {
+        ok = false;
+      }
+      measurement.record(step.kind, System.nanoTime() - begin, ok);
+    }
+    return true;
+  }
+
+  /**
+   * Read the response fully so the connection can be reused.
+   *
+   * @param in the response stream
+   * @throws IOException any io exception
+   */
+  private static void consume(InputStream in) throws IOException {
+    if (in != null) {
+      try {
+        byte[] buffer = new byte[4096];
+        while (in.read(buffer) != -1) {
+          // Discard
+        }
+      }
+      finally {
+        in.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu;
+
+/**
+ * The scope of a cached response, it determines whether a cache can share a response between users or not.
+ *
+ * @author Julien Viet
+ */
+public enum CacheScope {
+
+  /** The response can be shared between users. */
+  PUBLIC,
+
+  /** The response must only be served to the user it was produced for. */
+  PRIVATE
+
+}
@@ -63,6 +63,15 @@ public abstract class PropertyType<T> {
   /** Escape XML. */
   public static PropertyType<Boolean> ESCAPE_XML = new PropertyType<Boolean>(){};
 
+  /** Cache scope. */
+  public static final PropertyType<CacheScope> CACHE_SCOPE = new PropertyType<CacheScope>(){};
+
+  /** Cache expiration in seconds, <code>0</code> disables caching and <code>-1</code> never expires. */
+  public static final PropertyType<Integer> EXPIRATION_CACHE = new PropertyType<Integer>(){};
+
+  /** Cache validation token. */
+  public static final PropertyType<String> ETAG = new PropertyType<String>(){};
+
   protected PropertyType() throws NullPointerException {
   }
 
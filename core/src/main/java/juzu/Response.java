@@ -577,6 +577,38 @@ public abstract class Response {
       return with(PropertyType.HEADER_TAG, header);
     }
 
+    /**
+     * Set the cache scope of this response.
+     *
+     * @param scope the cache scope
+     * @return this object
+     */
+    public Content withCacheScope(CacheScope scope) {
+      return with(PropertyType.CACHE_SCOPE, scope);
+    }
+
+    /**
+     * Set the cache expiration of this response, <code>0</code> disables caching and <code>-1</code> means
+     * the response never expires.
+     *
+     * @param seconds the expiration in seconds
+     * @return this object
+     */
+    public Content withExpirationCache(int seconds) {
+      return with(PropertyType.EXPIRATION_CACHE, seconds);
+    }
+
+    /**
+     * Set the validation token of this response. When a client or a portal revalidates a cached response with
+     * the same token, the cached content is reused and this response is not sent.
+     *
+     * @param etag the validation token
+     * @return this object
+     */
+    public Content withETag(String etag) {
+      return with(PropertyType.ETAG, etag);
+    }
+
     @Override
     public String toString() {
       return "Response.Content[]";
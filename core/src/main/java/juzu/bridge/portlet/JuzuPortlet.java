@@ -207,17 +207,16 @@ public class JuzuPortlet implements Portlet, ResourceServingPortlet, EventPortle
       }
     };
 
-    //
-    ModuleContextImpl module = (ModuleContextImpl)context.getAttribute("juzu.module");
-    if (module == null) {
-      context.setAttribute("juzu.module", module = new ModuleContextImpl(portletLogger, bridgeContext, resolver));
-    }
-
     //
     Bridge bridge;
     if (injector.isProvided()) {
       bridge = new ProvidedBridge(bridgeContext, bridgeConfig, server, resolver, injector);
     } else {
+      ModuleContextImpl module = (ModuleContextImpl)context.getAttribute("juzu.module");
+      if (module == null || !module.retain()) {
+        context.setAttribute("juzu.module", module = new ModuleContextImpl(portletLogger, bridgeContext, resolver));
+        module.retain();
+      }
       bridge = new ApplicationBridge(module, bridgeContext, bridgeConfig, server, resolver, injector);
     }
 
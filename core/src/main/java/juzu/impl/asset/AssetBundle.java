@@ -0,0 +1,108 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.asset;
+
+import juzu.asset.AssetLocation;
+
+import java.util.Set;
+
+/**
+ * The concatenation of an ordered set of assets of the same type served as a single resource, the content
+ * is built when the bundle is created and kept in memory.
+ *
+ * @author Julien Viet
+ */
+public class AssetBundle {
+
+  /** The hash of the bundle content. */
+  final String id;
+
+  /** The type and the ordered ids of the assets of this bundle. */
+  final String key;
+
+  /** . */
+  final String type;
+
+  /** . */
+  final String uri;
+
+  /** The ids of the assets of this bundle. */
+  final Set<String> members;
+
+  /** The asset standing for this bundle. */
+  final Asset asset;
+
+  /** . */
+  private final byte[] content;
+
+  AssetBundle(String id, String key, String type, Boolean header, String uri, Set<String> members, byte[] content, Integer maxAge) {
+    this.id = id;
+    this.key = key;
+    this.type = type;
+    this.uri = uri;
+    this.members = members;
+    this.content = content;
+    this.asset = new Asset(id, type, header, AssetLocation.APPLICATION, uri, null, maxAge);
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  /**
+   * Returns the bundle uri relative to the application asset location.
+   *
+   * @return the bundle uri
+   */
+  public String getURI() {
+    return uri;
+  }
+
+  /**
+   * Returns the smallest max age of the bundle assets or null when none of them declares one.
+   *
+   * @return the max age
+   */
+  public Integer getMaxAge() {
+    return asset.getMaxAge();
+  }
+
+  /**
+   * Returns the asset standing for this bundle, its location is {@link AssetLocation#APPLICATION}.
+   *
+   * @return the bundle asset
+   */
+  public Asset getAsset() {
+    return asset;
+  }
+
+  public String getETag() {
+    return id;
+  }
+
+  /**
+   * Returns the bundle content.
+   *
+   * @return the bundle content
+   */
+  public byte[] getContent() {
+    return content;
+  }
+}
@@ -16,12 +16,20 @@
 
 package juzu.impl.asset;
 
+import juzu.asset.AssetLocation;
 import juzu.impl.common.Tools;
+import juzu.impl.metrics.Metrics;
 import juzu.impl.plugin.application.Application;
 import juzu.impl.resource.ResourceResolver;
+import juzu.io.UndeclaredIOException;
 
 import javax.inject.Inject;
+import javax.xml.bind.DatatypeConverter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -29,7 +37,9 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class AssetManager {
@@ -40,21 +50,42 @@ public class AssetManager {
   /** Graph saying which assets depends on which asset. */
   private AssetGraph graph = new AssetGraph();
 
+  /** . */
+  private static final String BUNDLE_PREFIX = "bundle-";
+
+  /** The maximum number of bundles kept when they are rebuilt from a bundle uri. */
+  private static final int MAX_BUNDLES = 256;
+
+  /** The maximum number of assets of a bundle. */
+  static final int MAX_MEMBERS = 32;
+
+  /** The bundles built so far keyed by their members. */
+  private final ConcurrentHashMap<String, AssetBundle> bundles = new ConcurrentHashMap<String, AssetBundle>();
+
   /** . */
   protected final String prefix;
 
   /** . */
   protected final ResourceResolver applicationResolver;
 
+  /** . */
+  private final Metrics metrics;
+
   @Inject
   public AssetManager(Application application) {
     this.prefix = "/" + application.getDescriptor().getPackageName().replace('.', '/') + "/assets/";
     this.applicationResolver = application;
+    this.metrics = application.getMetrics();
   }
 
   AssetManager(String prefix, ResourceResolver applicationResolver) {
+    this(prefix, applicationResolver, Metrics.NONE);
+  }
+
+  AssetManager(String prefix, ResourceResolver applicationResolver, Metrics metrics) {
     this.prefix = prefix;
     this.applicationResolver = applicationResolver;
+    this.metrics = metrics;
   }
 
   public AssetDeployment createDeployment() {
@@ -91,6 +122,7 @@ public class AssetManager {
     // Everything went fine we updated the manager
     assets = assetsClone;
     graph = graphClone;
+    evictBundles(deployment);
     return true;
   }
 
@@ -106,6 +138,243 @@ public class AssetManager {
       }
       assets.remove(asset.id);
     }
+    evictBundles(deployment);
+  }
+
+  /**
+   * Discard the bundles containing an asset of the deployment so they are rebuilt on their next use.
+   *
+   * @param deployment the deployment
+   */
+  private void evictBundles(AssetDeployment deployment) {
+    for (AssetBundle bundle : bundles.values()) {
+      for (AssetNode asset : deployment.assets) {
+        if (bundle.members.contains(asset.id)) {
+          bundles.remove(bundle.key, bundle);
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns true when the asset content is provided by the application and can be part of a bundle.
+   *
+   * @param asset the asset
+   * @return true if the asset can be bundled
+   */
+  public boolean isBundleable(Asset asset) {
+    AssetNode node = assets.get(asset.getId());
+    return node != null && node.resource != null && node.location == AssetLocation.APPLICATION;
+  }
+
+  /**
+   * Replace each run of consecutive bundleable assets of the provided list by the asset of their bundle, the
+   * asset order is preserved, stylesheets are only bundled with the stylesheets of the same directory and a run
+   * longer than {@link #MAX_MEMBERS} is split in several bundles.
+   *
+   * @param assets the ordered assets of the same type
+   * @param minified true if the minified version of the assets should be used when possible
+   * @return the assets to serve
+   */
+  public List<Asset> bundle(List<Asset> assets, boolean minified) {
+    List<Asset> ret = new ArrayList<Asset>(assets.size());
+    List<Asset> run = new ArrayList<Asset>();
+    for (Asset asset : assets) {
+      if (isBundleable(asset)) {
+        if (run.size() == MAX_MEMBERS || (run.size() > 0 && asset.isStylesheet() && !getDirectory(asset).equals(getDirectory(run.get(0))))) {
+          addRun(run, minified, ret);
+        }
+        run.add(asset);
+      } else {
+        addRun(run, minified, ret);
+        ret.add(asset);
+      }
+    }
+    addRun(run, minified, ret);
+    return ret;
+  }
+
+  private void addRun(List<Asset> run, boolean minified, List<Asset> to) {
+    if (run.size() == 1) {
+      to.add(run.get(0));
+    } else if (run.size() > 1) {
+      to.add(getBundle(run.get(0).getType(), run, minified).asset);
+    }
+    run.clear();
+  }
+
+  private static String getDirectory(Asset asset) {
+    String uri = asset.getURI();
+    return uri.substring(0, uri.lastIndexOf('/') + 1);
+  }
+
+  /**
+   * Returns the bundle for the provided ordered list of assets of the same type. The bundle uri encodes the
+   * ordered asset ids and a hash of the bundle content, so any node can rebuild the bundle from its uri with
+   * {@link #resolveBundle(String)} and the uri changes with the content.
+   *
+   * @param type the asset type
+   * @param assets the bundleable assets
+   * @param minified true if the minified version of the assets should be used when possible
+   * @return the bundle
+   * @throws IllegalArgumentException if an asset cannot be bundled
+   * @throws UndeclaredIOException if an asset cannot be read
+   */
+  public AssetBundle getBundle(String type, List<Asset> assets, boolean minified) throws IllegalArgumentException, UndeclaredIOException {
+    StringBuilder key = new StringBuilder(type).append('\n').append(minified ? "min" : "");
+    for (Asset asset : assets) {
+      key.append('\n').append(asset.getId());
+    }
+    AssetBundle bundle = bundles.get(key.toString());
+    if (metrics.isEnabled()) {
+      metrics.getCounter(bundle != null ? "asset.bundle.hits" : "asset.bundle.misses").inc(1);
+    }
+    if (bundle == null) {
+      bundle = createBundle(key.toString(), type, assets, minified);
+      AssetBundle existing = bundles.putIfAbsent(bundle.key, bundle);
+      if (existing != null) {
+        bundle = existing;
+      }
+    }
+    return bundle;
+  }
+
+  /**
+   * Resolve a bundle from its uri, a bundle that is not known is rebuilt from the asset ids encoded in the uri.
+   * Only the keys that {@link #bundle(List, boolean)} could have produced are rebuilt: the ids must be distinct
+   * bundleable assets of the bundle type ordered after their dependencies, at most {@link #MAX_MEMBERS} of them
+   * and in the same directory for stylesheets.
+   *
+   * @param path the bundle uri
+   * @return the bundle or null if the uri does not designate the current content of a bundle
+   */
+  public AssetBundle resolveBundle(String path) {
+    String name = path.substring(path.lastIndexOf('/') + 1);
+    int from = name.indexOf('-', BUNDLE_PREFIX.length());
+    int to = name.lastIndexOf('.');
+    if (!name.startsWith(BUNDLE_PREFIX) || from == -1 || to < from) {
+      return null;
+    }
+    String key;
+    try {
+      String encoded = name.substring(from + 1, to).replace('-', '+').replace('_', '/');
+      while (encoded.length() % 4 != 0) {
+        encoded += "=";
+      }
+      key = new String(DatatypeConverter.parseBase64Binary(encoded), Tools.UTF_8);
+    }
+    catch (IllegalArgumentException e) {
+      return null;
+    }
+    AssetBundle bundle = bundles.get(key);
+    if (bundle == null) {
+      String[] parts = key.split("\n", -1);
+      List<Asset> assets = parseMembers(parts);
+      if (assets == null) {
+        return null;
+      }
+      bundle = createBundle(key, parts[0], assets, parts[1].equals("min"));
+      if (bundles.size() < MAX_BUNDLES) {
+        AssetBundle existing = bundles.putIfAbsent(key, bundle);
+        if (existing != null) {
+          bundle = existing;
+        }
+      }
+    }
+    return bundle.uri.equals(path) ? bundle : null;
+  }
+
+  /**
+   * Returns the members of a bundle key split on its lines or null when the key could not have been produced by
+   * {@link #bundle(List, boolean)}, no asset content is read.
+   *
+   * @param parts the key lines
+   * @return the members or null
+   */
+  private List<Asset> parseMembers(String[] parts) {
+    if (parts.length < 4 || parts.length > MAX_MEMBERS + 2) {
+      return null;
+    }
+    String type = parts[0];
+    if (!type.equals("script") && !type.equals("stylesheet") || !parts[1].equals("min") && !parts[1].equals("")) {
+      return null;
+    }
+    List<String> all = Arrays.asList(parts).subList(2, parts.length);
+    HashSet<String> ids = new HashSet<String>();
+    ArrayList<Asset> members = new ArrayList<Asset>(parts.length - 2);
+    for (int i = 2;i < parts.length;i++) {
+      Asset asset = getAsset(parts[i]);
+      if (asset == null || !asset.getType().equals(type) || !isBundleable(asset) || !ids.add(asset.getId())) {
+        return null;
+      }
+      if (asset.isStylesheet() && !getDirectory(asset).equals(getDirectory(members.size() > 0 ? members.get(0) : asset))) {
+        return null;
+      }
+      // An asset is resolved after its dependencies
+      for (String dependency : assets.get(asset.getId()).iDependOn) {
+        if (!ids.contains(dependency) && all.contains(dependency)) {
+          return null;
+        }
+      }
+      members.add(asset);
+    }
+    return members;
+  }
+
+  private AssetBundle createBundle(String key, String type, List<Asset> assets, boolean minified) throws IllegalArgumentException, UndeclaredIOException {
+    HashSet<String> members = new HashSet<String>();
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    Integer maxAge = null;
+    for (Asset asset : assets) {
+      AssetNode node = this.assets.get(asset.getId());
+      if (node == null || node.resource == null) {
+        throw new IllegalArgumentException("Asset " + asset.getId() + " cannot be bundled");
+      }
+      URL resource = null;
+      if (minified && node.minified != null) {
+        resource = applicationResolver.resolve(node.minified);
+      }
+      try {
+        buffer.write(Tools.bytes(resource != null ? resource : node.resource));
+      }
+      catch (IOException e) {
+        throw new UndeclaredIOException(e);
+      }
+      // Guards against a script not terminated by a semicolon
+      buffer.write(type.equals("script") ? ';' : ' ');
+      buffer.write('\n');
+      members.add(node.id);
+      Integer assetMaxAge = node.asset.getMaxAge();
+      if (assetMaxAge != null && (maxAge == null || assetMaxAge < maxAge)) {
+        maxAge = assetMaxAge;
+      }
+    }
+    byte[] content = buffer.toByteArray();
+    String hash = Long.toHexString(Tools.md5(content));
+
+    // Stylesheets sharing a directory are bundled in that directory to keep their relative urls valid
+    String dir = null;
+    for (Asset asset : assets) {
+      String current = getDirectory(asset);
+      if (dir == null) {
+        dir = current;
+      } else if (!dir.equals(current)) {
+        dir = null;
+        break;
+      }
+    }
+    if (dir == null || !dir.startsWith("/")) {
+      dir = prefix + "bundles/";
+    }
+    String encoded = DatatypeConverter.printBase64Binary(key.getBytes(Tools.UTF_8));
+    int len = encoded.length();
+    while (len > 0 && encoded.charAt(len - 1) == '=') {
+      len--;
+    }
+    encoded = encoded.substring(0, len).replace('+', '-').replace('/', '_');
+    String uri = dir + BUNDLE_PREFIX + hash + "-" + encoded + (type.equals("stylesheet") ? ".css" : ".js");
+    return new AssetBundle(hash, key, type, assets.get(0).getHeader(), uri, members, content, maxAge);
   }
 
   /**
@@ -59,6 +59,11 @@ public class AssetServer {
       for (Map.Entry<Application, Boolean> runtime : runtimes.entrySet()) {
         Iterable<AssetManager> resolvers = runtime.getKey().resolveBeans(AssetManager.class);
         for (AssetManager resolver : resolvers) {
+          AssetBundle bundle = resolver.resolveBundle(path);
+          if (bundle != null) {
+            sendBundle(bundle, runtime.getValue(), ctx, req, resp);
+            return true;
+          }
           // For now we only have resource of URL type ...
           AssetResource content = resolver.resolveApplicationAssetResource(path);
           if (content == null) {
@@ -74,14 +79,13 @@ public class AssetServer {
             URLConnection conn = content.url.openConnection();
             lastModified = conn.getLastModified();
             String etag = Tools.etag(path, lastModified);
-            Enumeration<String> matches = req.getHeaders("If-None-Match");
-            if (matches.hasMoreElements() && matches.nextElement().equals(etag)) {
+            if (isNotModified(etag, req)) {
               resp.setStatus(304);
             } else {
               in = conn.getInputStream();
               int pos = path.lastIndexOf('/');
               String name = pos == -1 ? path : path.substring(pos + 1);
-              resp.setHeader("ETag", etag);
+              resp.setHeader("ETag", Tools.entityTag(etag));
               boolean cacheAssets = runtime.getValue();
               if (cacheAssets) {
                 int maxAge = content.maxAge != null ? content.maxAge : 3600;
@@ -105,6 +109,42 @@ public class AssetServer {
     return false;
   }
 
+  private void sendBundle(AssetBundle bundle, boolean cacheAssets, ServletContext ctx, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+    byte[] content = bundle.getContent();
+    String etag = bundle.getETag();
+    if (isNotModified(etag, req)) {
+      resp.setStatus(304);
+    } else {
+      resp.setHeader("ETag", Tools.entityTag(etag));
+      if (cacheAssets) {
+        int maxAge = bundle.getMaxAge() != null ? bundle.getMaxAge() : 3600;
+        if (maxAge > 0) {
+          resp.setHeader("Cache-Control", "max-age=" + maxAge);
+        }
+      } else {
+        resp.setHeader("Cache-Control", "no-cache, no-store, must-revalidate");
+      }
+      String contentType = ctx.getMimeType(bundle.getURI().substring(bundle.getURI().lastIndexOf('/') + 1));
+      if (contentType != null) {
+        resp.setContentType(contentType);
+      }
+      resp.setContentLength(content.length);
+      resp.getOutputStream().write(content);
+    }
+  }
+
+  private static boolean isNotModified(String etag, HttpServletRequest req) {
+    Enumeration<String> matches = req.getHeaders("If-None-Match");
+    if (matches != null) {
+      while (matches.hasMoreElements()) {
+        if (Tools.matchEntityTag(etag, matches.nextElement())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   public static String renderAssetURLById(String id) throws NullPointerException {
     Request request = Request.getCurrent();
     if (request != null) {
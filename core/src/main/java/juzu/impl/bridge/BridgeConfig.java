@@ -40,8 +40,41 @@ public class BridgeConfig {
   /** The default request encoding charset. */
   public static final String REQUEST_ENCODING = "juzu.request_encoding";
 
+  /** The maximum size in bytes of a form post entity. */
+  public static final String REQUEST_MAX_FORM_SIZE = "juzu.request_max_form_size";
+
+  /** The maximum number of parameters of a form post entity. */
+  public static final String REQUEST_MAX_PARAMETERS = "juzu.request_max_parameters";
+
+  /** Whether the assets of a page are concatenated in bundles. */
+  public static final String ASSET_BUNDLING = "juzu.asset_bundling";
+
+  /** The metrics implementation: <code>none</code>, <code>memory</code>, <code>jmx</code> or a class name. */
+  public static final String METRICS = "juzu.metrics";
+
+  /** The executor of the request tasks: <code>container</code>, <code>pool</code>, <code>virtual</code> or a class name. */
+  public static final String EXECUTOR = "juzu.executor";
+
+  /** The number of threads of the <code>pool</code> executor. */
+  public static final String EXECUTOR_THREADS = "juzu.executor_threads";
+
+  /** The maximum number of tasks waiting for a thread of the <code>pool</code> executor. */
+  public static final String EXECUTOR_QUEUE = "juzu.executor_queue";
+
   /** . */
-  public static final Set<String> NAMES = Collections.unmodifiableSet(Tools.set(INJECT, APP_NAME, REQUEST_ENCODING));
+  public static final Set<String> NAMES = Collections.unmodifiableSet(Tools.set(INJECT, APP_NAME, REQUEST_ENCODING, REQUEST_MAX_FORM_SIZE, REQUEST_MAX_PARAMETERS, ASSET_BUNDLING, METRICS, EXECUTOR, EXECUTOR_THREADS, EXECUTOR_QUEUE));
+
+  /** The default maximum form size: 2MB. */
+  public static final long DEFAULT_MAX_FORM_SIZE = 2 * 1024 * 1024;
+
+  /** The default maximum number of form parameters. */
+  public static final int DEFAULT_MAX_PARAMETERS = 10000;
+
+  /** The default number of threads of the pool executor. */
+  public static final int DEFAULT_EXECUTOR_THREADS = 2 * Runtime.getRuntime().availableProcessors();
+
+  /** The default maximum number of tasks waiting for a thread of the pool executor. */
+  public static final int DEFAULT_EXECUTOR_QUEUE = 256;
 
   /** . */
   public final Name name;
@@ -52,10 +85,38 @@ public class BridgeConfig {
   /** . */
   public final Charset requestEncoding;
 
+  /** . */
+  public final long requestMaxFormSize;
+
+  /** . */
+  public final int requestMaxParameters;
+
+  /** . */
+  public final boolean assetBundling;
+
+  /** . */
+  public final String metrics;
+
+  /** . */
+  public final String executor;
+
+  /** . */
+  public final int executorThreads;
+
+  /** . */
+  public final int executorQueue;
+
   public BridgeConfig(Logger log, Map<String, String> config) throws Exception {
     this.name = getApplicationName(config);
     this.injectorProvider = getInjectImplementation(log, config);
     this.requestEncoding = getRequestEncoding(config);
+    this.requestMaxFormSize = getLong(config, REQUEST_MAX_FORM_SIZE, DEFAULT_MAX_FORM_SIZE);
+    this.requestMaxParameters = (int)getLong(config, REQUEST_MAX_PARAMETERS, DEFAULT_MAX_PARAMETERS);
+    this.assetBundling = getBoolean(config, ASSET_BUNDLING, false);
+    this.metrics = config.get(METRICS);
+    this.executor = config.get(EXECUTOR);
+    this.executorThreads = (int)getLong(config, EXECUTOR_THREADS, DEFAULT_EXECUTOR_THREADS);
+    this.executorQueue = (int)getLong(config, EXECUTOR_QUEUE, DEFAULT_EXECUTOR_QUEUE);
   }
 
   private Name getApplicationName(Map<String, String> config) {
@@ -106,4 +167,24 @@ public class BridgeConfig {
       return Tools.ISO_8859_1;
     }
   }
+
+  private boolean getBoolean(Map<String, String> config, String name, boolean defaultValue) {
+    String value = config.get(name);
+    if (value != null) {
+      value = Tools.interpolate(value, System.getProperties()).trim();
+      return Boolean.parseBoolean(value);
+    } else {
+      return defaultValue;
+    }
+  }
+
+  private long getLong(Map<String, String> config, String name, long defaultValue) {
+    String value = config.get(name);
+    if (value != null) {
+      value = Tools.interpolate(value, System.getProperties()).trim();
+      return Long.parseLong(value);
+    } else {
+      return defaultValue;
+    }
+  }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.bridge;
+
+import juzu.impl.common.Logger;
+import juzu.impl.metrics.Counter;
+import juzu.impl.metrics.Metrics;
+import juzu.impl.metrics.Timer;
+
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Executes the tasks submitted to the {@link juzu.impl.request.Request#getExecutor() request executor} once the
+ * bridge has prepared the request for an asynchronous execution. The {@link #CONTAINER} implementation is used by
+ * default and delegates to the executor provided by the container.</p>
+ *
+ * <p>The executors created by {@link #create(String, int, int, Metrics, ClassLoader, Logger)} update the following
+ * metrics:</p>
+ * <ul>
+ *   <li><code>executor.queue</code>: the number of tasks waiting for a thread</li>
+ *   <li><code>executor.active</code>: the number of tasks being executed</li>
+ *   <li><code>executor.wait</code>: the time spent by a task waiting for a thread</li>
+ *   <li><code>executor.rejections</code>: the number of tasks rejected because the queue was full</li>
+ * </ul>
+ *
+ * @author Julien Viet
+ */
+public abstract class BridgeExecutor implements Closeable {
+
+  /** The executor delegating to the container. */
+  public static final BridgeExecutor CONTAINER = new BridgeExecutor() {
+    @Override
+    public void execute(Runnable command, Executor container) throws RejectedExecutionException {
+      container.execute(command);
+    }
+    @Override
+    public String toString() {
+      return "container";
+    }
+  };
+
+  /**
+   * Create an executor from a configuration value: <code>container</code> for the {@link #CONTAINER} executor,
+   * <code>pool</code> for a pool of <code>threads</code> threads with a queue of <code>queue</code> tasks,
+   * <code>virtual</code> for a virtual thread per task when the JVM supports it (the container executor is used
+   * otherwise) or the name of a {@link BridgeExecutor} subclass having a public no arg constructor.
+   *
+   * @param value the configuration value
+   * @param threads the number of threads of the pool
+   * @param queue the maximum number of tasks waiting for a thread of the pool
+   * @param metrics the metrics
+   * @param loader the loader for custom implementations
+   * @param log the logger
+   * @return the executor
+   * @throws Exception any exception that would prevent to create the executor
+   */
+  public static BridgeExecutor create(String value, int threads, int queue, Metrics metrics, ClassLoader loader, Logger log) throws Exception {
+    if (value == null) {
+      return CONTAINER;
+    }
+    value = value.trim();
+    if (value.length() == 0 || value.equalsIgnoreCase("container")) {
+      return CONTAINER;
+    } else if (value.equalsIgnoreCase("pool")) {
+      ThreadPoolExecutor pool = new ThreadPoolExecutor(
+          threads,
+          threads,
+          60,
+          TimeUnit.SECONDS,
+          new ArrayBlockingQueue<Runnable>(queue),
+          new ThreadFactory() {
+            final AtomicInteger count = new AtomicInteger();
+            public Thread newThread(Runnable r) {
+              Thread thread = new Thread(r, "juzu-executor-" + count.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            }
+          });
+      pool.allowCoreThreadTimeOut(true);
+      return new Service("pool", pool, metrics);
+    } else if (value.equalsIgnoreCase("virtual")) {
+      ExecutorService virtual;
+      try {
+        // Java 21+
+        Method method = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        virtual = (ExecutorService)method.invoke(null);
+      }
+      catch (NoSuchMethodException e) {
+        log.info("Virtual threads are not supported by this JVM, the container executor is used instead");
+        return CONTAINER;
+      }
+      return new Service("virtual", virtual, metrics);
+    } else {
+      Class<?> type = loader.loadClass(value);
+      return type.asSubclass(BridgeExecutor.class).newInstance();
+    }
+  }
+
+  /**
+   * Execute a task, the task takes care of propagating the request context.
+   *
+   * @param command the task
+   * @param container the container executor
+   * @throws RejectedExecutionException when the task cannot be accepted
+   */
+  public abstract void execute(Runnable command, Executor container) throws RejectedExecutionException;
+
+  /**
+   * Execute a task and run the <code>rejected</code> callback before rethrowing a rejection, so the caller can
+   * release what it acquired for the task, for instance complete an asynchronous request.
+   *
+   * @param command the task
+   * @param container the container executor
+   * @param rejected the callback invoked when the task is rejected
+   * @throws RejectedExecutionException when the task cannot be accepted
+   */
+  public final void execute(Runnable command, Executor container, Runnable rejected) throws RejectedExecutionException {
+    try {
+      execute(command, container);
+    }
+    catch (RejectedExecutionException e) {
+      rejected.run();
+      throw e;
+    }
+  }
+
+  /**
+   * Release the resources held by the executor.
+   */
+  public void close() {
+  }
+
+  /**
+   * An executor service decorated with metrics.
+   */
+  static class Service extends BridgeExecutor {
+
+    /** . */
+    private final String name;
+
+    /** . */
+    private final ExecutorService service;
+
+    /** . */
+    private final Counter queue;
+
+    /** . */
+    private final Counter active;
+
+    /** . */
+    private final Counter rejections;
+
+    /** . */
+    private final Timer wait;
+
+    Service(String name, ExecutorService service, Metrics metrics) {
+      this.name = name;
+      this.service = service;
+      this.queue = metrics.getCounter("executor.queue");
+      this.active = metrics.getCounter("executor.active");
+      this.rejections = metrics.getCounter("executor.rejections");
+      this.wait = metrics.getTimer("executor.wait");
+    }
+
+    @Override
+    public void execute(final Runnable command, Executor container) throws RejectedExecutionException {
+      // Our threads are not managed by the container, so we propagate the context class loader
+      final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+      final long submitted = System.nanoTime();
+      queue.inc(1);
+      try {
+        service.execute(new Runnable() {
+          public void run() {
+            queue.inc(-1);
+            wait.update(System.nanoTime() - submitted);
+            active.inc(1);
+            Thread current = Thread.currentThread();
+            ClassLoader previous = current.getContextClassLoader();
+            current.setContextClassLoader(loader);
+            try {
+              command.run();
+            }
+            finally {
+              current.setContextClassLoader(previous);
+              active.inc(-1);
+            }
+          }
+        });
+      }
+      catch (RejectedExecutionException e) {
+        queue.inc(-1);
+        rejections.inc(1);
+        throw e;
+      }
+    }
+
+    @Override
+    public void close() {
+      service.shutdown();
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+}
@@ -25,6 +25,7 @@ import juzu.impl.common.Logger;
 import juzu.impl.common.RunMode;
 import juzu.impl.common.Tools;
 import juzu.impl.inject.spi.Injector;
+import juzu.impl.metrics.Metrics;
 import juzu.impl.resource.ResourceResolver;
 import juzu.impl.runtime.ApplicationRuntime;
 
@@ -49,6 +50,16 @@ public class ApplicationBridge extends Bridge {
   /** . */
   private final Logger log;
 
+  /** The metrics shared by the successive runtimes of the application. */
+  private Metrics metrics;
+
+  /** . */
+  private boolean closed;
+
+  /**
+   * Create a bridge for an application of a module, the module reference must have been acquired
+   * with {@link ModuleContextImpl#retain()} and is released when the bridge is closed.
+   */
   public ApplicationBridge(
       ModuleContextImpl moduleContext,
       BridgeContext context,
@@ -75,6 +86,16 @@ public class ApplicationBridge extends Bridge {
       return refresh;
     } else {
       while (application.get() == null) {
+        synchronized (this) {
+          if (metrics == null) {
+            try {
+              metrics = Metrics.create(config.metrics, config.name, module.runtime.getClassLoader());
+            }
+            catch (Exception e) {
+              return Completion.failed(e);
+            }
+          }
+        }
         application.compareAndSet(null, new ApplicationRuntime(
             log,
             module.getRunMode(),
@@ -82,7 +103,8 @@ public class ApplicationBridge extends Bridge {
             injector,
             config.name,
             server,
-            resolver));
+            resolver,
+            metrics));
       }
       return application.get().refresh();
     }
@@ -97,5 +119,15 @@ public class ApplicationBridge extends Bridge {
     if (runtime != null) {
       Tools.safeClose(runtime);
     }
+    synchronized (this) {
+      if (metrics != null) {
+        Tools.safeClose(metrics);
+        metrics = null;
+      }
+      if (!closed) {
+        closed = true;
+        module.release();
+      }
+    }
   }
 }
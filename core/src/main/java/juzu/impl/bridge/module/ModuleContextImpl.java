@@ -44,6 +44,12 @@ public class ModuleContextImpl implements ModuleContext {
   /** . */
   final ModuleRuntime<?> runtime;
 
+  /** The number of bridges using the module. */
+  private int references;
+
+  /** . */
+  private boolean closed;
+
   public ModuleContextImpl(Logger log, BridgeContext bridgeContext, ResourceResolver resolver) {
 
     //
@@ -64,6 +70,30 @@ public class ModuleContextImpl implements ModuleContext {
     this.runtime = lifeCycle;
   }
 
+  /**
+   * Acquire a reference on the module.
+   *
+   * @return false when the module is closed
+   */
+  public synchronized boolean retain() {
+    if (closed) {
+      return false;
+    } else {
+      references++;
+      return true;
+    }
+  }
+
+  /**
+   * Release a reference on the module, the module runtime is closed when the last reference is released.
+   */
+  public synchronized void release() {
+    if (!closed && --references == 0) {
+      closed = true;
+      runtime.close();
+    }
+  }
+
   public JSON getConfig() throws Exception {
     ClassLoader classLoader = getClassLoader();
     URL cfg = classLoader.getResource("juzu/config.json");
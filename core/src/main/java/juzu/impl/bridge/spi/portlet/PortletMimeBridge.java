@@ -16,6 +16,8 @@
 
 package juzu.impl.bridge.spi.portlet;
 
+import juzu.CacheScope;
+import juzu.PropertyMap;
 import juzu.PropertyType;
 import juzu.Response;
 import juzu.impl.asset.Asset;
@@ -31,11 +33,14 @@ import org.w3c.dom.Comment;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
+import javax.portlet.CacheControl;
 import javax.portlet.MimeResponse;
 import javax.portlet.PortletConfig;
 import javax.portlet.PortletException;
 import javax.portlet.PortletRequest;
+import javax.portlet.RenderRequest;
 import javax.portlet.RenderResponse;
+import javax.portlet.ResourceRequest;
 import javax.portlet.ResourceResponse;
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -59,6 +64,41 @@ public abstract class PortletMimeBridge<Rq extends PortletRequest, Rs extends Mi
     return Collections.emptyMap();
   }
 
+  /**
+   * Maps the cache properties of the response on the portlet cache control.
+   *
+   * @param properties the response properties
+   * @return true when the content cached by the portal is still valid
+   */
+  private boolean setCacheControl(PropertyMap properties) {
+    CacheControl cacheControl = resp.getCacheControl();
+    CacheScope scope = properties.getValue(PropertyType.CACHE_SCOPE);
+    if (scope != null) {
+      cacheControl.setPublicScope(scope == CacheScope.PUBLIC);
+    }
+    Integer expiration = properties.getValue(PropertyType.EXPIRATION_CACHE);
+    if (expiration != null) {
+      cacheControl.setExpirationTime(expiration);
+    }
+    String etag = properties.getValue(PropertyType.ETAG);
+    if (etag != null) {
+      cacheControl.setETag(etag);
+      String cached;
+      if (req instanceof RenderRequest) {
+        cached = ((RenderRequest)req).getETag();
+      } else if (req instanceof ResourceRequest) {
+        cached = ((ResourceRequest)req).getETag();
+      } else {
+        cached = null;
+      }
+      if (etag.equals(cached)) {
+        cacheControl.setUseCachedContent(true);
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public void send() throws IOException, PortletException {
     if (response instanceof Response.Status) {
@@ -166,6 +206,9 @@ public abstract class PortletMimeBridge<Rq extends PortletRequest, Rs extends Mi
       //
       if (status.getCode() != 200) {
         resp.addProperty(ResourceResponse.HTTP_STATUS_CODE, Integer.toString(status.getCode()));
+      } else if (setCacheControl(status.getProperties())) {
+        // The portal reuses its cached content
+        return;
       }
       status.streamable().send(stream);
     } else if (response instanceof Response.Error) {
@@ -64,6 +64,7 @@ import javax.portlet.WindowState;
 import javax.portlet.WindowStateException;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.Enumeration;
@@ -87,6 +88,15 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
   /** . */
   protected final ControllerHandler<?> target;
 
+  /** The controller service, resolved once per request. */
+  protected final ControllerService controllerService;
+
+  /** The base urls created during this request, reused for each rendered url. */
+  private HashMap<URLKey, BaseURL> urls;
+
+  /** Buffer for escaped urls when the appendable is not a writer. */
+  private StringWriter buffer;
+
   /** . */
   protected  final Map<String ,RequestParameter> requestParameters;
 
@@ -135,7 +145,8 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
     }
 
     //
-    ControllerResolver<ControllerHandler> resolver = bridge.getApplication().resolveBean(ControllerService.class).getResolver();
+    ControllerService controllerService = bridge.getApplication().resolveBean(ControllerService.class);
+    ControllerResolver<ControllerHandler> resolver = controllerService.getResolver();
     ControllerHandler<?> target;
     if (methodId != null) {
       target = resolver.resolveMethod(phase, methodId, parameters.keySet());
@@ -148,6 +159,7 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
     this.req = req;
     this.resp = resp;
     this.target = target;
+    this.controllerService = controllerService;
     this.httpContext = new PortletHttpContext(req);
     this.securityContext = new PortletSecurityContext(req);
     this.windowContext = new PortletWindowContext(this);
@@ -174,6 +186,7 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
     this.req = req;
     this.resp = resp;
     this.target = target;
+    this.controllerService = bridge.getApplication().resolveBean(ControllerService.class);
     this.requestParameters = requestParameters;
     this.httpContext = new PortletHttpContext(req);
     this.securityContext = new PortletSecurityContext(req);
@@ -271,7 +284,12 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
         if (session != null) {
           context = (ScopedContext)session.getAttribute("juzu.flash_scope");
           if (context == null && create) {
-            session.setAttribute("juzu.flash_scope", context = new ServletScopedContext(log));
+            synchronized (session) {
+              context = (ScopedContext)session.getAttribute("juzu.flash_scope");
+              if (context == null) {
+                session.setAttribute("juzu.flash_scope", context = new ServletScopedContext(log));
+              }
+            }
           }
         } else {
           context = null;
@@ -282,7 +300,12 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
         if (session != null) {
           context = (ScopedContext)session.getAttribute("juzu.session_scope");
           if (context == null && create) {
-            session.setAttribute("juzu.session_scope", context = new ServletScopedContext(log));
+            synchronized (session) {
+              context = (ScopedContext)session.getAttribute("juzu.session_scope");
+              if (context == null) {
+                session.setAttribute("juzu.session_scope", context = new ServletScopedContext(log));
+              }
+            }
           }
         } else {
           context = null;
@@ -308,7 +331,7 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
 
   public void invoke() throws Exception {
     try {
-      bridge.getApplication().resolveBean(ControllerService.class).invoke(this);
+      controllerService.invoke(this);
     } finally {
       Tools.safeClose(this);
     }
@@ -370,74 +393,49 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
           MimeResponse mimeResp = (MimeResponse)resp;
 
           //
-          ControllerHandler handler = bridge.getApplication().resolveBean(ControllerService.class).getDescriptor().getMethodByHandle(target);
-
-          //
-          BaseURL url;
-          if (handler.getPhase() == Phase.ACTION) {
-            url = mimeResp.createActionURL();
-          } else if (handler.getPhase() == Phase.VIEW) {
-            url = mimeResp.createRenderURL();
-          } else if (handler.getPhase() == Phase.RESOURCE) {
-            url = mimeResp.createResourceURL();
-          } else {
-            throw new AssertionError();
-          }
-
-          // Set generic parameters
-          for (ResponseParameter parameter : parameters.values()) {
-            url.setParameter(parameter.getName(), parameter.toArray());
-          }
+          ControllerHandler handler = controllerService.getDescriptor().getMethodByHandle(target);
 
           //
           boolean escapeXML = false;
+          PortletMode portletMode = null;
+          WindowState windowState = null;
           if (properties != null) {
             Boolean escapeXMLProperty = properties.getValue(PropertyType.ESCAPE_XML);
             if (escapeXMLProperty != null && Boolean.TRUE.equals(escapeXMLProperty)) {
               escapeXML = true;
             }
+            portletMode = properties.getValue(JuzuPortlet.PORTLET_MODE);
+            windowState = properties.getValue(JuzuPortlet.WINDOW_STATE);
+          }
 
-            // Handle portlet mode
-            PortletMode portletModeProperty = properties.getValue(JuzuPortlet.PORTLET_MODE);
-            if (portletModeProperty != null) {
-              if (url instanceof PortletURL) {
-                try {
-                  ((PortletURL)url).setPortletMode(portletModeProperty);
-                }
-                catch (PortletModeException e) {
-                  throw new IllegalArgumentException(e);
-                }
-              }
-              else {
-                throw new IllegalArgumentException();
-              }
-            }
+          //
+          BaseURL url = getURL(mimeResp, handler.getPhase(), portletMode, windowState);
 
-            // Handle window state
-            WindowState windowStateProperty = properties.getValue(JuzuPortlet.WINDOW_STATE);
-            if (windowStateProperty != null) {
-              if (url instanceof PortletURL) {
-                try {
-                  ((PortletURL)url).setWindowState(windowStateProperty);
-                }
-                catch (WindowStateException e) {
-                  throw new IllegalArgumentException(e);
-                }
-              }
-              else {
-                throw new IllegalArgumentException();
-              }
-            }
+          // Set generic parameters, replacing the ones of the previous use of the url
+          Map<String, String[]> urlParameters = new HashMap<String, String[]>(parameters.size() + 1);
+          for (ResponseParameter parameter : parameters.values()) {
+            urlParameters.put(parameter.getName(), parameter.toArray());
+          }
 
-            // Set method id
-            url.setParameter("juzu.op", handler.getId());
+          // Set method id
+          if (properties != null) {
+            urlParameters.put("juzu.op", new String[]{handler.getId()});
           }
+          url.setParameters(urlParameters);
 
           //
           if (escapeXML) {
-            StringWriter writer = new StringWriter();
-            url.write(writer, true);
-            appendable.append(writer.toString());
+            if (appendable instanceof Writer) {
+              url.write((Writer)appendable, true);
+            } else {
+              if (buffer == null) {
+                buffer = new StringWriter();
+              } else {
+                buffer.getBuffer().setLength(0);
+              }
+              url.write(buffer, true);
+              appendable.append(buffer.getBuffer());
+            }
           }
           else {
             appendable.append(url.toString());
@@ -448,6 +446,106 @@ public abstract class PortletRequestBridge<Rq extends PortletRequest, Rs extends
       }
     };
   }
+
+  /**
+   * Returns a base url for the specified phase, portlet mode and window state. The url is created once per request
+   * and the same instance is returned afterwards, the caller is responsible for replacing its parameters.
+   */
+  private BaseURL getURL(MimeResponse mimeResp, Phase phase, PortletMode portletMode, WindowState windowState) {
+    URLKey key = new URLKey(phase, portletMode, windowState);
+    BaseURL url = urls != null ? urls.get(key) : null;
+    if (url == null) {
+      if (phase == Phase.ACTION) {
+        url = mimeResp.createActionURL();
+      } else if (phase == Phase.VIEW) {
+        url = mimeResp.createRenderURL();
+      } else if (phase == Phase.RESOURCE) {
+        url = mimeResp.createResourceURL();
+      } else {
+        throw new AssertionError();
+      }
+
+      // Handle portlet mode
+      if (portletMode != null) {
+        if (url instanceof PortletURL) {
+          try {
+            ((PortletURL)url).setPortletMode(portletMode);
+          }
+          catch (PortletModeException e) {
+            throw new IllegalArgumentException(e);
+          }
+        }
+        else {
+          throw new IllegalArgumentException();
+        }
+      }
+
+      // Handle window state
+      if (windowState != null) {
+        if (url instanceof PortletURL) {
+          try {
+            ((PortletURL)url).setWindowState(windowState);
+          }
+          catch (WindowStateException e) {
+            throw new IllegalArgumentException(e);
+          }
+        }
+        else {
+          throw new IllegalArgumentException();
+        }
+      }
+
+      //
+      if (urls == null) {
+        urls = new HashMap<URLKey, BaseURL>();
+      }
+      urls.put(key, url);
+    }
+    return url;
+  }
+
+  /** The key of a base url. */
+  private static class URLKey {
+
+    /** . */
+    private final Phase phase;
+
+    /** . */
+    private final PortletMode portletMode;
+
+    /** . */
+    private final WindowState windowState;
+
+    private URLKey(Phase phase, PortletMode portletMode, WindowState windowState) {
+      this.phase = phase;
+      this.portletMode = portletMode;
+      this.windowState = windowState;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = phase.hashCode();
+      if (portletMode != null) {
+        hashCode = hashCode * 31 + portletMode.hashCode();
+      }
+      if (windowState != null) {
+        hashCode = hashCode * 41 + windowState.hashCode();
+      }
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      } else if (obj instanceof URLKey) {
+        URLKey that = (URLKey)obj;
+        return phase == that.phase && Tools.safeEquals(portletMode, that.portletMode) && Tools.safeEquals(windowState, that.windowState);
+      }
+      return false;
+    }
+  }
+
   public PortletRequest getPortletRequest() {
     return req;
   }
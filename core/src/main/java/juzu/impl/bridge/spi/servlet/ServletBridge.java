@@ -20,11 +20,13 @@ import juzu.impl.asset.AssetServer;
 import juzu.impl.bridge.Bridge;
 import juzu.impl.bridge.BridgeConfig;
 import juzu.impl.bridge.BridgeContext;
+import juzu.impl.bridge.BridgeExecutor;
 import juzu.impl.bridge.module.ApplicationBridge;
 import juzu.impl.bridge.module.ModuleContextImpl;
 import juzu.impl.bridge.provided.ProvidedBridge;
 import juzu.impl.bridge.spi.web.Handler;
 import juzu.impl.common.Completion;
+import juzu.impl.common.FormTooLargeException;
 import juzu.impl.common.JUL;
 import juzu.impl.common.Tools;
 import juzu.impl.common.Logger;
@@ -36,6 +38,7 @@ import juzu.impl.inject.spi.Injector;
 import juzu.impl.inject.spi.InjectorProvider;
 import juzu.impl.inject.spi.spring.SpringInjector;
 import juzu.impl.resource.ResourceResolver;
+import juzu.io.UndeclaredIOException;
 
 import javax.servlet.RequestDispatcher;
 import javax.servlet.ServletConfig;
@@ -49,6 +52,7 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class ServletBridge extends HttpServlet {
@@ -56,6 +60,12 @@ public class ServletBridge extends HttpServlet {
   /** The resource bundle name. */
   public static final String BUNDLE_NAME = "juzu.resource_bundle";
 
+  /** The maximum number of static resource lookups kept. */
+  private static final int MAX_RESOURCES = 1024;
+
+  /** Static resource lookups by request path. */
+  private final ConcurrentHashMap<String, Boolean> resources = new ConcurrentHashMap<String, Boolean>();
+
   /** . */
   private String path;
 
@@ -71,6 +81,9 @@ public class ServletBridge extends HttpServlet {
   /** . */
   private Handler handler;
 
+  /** . */
+  private volatile BridgeExecutor executor;
+
   /** . */
   private String bundleName;
 
@@ -84,6 +97,10 @@ public class ServletBridge extends HttpServlet {
     return bridge;
   }
 
+  BridgeExecutor getExecutor() {
+    return executor;
+  }
+
   @Override
   public void init() throws ServletException {
 
@@ -133,7 +150,7 @@ public class ServletBridge extends HttpServlet {
               inject = servletConfig.getServletContext().getInitParameter((String)key);
             }
             return inject;
-          } else if (BridgeConfig.REQUEST_ENCODING.equals(key)) {
+          } else if (BridgeConfig.REQUEST_ENCODING.equals(key) || BridgeConfig.REQUEST_MAX_FORM_SIZE.equals(key) || BridgeConfig.REQUEST_MAX_PARAMETERS.equals(key) || BridgeConfig.ASSET_BUNDLING.equals(key) || BridgeConfig.METRICS.equals(key) || BridgeConfig.EXECUTOR.equals(key) || BridgeConfig.EXECUTOR_THREADS.equals(key) || BridgeConfig.EXECUTOR_QUEUE.equals(key)) {
             return servletConfig.getServletContext().getInitParameter((String)key);
           } else {
             return null;
@@ -242,12 +259,6 @@ public class ServletBridge extends HttpServlet {
         }
       }
 
-      //
-      ModuleContextImpl module = (ModuleContextImpl)getServletContext().getAttribute("juzu.module");
-      if (module == null) {
-        getServletContext().setAttribute("juzu.module", module = new ModuleContextImpl(servletLogger, bridgeContext, resolver));
-      }
-
       // Get asset server
       AssetServer server = (AssetServer)getServletContext().getAttribute("asset.server");
       if (server == null) {
@@ -259,6 +270,11 @@ public class ServletBridge extends HttpServlet {
       if (injector.isProvided()) {
         bridge = new ProvidedBridge(bridgeContext, this.bridgeConfig, server, resolver, injector);
       } else {
+        ModuleContextImpl module = (ModuleContextImpl)getServletContext().getAttribute("juzu.module");
+        if (module == null || !module.retain()) {
+          getServletContext().setAttribute("juzu.module", module = new ModuleContextImpl(servletLogger, bridgeContext, resolver));
+          module.retain();
+        }
         bridge = new ApplicationBridge(module, bridgeContext, this.bridgeConfig, server, resolver, injector);
       }
     }
@@ -273,6 +289,7 @@ public class ServletBridge extends HttpServlet {
         handler = null;
         applicationContext = null;
       }
+      resources.clear();
     }
 
     //
@@ -280,6 +297,22 @@ public class ServletBridge extends HttpServlet {
       this.handler = new Handler(bridge);
       this.applicationContext = new ServletApplicationContext(getServletContext().getClassLoader(), bundleName);
     }
+
+    // The executor outlives the application refreshes
+    if (executor == null) {
+      synchronized (this) {
+        if (executor == null) {
+          executor = BridgeExecutor.create(
+              bridgeConfig.executor,
+              bridgeConfig.executorThreads,
+              bridgeConfig.executorQueue,
+              bridge.getApplication().getMetrics(),
+              getServletContext().getClassLoader(),
+              servletLogger);
+          servletLogger.info("Using executor " + executor);
+        }
+      }
+    }
   }
 
   @Override
@@ -289,6 +322,9 @@ public class ServletBridge extends HttpServlet {
     ServletRequestContext ctx = new ServletRequestContext(
         bridgeConfig.name,
         bridgeConfig.requestEncoding,
+        bridgeConfig.requestMaxFormSize,
+        bridgeConfig.requestMaxParameters,
+        bridgeConfig.assetBundling,
         req,
         resp,
         path,
@@ -299,8 +335,7 @@ public class ServletBridge extends HttpServlet {
 
     // Do we need to send a server resource ?
     if (ctx.getRequestPath().length() > 1 && !ctx.getRequestPath().startsWith("/WEB-INF/")) {
-      URL url = getServletContext().getResource(ctx.getRequestPath());
-      if (url != null) {
+      if (isResource(ctx)) {
         RequestDispatcher dispatcher = getServletContext().getNamedDispatcher("default");
         dispatcher.include(bridge.getRequestContext().req, bridge.getResponse());
         return;
@@ -323,23 +358,58 @@ public class ServletBridge extends HttpServlet {
     try {
       handler.handle(bridge);
     }
+    catch (UndeclaredIOException e) {
+      if (e.getCause() instanceof FormTooLargeException && !resp.isCommitted()) {
+        servletLogger.error(e.getCause().getMessage());
+        resp.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+      } else {
+        throw wrap(e);
+      }
+    }
     catch (Throwable throwable) {
       throw wrap(throwable);
     }
   }
 
-  @Override
-  public void destroy() {
-/*
-    if (module != null) {
-      if (module.release()) {
-        // Should dispose module (todo later)
+  /**
+   * Determines whether the request targets a static resource of the web application. Lookups are kept until the
+   * application is refreshed, paths matched by a literal route of the application are never looked up.
+   *
+   * @param ctx the request context
+   * @return true when the request targets a static resource
+   * @throws MalformedURLException if the request path is not valid
+   */
+  private boolean isResource(ServletRequestContext ctx) throws MalformedURLException {
+    String requestPath = ctx.getRequestPath();
+    Boolean resource = resources.get(requestPath);
+    if (resource == null) {
+      Handler current = handler;
+      if (current != null && current.isRoute(ctx.getPath(), requestPath)) {
+        resource = false;
+      } else {
+        resource = getServletContext().getResource(requestPath) != null;
       }
+      if (resources.size() >= MAX_RESOURCES) {
+        resources.clear();
+      }
+      resources.put(requestPath, resource);
     }
-*/
+    return resource;
+  }
+
+  @Override
+  public void destroy() {
     if (handler != null) {
       Tools.safeClose(handler);
       this.handler = null;
     }
+    if (executor != null) {
+      Tools.safeClose(executor);
+      this.executor = null;
+    }
+    if (bridge != null) {
+      Tools.safeClose(bridge);
+      this.bridge = null;
+    }
   }
 }
@@ -18,25 +18,26 @@ package juzu.impl.bridge.spi.servlet;
 import juzu.asset.AssetLocation;
 import juzu.impl.bridge.spi.web.HttpStream;
 import juzu.impl.bridge.spi.web.WebRequestContext;
-import juzu.impl.common.FormURLEncodedParser;
+import juzu.impl.common.FormTooLargeException;
+import juzu.impl.common.FormURLEncodedDecoder;
 import juzu.impl.common.JUL;
 import juzu.impl.common.Lexers;
 import juzu.impl.common.Logger;
 import juzu.impl.common.Name;
 import juzu.impl.common.RunMode;
 import juzu.impl.common.Spliterator;
-import juzu.impl.common.Tools;
 import juzu.impl.io.BinaryOutputStream;
 import juzu.io.Stream;
+import juzu.io.UndeclaredIOException;
 import juzu.request.RequestParameter;
 
 import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -59,8 +60,8 @@ public class ServletRequestContext extends WebRequestContext {
   /** . */
   final String requestPath;
 
-  /** . */
-  final Map<String, RequestParameter> requestParameters;
+  /** The parameters, decoded on first access. */
+  private Map<String, RequestParameter> requestParameters;
 
   /** . */
   final Charset defaultEncoding;
@@ -68,20 +69,85 @@ public class ServletRequestContext extends WebRequestContext {
   /** . */
   private AsyncContext context;
 
+  /** The number of tasks of the request handed to the executor and not yet ended. */
+  private int tasks;
+
   /** . */
   private final String prefix;
 
   /** . */
   private final RunMode runMode;
 
+  /** . */
+  private final long maxFormSize;
+
+  /** . */
+  private final int maxParameters;
+
+  /** . */
+  private final boolean bundleAssets;
+
   public ServletRequestContext(
       Name application,
       Charset defaultEncoding,
+      long maxFormSize,
+      int maxParameters,
+      boolean bundleAssets,
       HttpServletRequest req,
       HttpServletResponse resp,
       String path,
       RunMode runMode) {
 
+    //
+    StringBuilder prefix = new StringBuilder();
+    for (String atom : application) {
+      prefix.append('/').append(atom);
+    }
+    prefix.append("/assets/");
+
+    //
+    this.defaultEncoding = defaultEncoding;
+    this.requestPath = req.getRequestURI().substring(req.getContextPath().length());
+    this.requestParameters = null;
+    this.maxFormSize = maxFormSize;
+    this.maxParameters = maxParameters;
+    this.bundleAssets = bundleAssets;
+    this.req = req;
+    this.path = path;
+    this.resp = resp;
+    this.prefix = prefix.toString();
+    this.runMode = runMode;
+
+  }
+
+  @Override
+  public RunMode getRunMode() {
+    return runMode;
+  }
+
+  @Override
+  public boolean getBundleAssets() {
+    return bundleAssets;
+  }
+
+  public Map<String, RequestParameter> getParameters() {
+    if (requestParameters == null) {
+      requestParameters = parseParameters();
+    }
+    return requestParameters;
+  }
+
+  /**
+   * Decode the query string and the form entity of a post request, the form entity is decoded from the request
+   * input stream. A form entity that cannot be decoded fails the request instead of being dropped, so a controller
+   * is never invoked with a truncated form.
+   *
+   * @return the parameters
+   * @throws UndeclaredIOException wrapping a {@link FormTooLargeException} when the form exceeds a limit or any
+   * other io exception
+   */
+  private Map<String, RequestParameter> parseParameters() {
+
     //
     Map<String, RequestParameter> requestParameters = Collections.emptyMap();
     String query = req.getQueryString();
@@ -108,49 +174,23 @@ public class ServletRequestContext extends WebRequestContext {
               charset = Charset.forName(v.substring("charset=".length()));
             }
           }
+          if (maxFormSize >= 0 && req.getContentLength() > maxFormSize) {
+            throw new UndeclaredIOException(new FormTooLargeException("Form post of " + req.getContentLength() + " bytes exceeds the maximum size of " + maxFormSize + " bytes"));
+          }
+          if (requestParameters.isEmpty()) {
+            requestParameters = new HashMap<String, RequestParameter>();
+          }
           try {
-            byte[] bytes = Tools.copy(req.getInputStream(), new ByteArrayOutputStream()).toByteArray();
-            String form = new String(bytes, charset);
-            FormURLEncodedParser parser = new FormURLEncodedParser(defaultEncoding, form, 0, form.length());
-            for (RequestParameter parameter : parser) {
-              if (requestParameters.isEmpty()) {
-                requestParameters = new HashMap<String, RequestParameter>();
-              }
-              parameter.appendTo(requestParameters);
-            }
+            new FormURLEncodedDecoder(charset, maxFormSize, maxParameters).decode(req.getInputStream(), requestParameters);
           }
           catch (IOException e) {
-            log.error("Cannot parse form post", e);
+            throw new UndeclaredIOException(e);
           }
         }
       }
     }
 
     //
-    StringBuilder prefix = new StringBuilder();
-    for (String atom : application) {
-      prefix.append('/').append(atom);
-    }
-    prefix.append("/assets/");
-
-    //
-    this.defaultEncoding = defaultEncoding;
-    this.requestPath = req.getRequestURI().substring(req.getContextPath().length());
-    this.requestParameters = requestParameters;
-    this.req = req;
-    this.path = path;
-    this.resp = resp;
-    this.prefix = prefix.toString();
-    this.runMode = runMode;
-
-  }
-
-  @Override
-  public RunMode getRunMode() {
-    return runMode;
-  }
-
-  public Map<String, RequestParameter> getParameters() {
     return requestParameters;
   }
 
@@ -166,6 +206,22 @@ public class ServletRequestContext extends WebRequestContext {
     return req.getRequestURI();
   }
 
+  public String getRequestHeader(String name) {
+    Enumeration<String> values = req.getHeaders(name);
+    if (values == null || !values.hasMoreElements()) {
+      return req.getHeader(name);
+    }
+    String value = values.nextElement();
+    if (values.hasMoreElements()) {
+      StringBuilder sb = new StringBuilder(value);
+      while (values.hasMoreElements()) {
+        sb.append(", ").append(values.nextElement());
+      }
+      value = sb.toString();
+    }
+    return value;
+  }
+
   synchronized void endAsync() {
     if (context != null) {
       log.trace("Completing async");
@@ -188,6 +244,37 @@ public class ServletRequestContext extends WebRequestContext {
     return context;
   }
 
+  /**
+   * Begin a task of the request in async mode.
+   *
+   * @return true when the task started the async mode
+   */
+  synchronized boolean beginTask() {
+    boolean started = !req.isAsyncStarted();
+    beginAsync();
+    tasks++;
+    return started;
+  }
+
+  /**
+   * End a task of the request.
+   */
+  synchronized void endTask() {
+    tasks--;
+  }
+
+  /**
+   * End a task that the executor rejected, the async mode is completed when the task started it and no other
+   * task of the request is in flight, otherwise it is left to the other tasks.
+   *
+   * @param started true when the task started the async mode
+   */
+  synchronized void rejectTask(boolean started) {
+    if (--tasks == 0 && started) {
+      endAsync();
+    }
+  }
+
   @Override
   public HttpStream getStream(int status) {
     return new ServletStream(status, defaultEncoding);
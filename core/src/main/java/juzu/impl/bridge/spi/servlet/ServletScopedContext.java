@@ -22,9 +22,8 @@ import juzu.impl.inject.Scoped;
 
 import javax.servlet.http.HttpSessionBindingEvent;
 import javax.servlet.http.HttpSessionBindingListener;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p></p>An helper class for managing scoped entries. It implements the {@link javax.servlet.http.HttpSessionBindingListener} interface
@@ -32,25 +31,28 @@ import java.util.Iterator;
  * #valueUnbound(javax.servlet.http.HttpSessionBindingEvent)} callback.</p> <p/> <p>At the moment we do not support
  * serialization.</p>
  *
+ * <p>The entries can be accessed concurrently by the requests of the same session.</p>
+ *
  * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
  */
 public class ServletScopedContext implements ScopedContext, HttpSessionBindingListener {
 
   /** . */
-  private HashMap<Object, Scoped> state;
+  private final ConcurrentHashMap<Object, Scoped> state;
 
   /** . */
   private final Logger log;
 
   public ServletScopedContext(Logger log) {
     this.log = log;
+    this.state = new ConcurrentHashMap<Object, Scoped>();
   }
 
   public Scoped get(Object key) throws NullPointerException {
     if (key == null) {
       throw new NullPointerException("No null key accepted");
     }
-    return state != null ? state.get(key) : null;
+    return state.get(key);
   }
 
   public void set(Object key, Scoped scoped) throws NullPointerException {
@@ -58,24 +60,19 @@ public class ServletScopedContext implements ScopedContext, HttpSessionBindingLi
       throw new NullPointerException("No null key accepted");
     }
     if (scoped == null) {
-      if (state != null) {
-        state.remove(key);
-      }
+      state.remove(key);
     }
     else {
-      if (state == null) {
-        state = new HashMap<Object, Scoped>();
-      }
       state.put(key, scoped);
     }
   }
 
   public int size() {
-    return state != null ? state.size() : 0;
+    return state.size();
   }
 
   public Iterator<Scoped> iterator() {
-    return state == null ? Collections.<Scoped>emptyList().iterator() : state.values().iterator();
+    return state.values().iterator();
   }
 
   public void valueBound(HttpSessionBindingEvent event) {
@@ -86,11 +83,14 @@ public class ServletScopedContext implements ScopedContext, HttpSessionBindingLi
     close();
   }
 
+  /**
+   * Destroys the entries, each entry is removed from the live state before it is destroyed so an entry set
+   * concurrently is either destroyed or remains in the context.
+   */
   public void close() {
-    if (state != null && state.size() > 0) {
-      for (Iterator<Scoped> i = state.values().iterator();i.hasNext();) {
-        Scoped scoped = i.next();
-        i.remove();
+    for (Object key : state.keySet()) {
+      Scoped scoped = state.remove(key);
+      if (scoped != null) {
         try {
           scoped.destroy();
         }
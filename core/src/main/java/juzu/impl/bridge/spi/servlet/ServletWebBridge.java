@@ -36,8 +36,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.security.Principal;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Locale;
+import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
@@ -52,6 +54,9 @@ public class ServletWebBridge extends WebBridge implements HttpContext, ClientCo
   /** . */
   private final ServletBridge servlet;
 
+  /** The role checks of the request. */
+  private HashMap<String, Boolean> roles;
+
   public ServletWebBridge(ServletBridge servlet, ServletRequestContext ctx) {
     this.ctx = ctx;
     this.method = HttpMethod.valueOf(ctx.req.getMethod());
@@ -74,9 +79,10 @@ public class ServletWebBridge extends WebBridge implements HttpContext, ClientCo
   @Override
   public void execute(final Runnable runnable) {
     if (ctx.req.isAsyncSupported()) {
-      AsyncContext context = ctx.beginAsync();
+      final boolean started = ctx.beginTask();
+      final AsyncContext context = ctx.req.getAsyncContext();
       ServletRequestContext.log.trace("Scheduling runnable " + runnable);
-      context.start(new Runnable() {
+      servlet.getExecutor().execute(new Runnable() {
         public void run() {
           ServletRequestContext.log.trace("Starting runnable " + runnable);
           try {
@@ -89,6 +95,18 @@ public class ServletWebBridge extends WebBridge implements HttpContext, ClientCo
             }
             ServletRequestContext.log.trace("Failure of runnable " + runnable, e);
           }
+          finally {
+            ctx.endTask();
+          }
+        }
+      }, new Executor() {
+        public void execute(Runnable command) {
+          context.start(command);
+        }
+      }, new Runnable() {
+        public void run() {
+          // The task will never run, complete the request unless another task still uses it
+          ctx.rejectTask(started);
         }
       });
     } else {
@@ -140,24 +158,26 @@ public class ServletWebBridge extends WebBridge implements HttpContext, ClientCo
   }
 
   public ScopedContext getFlashScope(boolean create) {
-    ScopedContext context = null;
-    HttpSession session = ctx.req.getSession(create);
-    if (session != null) {
-      context = (ScopedContext)session.getAttribute("juzu.flash_scope");
-      if (context == null && create) {
-        session.setAttribute("juzu.flash_scope", context = new ServletScopedContext(getLogger(ServletScopedContext.class.getName())));
-      }
-    }
-    return context;
+    return getSessionScope("juzu.flash_scope", create);
   }
 
   public ScopedContext getSessionScope(boolean create) {
+    return getSessionScope("juzu.session_scope", create);
+  }
+
+  private ScopedContext getSessionScope(String name, boolean create) {
     ScopedContext context = null;
     HttpSession session = ctx.req.getSession(create);
     if (session != null) {
-      context = (ScopedContext)session.getAttribute("juzu.session_scope");
+      context = (ScopedContext)session.getAttribute(name);
       if (context == null && create) {
-        session.setAttribute("juzu.session_scope", context = new ServletScopedContext(getLogger(ServletScopedContext.class.getName())));
+        // Concurrent requests of the same session must share the same context
+        synchronized (session) {
+          context = (ScopedContext)session.getAttribute(name);
+          if (context == null) {
+            session.setAttribute(name, context = new ServletScopedContext(getLogger(ServletScopedContext.class.getName())));
+          }
+        }
       }
     }
     return context;
@@ -256,6 +276,13 @@ public class ServletWebBridge extends WebBridge implements HttpContext, ClientCo
 
   @Override
   public boolean isUserInRole(String role) {
-    return ctx.req.isUserInRole(role);
+    if (roles == null) {
+      roles = new HashMap<String, Boolean>();
+    }
+    Boolean inRole = roles.get(role);
+    if (inRole == null) {
+      roles.put(role, inRole = ctx.req.isUserInRole(role));
+    }
+    return inRole;
   }
 }
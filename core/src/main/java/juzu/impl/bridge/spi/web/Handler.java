@@ -21,6 +21,7 @@ import juzu.Resource;
 import juzu.impl.bridge.Bridge;
 import juzu.impl.common.MethodHandle;
 import juzu.impl.common.UriBuilder;
+import juzu.impl.metrics.Metrics;
 import juzu.impl.plugin.controller.ControllerService;
 import juzu.impl.plugin.router.RouteDescriptor;
 import juzu.impl.plugin.router.RouterDescriptor;
@@ -108,7 +109,43 @@ public class Handler implements Closeable {
     return bridge;
   }
 
+  /**
+   * Returns true when the request path is matched by a route of the application that does not declare any path
+   * parameter, such path is not a static resource of the web application.
+   *
+   * @param path the path of the application
+   * @param requestPath the request path
+   * @return true when the request path is matched by a literal route
+   */
+  public boolean isRoute(String path, String requestPath) {
+    if (requestPath.startsWith(path)) {
+      Iterator<RouteMatch> matches = root.matcher(requestPath.substring(path.length()), Collections.<String, String[]>emptyMap());
+      while (matches.hasNext()) {
+        RouteMatch match = matches.next();
+        if (match.getMatched().isEmpty() && getMethods(match.getRoute()) != null) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   public void handle(WebBridge bridge) throws Throwable {
+    Metrics metrics = this.bridge.getApplication().getMetrics();
+    if (metrics.isEnabled()) {
+      long begin = System.nanoTime();
+      try {
+        handle(bridge, metrics);
+      }
+      finally {
+        metrics.getTimer("router.handle").update(System.nanoTime() - begin);
+      }
+    } else {
+      handle(bridge, metrics);
+    }
+  }
+
+  private void handle(WebBridge bridge, Metrics metrics) throws Throwable {
 
     //
     String requestPath = bridge.getRequestContext().getRequestPath();
@@ -120,6 +157,7 @@ public class Handler implements Closeable {
     if (requestPath.startsWith(bridge.getRequestContext().getPath())) {
 
       //
+      long begin = metrics.isEnabled() ? System.nanoTime() : 0;
       HttpMethod requestMethod = bridge.getHttpContext().getMethod();
       Iterator<RouteMatch> matches = root.matcher(requestPath.substring(bridge.getRequestContext().getPath().length()), Collections.<String, String[]>emptyMap());
 
@@ -156,6 +194,9 @@ public class Handler implements Closeable {
           }
         }
       }
+      if (metrics.isEnabled()) {
+        metrics.getTimer("router.match").update(System.nanoTime() - begin);
+      }
 
       // Determine parameters for the match
       if (requestMatch != null && (requestMatch.getMatched().size() > 0 || bridge.getRequestContext().getParameters().size() > 0)) {
@@ -18,6 +18,7 @@ package juzu.impl.bridge.spi.web;
 
 import juzu.Response;
 import juzu.impl.bridge.Bridge;
+import juzu.impl.metrics.Metrics;
 import juzu.impl.plugin.asset.AssetService;
 import juzu.impl.request.ControllerHandler;
 import juzu.request.Phase;
@@ -51,7 +52,18 @@ public abstract class WebMimeBridge extends WebRequestBridge {
       AssetService assetPlugin = (AssetService)handler.getBridge().getApplication().getPlugin("asset");
 
       //
-      http.getRequestContext().send(assetPlugin, status, getPhase());
+      Metrics metrics = handler.getBridge().getApplication().getMetrics();
+      if (metrics.isEnabled()) {
+        long begin = System.nanoTime();
+        try {
+          http.getRequestContext().send(assetPlugin, status, getPhase());
+        }
+        finally {
+          metrics.getTimer("response.stream").update(System.nanoTime() - begin);
+        }
+      } else {
+        http.getRequestContext().send(assetPlugin, status, getPhase());
+      }
 
       //
       return true;
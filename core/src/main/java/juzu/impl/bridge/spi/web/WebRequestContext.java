@@ -17,10 +17,15 @@ package juzu.impl.bridge.spi.web;
 
 import juzu.request.Phase;
 
+import juzu.CacheScope;
+import juzu.PropertyMap;
+import juzu.PropertyType;
 import juzu.Response;
 import juzu.asset.AssetLocation;
+import juzu.impl.asset.Asset;
 import juzu.impl.asset.AssetManager;
 import juzu.impl.common.RunMode;
+import juzu.impl.common.Tools;
 import juzu.impl.compiler.CompilationException;
 import juzu.impl.io.SafeStream;
 import juzu.impl.plugin.asset.AssetService;
@@ -28,11 +33,24 @@ import juzu.request.RequestParameter;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 
 /** @author Julien Viet */
 public abstract class WebRequestContext {
 
+  /** The max-age of responses that never expire, one year as recommended by RFC 2616. */
+  private static final int MAX_AGE_NEVER_EXPIRES = 365 * 24 * 60 * 60;
+
+  /** The assets resolved by {@link #preload(AssetManager, List)}. */
+  private WebStream.ResolvedAssets preloaded;
+
+  /** The preload links of the assets resolved by {@link #preload(AssetManager, List)}. */
+  private String preloadLinks;
+
   public final void send(CompilationException e) throws IOException {
     send(e.asResponse(), true);
   }
@@ -43,6 +61,17 @@ public abstract class WebRequestContext {
 
   public final void send(AssetService assetPlugin, Response.Status response, Phase phase) throws IOException {
 
+    //
+    if (response instanceof Response.Content && response.getCode() == 200 && setCacheHeaders(response.getProperties())) {
+      // Not modified
+      return;
+    }
+
+    // Only the page of the view announces its assets, not a redirect or an error
+    if (preloadLinks != null && response instanceof Response.Content && response.getCode() == 200) {
+      setHeaders(Collections.<Map.Entry<String, String[]>>singletonList(new AbstractMap.SimpleEntry<String, String[]>("Link", new String[]{preloadLinks})));
+    }
+
     //
     AsyncStream stream = getStream(response.getCode());
 
@@ -58,7 +87,7 @@ public abstract class WebRequestContext {
       }
       
       //
-      stream = new WebStream((HttpStream)stream, assetManager, getRunMode().getMinifyAssets(), phase) {
+      stream = new WebStream((HttpStream)stream, assetManager, getRunMode().getMinifyAssets(), getBundleAssets(), phase, preloaded) {
         @Override
         public String renderAssetURL(AssetLocation location, String uri) {
           try {
@@ -82,8 +111,120 @@ public abstract class WebRequestContext {
     }
   }
 
+  /**
+   * Announce the assets a view will use before the controller produces the response: the assets are sent as
+   * preload <code>Link</code> headers with a <code>103 Early Hints</code> interim response when the context
+   * supports it, and set on the final response when it is the content of the page. The resolved assets are kept
+   * and rendered by the {@link WebStream} of the response when the page declares the same assets, so the browser
+   * fetches the same urls.
+   *
+   * @param assetManager the asset manager
+   * @param ids the asset ids
+   * @throws IllegalArgumentException when asset dependencies cannot be resolved
+   * @throws IOException any io exception
+   */
+  public final void preload(AssetManager assetManager, List<String> ids) throws IllegalArgumentException, IOException {
+    boolean minify = getRunMode().getMinifyAssets();
+    WebStream.ResolvedAssets assets = new WebStream.ResolvedAssets(assetManager, ids, minify, getBundleAssets());
+    StringBuilder links = new StringBuilder();
+    appendLinks(assets.stylesheets, minify, "style", links);
+    appendLinks(assets.headerScripts, minify, "script", links);
+    appendLinks(assets.modules, minify, "script", links);
+    appendLinks(assets.footerScripts, minify, "script", links);
+    preloaded = assets;
+    if (links.length() > 0) {
+      preloadLinks = links.toString();
+      sendEarlyHints(preloadLinks);
+    }
+  }
+
+  private void appendLinks(List<Asset> assets, boolean minify, String as, StringBuilder links) throws IOException {
+    for (Asset asset : assets) {
+      if (links.length() > 0) {
+        links.append(", ");
+      }
+      links.append('<');
+      renderAssetURL(asset.getLocation(), asset.resolveURI(minify), links);
+      links.append(">; rel=preload; as=").append(as);
+    }
+  }
+
+  /**
+   * Sends a <code>103 Early Hints</code> interim response with the provided <code>Link</code> header, the default
+   * implementation does nothing: the servlet api cannot send interim responses.
+   *
+   * @param links the link header value
+   * @throws IOException any io exception
+   */
+  protected void sendEarlyHints(String links) throws IOException {
+  }
+
+  /**
+   * Maps the cache properties of the response on the HTTP caching headers.
+   *
+   * @param properties the response properties
+   * @return true when the client cached response is still valid and a <code>304</code> status was sent
+   */
+  private boolean setCacheHeaders(PropertyMap properties) {
+    CacheScope scope = properties.getValue(PropertyType.CACHE_SCOPE);
+    Integer expiration = properties.getValue(PropertyType.EXPIRATION_CACHE);
+    String etag = properties.getValue(PropertyType.ETAG);
+    if (scope == null && expiration == null && etag == null) {
+      return false;
+    }
+
+    //
+    LinkedList<Map.Entry<String, String[]>> headers = new LinkedList<Map.Entry<String, String[]>>();
+    StringBuilder cacheControl = new StringBuilder();
+    if (expiration != null && expiration == 0) {
+      cacheControl.append("no-store");
+    } else {
+      if (scope != null) {
+        cacheControl.append(scope == CacheScope.PUBLIC ? "public" : "private");
+      }
+      if (expiration != null) {
+        if (cacheControl.length() > 0) {
+          cacheControl.append(", ");
+        }
+        cacheControl.append("max-age=").append(expiration < 0 ? MAX_AGE_NEVER_EXPIRES : expiration);
+      }
+    }
+    if (cacheControl.length() > 0) {
+      headers.add(new AbstractMap.SimpleEntry<String, String[]>("Cache-Control", new String[]{cacheControl.toString()}));
+    }
+    if (etag != null) {
+      headers.add(new AbstractMap.SimpleEntry<String, String[]>("ETag", new String[]{Tools.entityTag(etag)}));
+    }
+    setHeaders(headers);
+
+    //
+    if (etag != null) {
+      String matches = getRequestHeader("If-None-Match");
+      if (matches != null && Tools.matchEntityTag(etag, matches)) {
+        setStatus(304);
+        return true;
+      }
+    }
+    return false;
+  }
+
   public abstract RunMode getRunMode();
 
+  /**
+   * Returns true when the assets of a page should be served as bundles.
+   *
+   * @return the asset bundling mode
+   */
+  public abstract boolean getBundleAssets();
+
+  /**
+   * Returns the value of a request header, the values of a repeated header are joined with a comma.
+   *
+   * @param name the header name
+   * @return the header value or null
+   */
+  public abstract String getRequestHeader(String name);
+
   public abstract Map<String, RequestParameter> getParameters();
 
   public abstract String getRequestURI();
@@ -65,16 +65,70 @@ public abstract class WebStream implements AsyncStream {
 
   /** . */
   private final boolean minifyAssets;
+
+  /** Whether the bundleable assets are concatenated. */
+  private final boolean bundleAssets;
   
   /** . */
   private final Phase phase;
 
-  public WebStream(HttpStream stream, AssetManager assetManager, boolean minifyAssets, Phase phase) {
+  /** The assets resolved before the response was produced or null. */
+  private final ResolvedAssets preloaded;
+
+  public WebStream(HttpStream stream, AssetManager assetManager, boolean minifyAssets, boolean bundleAssets, Phase phase, ResolvedAssets preloaded) {
     this.stream = stream;
     this.assetManager = assetManager;
     this.page = new Page();
     this.minifyAssets = minifyAssets;
+    this.bundleAssets = bundleAssets;
     this.phase = phase;
+    this.preloaded = preloaded;
+  }
+
+  /**
+   * The resolved assets of a page grouped the way they are rendered, the groups are bundled when asset bundling
+   * is on.
+   */
+  static class ResolvedAssets {
+
+    /** The ids the assets were resolved from. */
+    final List<String> ids;
+
+    /** . */
+    final List<Asset> stylesheets;
+
+    /** . */
+    final List<Asset> modules;
+
+    /** . */
+    final List<Asset> headerScripts;
+
+    /** . */
+    final List<Asset> footerScripts;
+
+    ResolvedAssets(AssetManager assetManager, List<String> ids, boolean minifyAssets, boolean bundleAssets) throws IllegalArgumentException {
+      List<Asset> stylesheets = new ArrayList<Asset>();
+      List<Asset> modules = Collections.emptyList();
+      List<Asset> headerScripts = new ArrayList<Asset>();
+      List<Asset> footerScripts = new ArrayList<Asset>();
+      for (Asset asset : assetManager.resolveAssets(ids)) {
+        if (asset.isStylesheet()) {
+          stylesheets.add(asset);
+        } else if (asset.getType().equals("module")) {
+          if (modules.isEmpty()) {
+            modules = new ArrayList<Asset>();
+          }
+          modules.add(asset);
+        } else if (asset.isScript()) {
+          (Boolean.FALSE.equals(asset.getHeader()) ? footerScripts : headerScripts).add(asset);
+        }
+      }
+      this.ids = new ArrayList<String>(ids);
+      this.stylesheets = bundleAssets ? assetManager.bundle(stylesheets, minifyAssets) : stylesheets;
+      this.modules = modules;
+      this.headerScripts = bundleAssets ? assetManager.bundle(headerScripts, minifyAssets) : headerScripts;
+      this.footerScripts = bundleAssets ? assetManager.bundle(footerScripts, minifyAssets) : footerScripts;
+    }
   }
 
   public void provide(Chunk chunk) {
@@ -99,8 +153,11 @@ public abstract class WebStream implements AsyncStream {
       } else if (chunk instanceof Chunk.Data) {
         try {
           if (page.assets.size() > 0 && assetManager != null) {
-            Iterable<Asset> resolvedAssets =  assetManager.resolveAssets(page.assets);
-            Tools.addAll(page.resolvedAssets, resolvedAssets);
+            if (preloaded != null && preloaded.ids.equals(page.assets)) {
+              page.resolvedAssets = preloaded;
+            } else {
+              page.resolvedAssets = new ResolvedAssets(assetManager, page.assets, minifyAssets, bundleAssets);
+            }
           }
           status = STREAMING;
           if (!Phase.RESOURCE.equals(phase)) {
@@ -183,13 +240,14 @@ public abstract class WebStream implements AsyncStream {
     private final LinkedList<Element> headerTags = new LinkedList<Element>();
 
     /** . */
-    private final LinkedList<Asset> resolvedAssets = new LinkedList<Asset>();
+    private ResolvedAssets resolvedAssets;
 
     void clear() {
       this.title = null;
       this.metaTags.clear();
       this.assets.clear();
       this.headerTags.clear();
+      this.resolvedAssets = null;
     }
 
     void sendHeader(HttpStream stream) {
@@ -223,39 +281,12 @@ public abstract class WebStream implements AsyncStream {
         stream.provide(Chunk.create(metaTag.getValue()));
         stream.provide(Chunk.create("\">\n"));
       }
-      for (Asset asset : resolvedAssets) {
-        if (asset.isStylesheet()) {
-          String uri = asset.resolveURI(minifyAssets);
-          int pos = uri.lastIndexOf('.');
-          String ext = pos == -1 ? "css" : uri.substring(pos + 1);
-          String url = renderAssetURL(asset.getLocation(), uri);
-          stream.provide(Chunk.create("<link rel=\"stylesheet\" type=\"text/"));
-          stream.provide(Chunk.create(ext));
-          stream.provide(Chunk.create("\" href=\""));
-          stream.provide(Chunk.create(url));
-          stream.provide(Chunk.create("\"/>\n"));
-        }
-      }
-      List<Asset> modules = Collections.emptyList();
-      for (Asset asset : resolvedAssets) {
-        if (asset.getType().equals("module")) {
-          if (modules.isEmpty()) {
-            modules = new ArrayList<Asset>();
-          }
-          modules.add(asset);
-        }
-      }
-      if (!modules.isEmpty()) {
-        renderAMD(modules, stream);
-      }
-      for (Asset asset : resolvedAssets) {
-        if (asset.isScript() && !Boolean.FALSE.equals(asset.getHeader())) {
-          String uri = asset.resolveURI(minifyAssets);
-          String url = renderAssetURL(asset.getLocation(), uri);
-          stream.provide(Chunk.create("<script type=\"text/javascript\" src=\""));
-          stream.provide(Chunk.create(url));
-          stream.provide(Chunk.create("\"></script>\n"));
+      if (resolvedAssets != null) {
+        sendAssets(resolvedAssets.stylesheets, stream);
+        if (!resolvedAssets.modules.isEmpty()) {
+          renderAMD(resolvedAssets.modules, stream);
         }
+        sendAssets(resolvedAssets.headerScripts, stream);
       }
 
       for (Element headerTag : headerTags) {
@@ -274,20 +305,37 @@ public abstract class WebStream implements AsyncStream {
     }
 
     void sendFooter(Stream stream) {
-      for (Asset asset : resolvedAssets) {
-        if (asset.isScript() && Boolean.FALSE.equals(asset.getHeader())) {
-          String uri = asset.resolveURI(minifyAssets);
-          String url = renderAssetURL(asset.getLocation(), uri);
-          stream.provide(Chunk.create("<script type=\"text/javascript\" src=\""));
-          stream.provide(Chunk.create(url));
-          stream.provide(Chunk.create("\"></script>\n"));
-        }
+      if (resolvedAssets != null) {
+        sendAssets(resolvedAssets.footerScripts, stream);
       }
       stream.provide(Chunk.create(
           "</body>\n" +
               "</html>\n"));
     }
     
+    private void sendAssets(List<Asset> assets, Stream stream) {
+      for (Asset asset : assets) {
+        sendAsset(asset.getType(), asset.getLocation(), asset.resolveURI(minifyAssets), stream);
+      }
+    }
+
+    private void sendAsset(String type, AssetLocation location, String uri, Stream stream) {
+      String url = renderAssetURL(location, uri);
+      if (type.equals("stylesheet")) {
+        int pos = uri.lastIndexOf('.');
+        String ext = pos == -1 ? "css" : uri.substring(pos + 1);
+        stream.provide(Chunk.create("<link rel=\"stylesheet\" type=\"text/"));
+        stream.provide(Chunk.create(ext));
+        stream.provide(Chunk.create("\" href=\""));
+        stream.provide(Chunk.create(url));
+        stream.provide(Chunk.create("\"/>\n"));
+      } else {
+        stream.provide(Chunk.create("<script type=\"text/javascript\" src=\""));
+        stream.provide(Chunk.create(url));
+        stream.provide(Chunk.create("\"></script>\n"));
+      }
+    }
+
     private void renderAMD(Iterable<Asset> modules, Stream stream) {
       StringBuilder buffer = new StringBuilder();
       buffer.append("<script type=\"text/javascript\">");
@@ -17,10 +17,12 @@
 package juzu.impl.bridge.spi.web;
 
 import juzu.impl.bridge.Bridge;
+import juzu.impl.plugin.asset.AssetService;
 import juzu.impl.request.ControllerHandler;
 import juzu.request.Phase;
 import juzu.request.RequestParameter;
 
+import java.util.List;
 import java.util.Map;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
@@ -34,4 +36,21 @@ public class WebViewBridge extends WebMimeBridge {
       Map<String, RequestParameter> parameters) {
     super(bridge, handler, http, Phase.VIEW, target, parameters);
   }
+
+  @Override
+  void invoke() throws Exception {
+    AssetService assetPlugin = (AssetService)handler.getBridge().getApplication().getPlugin("asset");
+    if (assetPlugin != null) {
+      List<String> assets = assetPlugin.getAssets(target);
+      if (assets.size() > 0) {
+        try {
+          http.getRequestContext().preload(assetPlugin.getAssetManager(), assets);
+        }
+        catch (IllegalArgumentException ignore) {
+          // The failure is reported when the page is rendered
+        }
+      }
+    }
+    super.invoke();
+  }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.common;
+
+import juzu.request.RequestParameter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decodes a form url encoded entity incrementally from an input stream. The stream is read with a reusable byte
+ * buffer and each name or value is percent decoded into a reusable byte buffer, so the entity is never fully
+ * buffered. The decoder enforces a maximum entity size and a maximum parameter count.
+ *
+ * @author Julien Viet
+ */
+public class FormURLEncodedDecoder {
+
+  /** . */
+  private static final int NAME = 0;
+
+  /** . */
+  private static final int VALUE = 1;
+
+  /** . */
+  private final Charset encoding;
+
+  /** . */
+  private final long maxSize;
+
+  /** . */
+  private final int maxParameters;
+
+  /** The read buffer. */
+  private final byte[] buffer;
+
+  /** The decoded bytes of the current name or value. */
+  private byte[] bytes;
+
+  /** . */
+  private int length;
+
+  /** The raw value. */
+  private final StringBuilder raw;
+
+  /**
+   * Create a new decoder.
+   *
+   * @param encoding the encoding of the decoded bytes
+   * @param maxSize the maximum entity size in bytes or a negative value for no limit
+   * @param maxParameters the maximum number of parameters or a negative value for no limit
+   */
+  public FormURLEncodedDecoder(Charset encoding, long maxSize, int maxParameters) {
+    this.encoding = encoding;
+    this.maxSize = maxSize;
+    this.maxParameters = maxParameters;
+    this.buffer = new byte[512];
+    this.bytes = new byte[64];
+    this.raw = new StringBuilder();
+  }
+
+  /**
+   * Decode the stream and append the parameters to the specified map. The parameters are appended only when the
+   * whole stream was decoded, the map is left unchanged when a limit is exceeded.
+   *
+   * @param in the stream to decode
+   * @param parameters the parameters
+   * @param <M> the map generic type
+   * @return the parameters argument
+   * @throws FormTooLargeException when a limit is exceeded
+   * @throws IOException any io exception
+   */
+  public <M extends Map<String, RequestParameter>> M decode(InputStream in, M parameters) throws IOException {
+    HashMap<String, RequestParameter> decoded = new HashMap<String, RequestParameter>();
+    int state = NAME;
+    String name = null;
+    boolean valid = true;
+    int count = 0;
+    long size = 0;
+    int percent = -1;
+    int pending = 0;
+    length = 0;
+    raw.setLength(0);
+    while (true) {
+      int len = in.read(buffer);
+      if (len == -1) {
+        break;
+      }
+      size += len;
+      if (maxSize >= 0 && size > maxSize) {
+        throw new FormTooLargeException("Form entity exceeds the maximum size of " + maxSize + " bytes");
+      }
+      for (int i = 0;i < len;i++) {
+        int b = buffer[i] & 0xFF;
+        if (percent >= 0 && b != '&') {
+          raw.append((char)b);
+          int h;
+          try {
+            h = PercentCodec.hex((char)b);
+          }
+          catch (IllegalArgumentException e) {
+            valid = false;
+            h = 0;
+          }
+          pending = pending * 0x10 + h;
+          if (++percent == 2) {
+            append(pending);
+            percent = -1;
+            pending = 0;
+          }
+        } else if (b == '&') {
+          if (percent >= 0) {
+            valid = false;
+            percent = -1;
+            pending = 0;
+          }
+          RequestParameter parameter = valid ? parameter(state, name) : null;
+          if (parameter != null) {
+            if (maxParameters >= 0 && ++count > maxParameters) {
+              throw new FormTooLargeException("Form entity exceeds the maximum number of " + maxParameters + " parameters");
+            }
+            parameter.appendTo(decoded);
+          }
+          state = NAME;
+          name = null;
+          valid = true;
+          length = 0;
+          raw.setLength(0);
+        } else if (b == '=' && state == NAME) {
+          name = decode();
+          state = VALUE;
+          length = 0;
+          raw.setLength(0);
+        } else if (b == '%') {
+          raw.append('%');
+          percent = 0;
+        } else {
+          raw.append((char)b);
+          append(b == '+' ? ' ' : b);
+        }
+      }
+    }
+
+    // Last parameter
+    if (percent >= 0) {
+      valid = false;
+    }
+    RequestParameter parameter = valid ? parameter(state, name) : null;
+    if (parameter != null) {
+      if (maxParameters >= 0 && ++count > maxParameters) {
+        throw new FormTooLargeException("Form entity exceeds the maximum number of " + maxParameters + " parameters");
+      }
+      parameter.appendTo(decoded);
+    }
+
+    //
+    for (RequestParameter decodedParameter : decoded.values()) {
+      decodedParameter.appendTo(parameters);
+    }
+    return parameters;
+  }
+
+  private RequestParameter parameter(int state, String name) {
+    if (state == NAME) {
+      String s = decode();
+      return s.length() > 0 ? RequestParameter.create(s, "") : null;
+    } else {
+      return name.length() > 0 ? RequestParameter.create(name, raw.toString(), decode()) : null;
+    }
+  }
+
+  private void append(int b) {
+    if (length == bytes.length) {
+      bytes = Arrays.copyOf(bytes, length * 2);
+    }
+    bytes[length++] = (byte)b;
+  }
+
+  private String decode() {
+    return new String(bytes, 0, length, encoding);
+  }
+}
@@ -27,7 +27,7 @@ import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Set;
 
 /**
  * Provides a custom classloading policy oscillating between parent-first and child-first:
@@ -38,6 +38,9 @@ import java.util.LinkedList;
  *   <li>classes loaded by ancestors loaders are not subject to this policy</li>
  * </ul>
  *
+ * When the set of the classes to load locally is known, for instance computed from the compiler output, it can
+ * be provided instead and the policy is not evaluated.
+ *
  * todo:
  * <ul>
  *   <li>implement getResources()</li>
@@ -54,7 +57,14 @@ public class LiveClassLoader extends URLClassLoader {
   /** . */
   private final ClassLoader parent;
 
+  /** The names of the classes loaded locally or null when the policy is evaluated. */
+  private final Set<String> local;
+
   public LiveClassLoader(URL[] urls, ClassLoader parent) throws NullPointerException {
+    this(urls, parent, null);
+  }
+
+  public LiveClassLoader(URL[] urls, ClassLoader parent, Set<String> local) throws NullPointerException {
     super(urls, parent);
 
     //
@@ -64,19 +74,23 @@ public class LiveClassLoader extends URLClassLoader {
 
     //
     this.parent = parent;
+    this.local = local;
   }
 
   @Override
   public Class<?> loadClass(String name) throws ClassNotFoundException {
     Class<?> clazz = findLoadedClass(name);
     if (clazz == null) {
+      if (local != null && local.contains(name)) {
+        return findClass(name);
+      }
       try {
         clazz = parent.loadClass(name);
       }
       catch (ClassNotFoundException e) {
         return findClass(name);
       }
-      if (loadLocally(clazz)) {
+      if (local == null && loadLocally(clazz)) {
         clazz = findClass(name);
       }
       return clazz;
@@ -86,64 +100,59 @@ public class LiveClassLoader extends URLClassLoader {
   }
 
   private boolean loadLocally(Class<?> clazz) {
-    return loadLocally(new LinkedList<Class<?>>(), clazz);
+    return loadLocally(new HashSet<Class<?>>(), clazz);
   }
   /**
-   * Return true if the specified class should be loaded by this classloader (i.e with this same class).
+   * Return true if the specified class should be loaded by this classloader (i.e with this same class). A visited
+   * class is either being evaluated or is not loaded locally, otherwise the evaluation would have ended.
    *
+   * @param visited the visited classes
    * @param clazz the class to test
    * @return true if this class be be used
    */
-  private boolean loadLocally(LinkedList<Class<?>> stack, Class<?> clazz) {
+  private boolean loadLocally(HashSet<Class<?>> visited, Class<?> clazz) {
     if (clazz.getClassLoader() == this) {
       // That should not happen since the clazz argument is obtained from a class loader
       // by the parent classloader that is not aware of this classloader
       throw new UnsupportedOperationException("Attempt to determine loading of " + clazz.getName());
     } else if (clazz.getClassLoader() == parent) {
-      if (stack.contains(clazz)) {
+      if (!visited.add(clazz)) {
         return false;
       } else {
-        stack.add(clazz);
-        try {
-          String resourceName = clazz.getName().replace('.', '/') + ".class";
-          URL resource = findResource(resourceName);
-          if (resource == null) {
-            // No resource means it must be loaded from the parent
-            return false;
+        String resourceName = clazz.getName().replace('.', '/') + ".class";
+        URL resource = findResource(resourceName);
+        if (resource == null) {
+          // No resource means it must be loaded from the parent
+          return false;
+        } else {
+          URL parentResource = parent.getResource(resourceName);
+          if (parentResource == null) {
+            throw new UnsupportedOperationException("Could not find parent resource " + resourceName + " from parent loader");
           } else {
-            URL parentResource = parent.getResource(resourceName);
-            if (parentResource == null) {
-              throw new UnsupportedOperationException("Could not find parent resource " + resourceName + " from parent loader");
-            } else {
-              try {
-                byte[] parentBytes = Tools.bytes(parentResource);
-                byte[] bytes = Tools.bytes(resource);
-                if (Arrays.equals(parentBytes, bytes)) {
-                  // If any one dependency could is not loaded locally then this clazz must not be loaded
-                  // locally
-                  for (Iterator<Class<?>> dependencies = getDirectDependencies(clazz);dependencies.hasNext();) {
-                    Class<?> dependency = dependencies.next();
-                    if (loadLocally(stack, dependency)) {
-                      return true;
-                    }
+            try {
+              byte[] parentBytes = Tools.bytes(parentResource);
+              byte[] bytes = Tools.bytes(resource);
+              if (Arrays.equals(parentBytes, bytes)) {
+                // If any one dependency could is not loaded locally then this clazz must not be loaded
+                // locally
+                for (Iterator<Class<?>> dependencies = getDirectDependencies(clazz);dependencies.hasNext();) {
+                  Class<?> dependency = dependencies.next();
+                  if (loadLocally(visited, dependency)) {
+                    return true;
                   }
-                  // Otherwise the parent can load it fine
-                  stack.add(clazz);
-                  return false;
-                } else {
-                  // We must load it locally as it has new bytecode
-                  return true;
                 }
-              }
-              catch (IOException e) {
-                throw new UnsupportedOperationException("handle me gracefully", e);
+                // Otherwise the parent can load it fine
+                return false;
+              } else {
+                // We must load it locally as it has new bytecode
+                return true;
               }
             }
+            catch (IOException e) {
+              throw new UnsupportedOperationException("handle me gracefully", e);
+            }
           }
         }
-        finally {
-          stack.remove(clazz);
-        }
       }
     } else {
       return false;
@@ -361,4 +361,28 @@ public class Name implements Iterable<String>, Serializable, CharSequence {
       return false;
     }
   }
+
+  /**
+   * Serialize the name as its value only, the identifiers and the parent chain are recomputed when it is read.
+   *
+   * @return the serialized form
+   */
+  private Object writeReplace() {
+    return new Serialized(value);
+  }
+
+  /** The serialized form of a name. */
+  private static class Serialized implements Serializable {
+
+    /** . */
+    private final String value;
+
+    private Serialized(String value) {
+      this.value = value;
+    }
+
+    private Object readResolve() {
+      return parse(value);
+    }
+  }
 }
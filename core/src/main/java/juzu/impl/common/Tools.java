@@ -340,6 +340,71 @@ public class Tools {
     return Long.toHexString(hash);
   }
 
+  /**
+   * Returns the value of an <code>ETag</code> header for an entity tag: the tag is quoted unless it is
+   * already a quoted or a weak entity tag.
+   *
+   * @param etag the entity tag
+   * @return the header value
+   */
+  public static String entityTag(String etag) {
+    if (etag.startsWith("W/\"") || (etag.length() > 1 && etag.startsWith("\"") && etag.endsWith("\""))) {
+      return etag;
+    } else {
+      return '"' + etag + '"';
+    }
+  }
+
+  /**
+   * Performs the weak comparison of an entity tag against the value of an <code>If-None-Match</code> header,
+   * the header value is a comma separated list of quoted entity tags with an optional <code>W/</code> prefix
+   * or <code>*</code>.
+   *
+   * @param etag the entity tag
+   * @param ifNoneMatch the header value
+   * @return true when the entity tag matches
+   */
+  public static boolean matchEntityTag(String etag, String ifNoneMatch) {
+    String opaque = opaqueTag(etag);
+    int len = ifNoneMatch.length();
+    int i = 0;
+    while (i < len) {
+      char c = ifNoneMatch.charAt(i);
+      if (c == ',' || Character.isWhitespace(c)) {
+        i++;
+      } else if (c == '*') {
+        return true;
+      } else {
+        if (ifNoneMatch.startsWith("W/", i)) {
+          i += 2;
+        }
+        int to;
+        if (i < len && ifNoneMatch.charAt(i) == '"') {
+          to = ifNoneMatch.indexOf('"', i + 1);
+          to = to == -1 ? len : to + 1;
+        } else {
+          to = ifNoneMatch.indexOf(',', i);
+          to = to == -1 ? len : to;
+        }
+        if (opaqueTag(ifNoneMatch.substring(i, to).trim()).equals(opaque)) {
+          return true;
+        }
+        i = to;
+      }
+    }
+    return false;
+  }
+
+  private static String opaqueTag(String etag) {
+    if (etag.startsWith("W/")) {
+      etag = etag.substring(2);
+    }
+    if (etag.length() > 1 && etag.charAt(0) == '"' && etag.charAt(etag.length() - 1) == '"') {
+      etag = etag.substring(1, etag.length() - 1);
+    }
+    return etag;
+  }
+
   public static String read(URL url) throws IOException {
     return read(url.openStream());
   }
@@ -33,17 +33,24 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Formatter;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
@@ -78,6 +85,88 @@ public abstract class BaseProcessor extends AbstractProcessor {
     return logger;
   }
 
+  /**
+   * Execute tasks concurrently and returns their results in the order of the tasks so the outcome does not depend
+   * on the scheduling. The tasks must not interact with the processing environment that is not thread safe, they
+   * are executed with the context class loader of the caller and the log of each task is appended to the log of
+   * the caller in the order of the tasks. The tasks are executed by a pool created for this invocation, so no
+   * thread outlives the invocation.
+   *
+   * @param tasks the tasks
+   * @return the results
+   * @throws UndeclaredThrowableException wrapping a checked exception thrown by a task
+   */
+  public static <V> List<V> invokeAll(List<? extends Callable<V>> tasks) throws UndeclaredThrowableException {
+    ArrayList<V> results = new ArrayList<V>(tasks.size());
+    try {
+      if (tasks.size() < 2) {
+        for (Callable<V> task : tasks) {
+          results.add(task.call());
+        }
+      } else {
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final String[] logs = new String[tasks.size()];
+        ArrayList<Callable<V>> wrappers = new ArrayList<Callable<V>>(tasks.size());
+        for (int i = 0;i < tasks.size();i++) {
+          final int index = i;
+          final Callable<V> task = tasks.get(i);
+          wrappers.add(new Callable<V>() {
+            public V call() throws Exception {
+              Thread current = Thread.currentThread();
+              ClassLoader previousLoader = current.getContextClassLoader();
+              Formatter previousLog = currentLog.get();
+              Formatter log = new Formatter();
+              current.setContextClassLoader(loader);
+              currentLog.set(log);
+              try {
+                return task.call();
+              }
+              finally {
+                logs[index] = log.toString();
+                currentLog.set(previousLog);
+                current.setContextClassLoader(previousLoader);
+              }
+            }
+          });
+        }
+        List<Future<V>> futures;
+        ForkJoinPool pool = new ForkJoinPool(Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+          futures = pool.invokeAll(wrappers);
+        }
+        finally {
+          pool.shutdown();
+        }
+        Formatter log = currentLog.get();
+        if (log != null) {
+          for (String s : logs) {
+            if (s != null) {
+              log.format("%1$s", s);
+            }
+          }
+        }
+        for (Future<V> future : futures) {
+          try {
+            results.add(future.get());
+          }
+          catch (ExecutionException e) {
+            throw e.getCause();
+          }
+        }
+      }
+    }
+    catch (RuntimeException e) {
+      throw e;
+    }
+    catch (Error e) {
+      throw e;
+    }
+    catch (Throwable t) {
+      throw new UndeclaredThrowableException(t);
+    }
+    return results;
+  }
+
   private static void log(String name, Level level, CharSequence msg, Throwable t) {
     Formatter sb = currentLog.get();
     if (sb != null) {
@@ -114,6 +203,7 @@ public abstract class BaseProcessor extends AbstractProcessor {
     Set<String> options = super.getSupportedOptions();
     HashSet<String> our = new HashSet<String>(options);
     our.add("juzu.error_reporting");
+    our.add(BuildCache.DIRECTORY);
     return our;
   }
 
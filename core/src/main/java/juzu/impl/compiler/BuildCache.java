@@ -0,0 +1,221 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.compiler;
+
+import juzu.impl.common.Name;
+import juzu.impl.common.Tools;
+
+import javax.tools.FileObject;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A content addressed cache for the resources produced by a build, such as minified or compiled assets. An entry is
+ * keyed by a digest of everything its value depends on, so entries never need to be invalidated and are reused when
+ * the class output and the meta model are rebuilt from scratch. The cache directory is set by the {@link #DIRECTORY}
+ * processor option and defaults to a directory next to the class output directory, i.e
+ * <code>target/juzu-build-cache</code> with Maven, that is deleted by <code>mvn clean</code>: the option should point
+ * outside of the build directory to keep the entries across clean builds.
+ *
+ * <p>The first time a directory is used by a class loader, the entries that were not used during
+ * {@link #MAX_AGE} are deleted. A used entry has its last modification time updated when it is older than half of
+ * this age.</p>
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
+public class BuildCache {
+
+  /** The processor option setting the cache directory. */
+  public static final String DIRECTORY = "juzu.build_cache";
+
+  /** The age in milliseconds after which an entry that was not used is deleted. */
+  public static final long MAX_AGE = TimeUnit.DAYS.toMillis(30);
+
+  /** . */
+  private static final String DEFAULT_NAME = "juzu-build-cache";
+
+  /** The directories already pruned. */
+  private static final Set<File> pruned = Collections.synchronizedSet(new HashSet<File>());
+
+  /** . */
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  /** . */
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  /**
+   * Returns the build cache.
+   *
+   * @param context the processing context
+   * @param output a resource created in the class output
+   * @param pkg the package of the resource
+   * @param relativeName the name of the resource relative to its package
+   * @return the build cache or null when the class output is not a directory
+   */
+  public static BuildCache create(ProcessingContext context, FileObject output, Name pkg, String relativeName) {
+    String directory = context.getOptions().get(DIRECTORY);
+    if (directory != null) {
+      return open(new File(directory));
+    }
+    URI uri = output.toUri();
+    if ("file".equals(uri.getScheme())) {
+      File root = new File(uri);
+      int depth = pkg.size();
+      for (String segment : Tools.split(relativeName, '/')) {
+        if (segment.length() > 0) {
+          depth++;
+        }
+      }
+      for (;depth > 0 && root != null;depth--) {
+        root = root.getParentFile();
+      }
+      if (root != null && root.getParentFile() != null) {
+        return open(new File(root.getParentFile(), DEFAULT_NAME));
+      }
+    }
+    return null;
+  }
+
+  private static BuildCache open(File directory) {
+    BuildCache cache = new BuildCache(directory);
+    if (pruned.add(directory.getAbsoluteFile())) {
+      cache.prune(System.currentTimeMillis() - MAX_AGE);
+    }
+    return cache;
+  }
+
+  /**
+   * Compute a key from the parts of an entry: byte arrays are digested as is, other parts are digested as strings.
+   *
+   * @param parts the parts
+   * @return the key
+   */
+  public static String key(Object... parts) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-1");
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new AssertionError(e);
+    }
+    for (Object part : parts) {
+      digest.update(part instanceof byte[] ? (byte[])part : String.valueOf(part).getBytes(UTF_8));
+      digest.update((byte)0);
+    }
+    byte[] bytes = digest.digest();
+    char[] key = new char[bytes.length * 2];
+    for (int i = 0;i < bytes.length;i++) {
+      key[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+      key[i * 2 + 1] = HEX[bytes[i] & 0xF];
+    }
+    return new String(key);
+  }
+
+  /** . */
+  private final File directory;
+
+  public BuildCache(File directory) {
+    this.directory = directory;
+  }
+
+  public File getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Returns an entry.
+   *
+   * @param key the entry key
+   * @return the entry value or null when the entry does not exist or cannot be read
+   */
+  public byte[] get(String key) {
+    File file = new File(directory, key);
+    if (file.isFile()) {
+      try {
+        byte[] value = Tools.bytes(new FileInputStream(file));
+        long now = System.currentTimeMillis();
+        if (file.lastModified() < now - MAX_AGE / 2) {
+          file.setLastModified(now);
+        }
+        return value;
+      }
+      catch (IOException ignore) {
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Deletes the entries and the temporary files last modified before a time.
+   *
+   * @param time the time
+   */
+  public void prune(long time) {
+    File[] files = directory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        if (file.isFile() && file.lastModified() < time) {
+          file.delete();
+        }
+      }
+    }
+  }
+
+  /**
+   * Stores an entry, the value is written to a temporary file renamed afterwards, so concurrent builds never read
+   * a partial entry. Failures are ignored as the entry can be computed again.
+   *
+   * @param key the entry key
+   * @param value the entry value
+   */
+  public void put(String key, byte[] value) {
+    File tmp = null;
+    try {
+      if (directory.isDirectory() || directory.mkdirs()) {
+        tmp = File.createTempFile(key, ".tmp", directory);
+        OutputStream out = new FileOutputStream(tmp);
+        try {
+          out.write(value);
+        }
+        finally {
+          Tools.safeClose(out);
+        }
+        if (tmp.renameTo(new File(directory, key))) {
+          tmp = null;
+        }
+      }
+    }
+    catch (IOException ignore) {
+    }
+    finally {
+      if (tmp != null) {
+        tmp.delete();
+      }
+    }
+  }
+}
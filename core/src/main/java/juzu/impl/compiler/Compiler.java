@@ -39,6 +39,7 @@ import javax.tools.StandardLocation;
 import javax.tools.ToolProvider;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -79,6 +80,9 @@ public class Compiler {
     /** . */
     private CompilerConfig config;
 
+    /** . */
+    private Dependencies dependencies;
+
     private Builder(
       ReadFileSystem<?> sourcePath,
       ReadWriteFileSystem<?> sourceOutput,
@@ -145,6 +149,11 @@ public class Compiler {
       return this;
     }
 
+    public Builder dependencies(Dependencies dependencies) {
+      this.dependencies = dependencies;
+      return this;
+    }
+
     public Compiler build() {
       if (sourcePath == null) {
         throw new IllegalStateException("No null source path");
@@ -166,6 +175,7 @@ public class Compiler {
       if (processor != null) {
         compiler.addAnnotationProcessor(processor.get());
       }
+      compiler.dependencies = dependencies;
       return compiler;
     }
   }
@@ -191,6 +201,9 @@ public class Compiler {
   /** . */
   private CompilerConfig config;
 
+  /** The optional dependency graph updated with the compiled classes. */
+  private Dependencies dependencies;
+
   public Compiler(
     ReadFileSystem<?> sourcePath,
     ReadWriteFileSystem<?> output,
@@ -433,5 +446,30 @@ public class Compiler {
     if (!ok) {
       throw new CompilationException(errors);
     }
+
+    // Record the dependencies of the compiled classes
+    if (dependencies != null) {
+      record(classOutput, fileManager.classes);
+    }
+  }
+
+  private <P> void record(ReadFileSystem<P> fs, Collection<String> classNames) throws IOException {
+    for (String className : classNames) {
+      dependencies.remove(Dependencies.topLevel(className));
+    }
+    for (String className : classNames) {
+      String[] names = Tools.split(className, '.');
+      names[names.length - 1] += ".class";
+      P path = fs.getPath(names);
+      if (path != null) {
+        InputStream in = fs.getResource(path).getObject().getInputStream();
+        try {
+          dependencies.record(className, in);
+        }
+        finally {
+          Tools.safeClose(in);
+        }
+      }
+    }
   }
 }
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.compiler;
+
+import juzu.impl.common.Tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The dependency graph between the top level types produced by a compiler. The graph is built from the constant pool
+ * of the class files, so it is independent of the java compiler implementation. Constants inlined by the java
+ * compiler are not visible in the class file of the types using them and are not part of the graph, instead the
+ * types declaring a constant field are recorded so a change of such type can be handled by a full build. The hash
+ * of each class file is recorded as well.
+ *
+ * @author Julien Viet
+ */
+public class Dependencies {
+
+  /** The types referenced by each type. */
+  private final HashMap<String, Set<String>> references;
+
+  /** The class names of each type. */
+  private final HashMap<String, Set<String>> classes;
+
+  /** The hash of each class file. */
+  private final HashMap<String, Long> hashes;
+
+  /** The types declaring a constant field. */
+  private final HashSet<String> constants;
+
+  public Dependencies() {
+    this.references = new HashMap<String, Set<String>>();
+    this.classes = new HashMap<String, Set<String>>();
+    this.hashes = new HashMap<String, Long>();
+    this.constants = new HashSet<String>();
+  }
+
+  private Dependencies(Dependencies that) {
+    this.references = new HashMap<String, Set<String>>(that.references.size());
+    this.classes = new HashMap<String, Set<String>>(that.classes.size());
+    this.hashes = new HashMap<String, Long>(that.hashes);
+    this.constants = new HashSet<String>(that.constants);
+    for (Map.Entry<String, Set<String>> entry : that.references.entrySet()) {
+      references.put(entry.getKey(), new HashSet<String>(entry.getValue()));
+    }
+    for (Map.Entry<String, Set<String>> entry : that.classes.entrySet()) {
+      classes.put(entry.getKey(), new HashSet<String>(entry.getValue()));
+    }
+  }
+
+  /**
+   * Returns a copy of this graph.
+   *
+   * @return the copy
+   */
+  public Dependencies copy() {
+    return new Dependencies(this);
+  }
+
+  /**
+   * Returns the recorded types.
+   *
+   * @return the types
+   */
+  public Set<String> getTypes() {
+    return references.keySet();
+  }
+
+  /**
+   * Returns the types referenced by a type.
+   *
+   * @param type the type name
+   * @return the referenced types or null if the type is not recorded
+   */
+  public Set<String> getReferences(String type) {
+    return references.get(type);
+  }
+
+  /**
+   * Returns true when a class of a type declares a constant field, i.e a field with a compile time constant value
+   * that the java compiler inlines in the types using it.
+   *
+   * @param type the type name
+   * @return true when the type declares a constant
+   */
+  public boolean hasConstants(String type) {
+    return constants.contains(type);
+  }
+
+  /**
+   * Returns the binary names of the recorded classes.
+   *
+   * @return the class names
+   */
+  public Set<String> getClasses() {
+    return hashes.keySet();
+  }
+
+  /**
+   * Returns the hash of a class file.
+   *
+   * @param className the class binary name
+   * @return the hash or null if the class is not recorded
+   */
+  public Long getHash(String className) {
+    return hashes.get(className);
+  }
+
+  /**
+   * Removes a type and its classes from the graph.
+   *
+   * @param type the type name
+   */
+  public void remove(String type) {
+    references.remove(type);
+    constants.remove(type);
+    Set<String> removed = classes.remove(type);
+    if (removed != null) {
+      hashes.keySet().removeAll(removed);
+    }
+  }
+
+  /**
+   * Computes the types that depends on the specified types. The direct dependents are always returned, the
+   * dependents of a dependent are only followed when the <code>transitive</code> collection contains the dependent.
+   * This allows to traverse types generated by annotation processors that are never compiled directly.
+   *
+   * @param types the types
+   * @param transitive the types to traverse
+   * @return the dependents
+   */
+  public Set<String> getDependents(Collection<String> types, Collection<String> transitive) {
+    HashMap<String, Set<String>> reverse = new HashMap<String, Set<String>>();
+    for (Map.Entry<String, Set<String>> entry : references.entrySet()) {
+      for (String reference : entry.getValue()) {
+        Set<String> dependents = reverse.get(reference);
+        if (dependents == null) {
+          reverse.put(reference, dependents = new HashSet<String>());
+        }
+        dependents.add(entry.getKey());
+      }
+    }
+    HashSet<String> dependents = new HashSet<String>();
+    LinkedList<String> stack = new LinkedList<String>(types);
+    while (stack.size() > 0) {
+      Set<String> direct = reverse.get(stack.removeFirst());
+      if (direct != null) {
+        for (String dependent : direct) {
+          if (!types.contains(dependent) && dependents.add(dependent) && transitive.contains(dependent)) {
+            stack.addLast(dependent);
+          }
+        }
+      }
+    }
+    return dependents;
+  }
+
+  /**
+   * Record the references and the hash of a class file, the references of a nested class are recorded for its top
+   * level type.
+   *
+   * @param className the class binary name
+   * @param in the class file
+   * @throws IOException any io exception
+   */
+  public void record(String className, InputStream in) throws IOException {
+    String type = topLevel(className);
+    Set<String> types = references.get(type);
+    if (types == null) {
+      references.put(type, types = new HashSet<String>());
+    }
+    Set<String> names = classes.get(type);
+    if (names == null) {
+      classes.put(type, names = new HashSet<String>());
+    }
+    byte[] bytes = Tools.bytes(in);
+    names.add(className);
+    hashes.put(className, Tools.md5(bytes));
+    ArrayList<String> parsed = new ArrayList<String>();
+    if (parse(new ByteArrayInputStream(bytes), parsed)) {
+      constants.add(type);
+    }
+    for (String reference : parsed) {
+      reference = topLevel(reference.replace('/', '.'));
+      if (!reference.equals(type)) {
+        types.add(reference);
+      }
+    }
+  }
+
+  /**
+   * Returns the top level type name of a class binary name.
+   *
+   * @param className the class binary name
+   * @return the top level type name
+   */
+  public static String topLevel(String className) {
+    int pos = className.indexOf('$');
+    return pos == -1 ? className : className.substring(0, pos);
+  }
+
+  /**
+   * Parse the internal names of the types referenced by the constant pool of a class file. The class entries are
+   * retained as well as the types found in descriptors and signatures. The fields are then scanned for a
+   * <code>ConstantValue</code> attribute.
+   *
+   * @return true when a field declares a constant value
+   */
+  private static boolean parse(InputStream in, Collection<String> types) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != 0xCAFEBABE) {
+      throw new IOException("Not a class file");
+    }
+    data.readUnsignedShort();
+    data.readUnsignedShort();
+    int count = data.readUnsignedShort();
+    String[] utf8 = new String[count];
+    int[] classes = new int[count];
+    int classCount = 0;
+    for (int i = 1;i < count;i++) {
+      int tag = data.readUnsignedByte();
+      switch (tag) {
+        case 1:
+          utf8[i] = data.readUTF();
+          break;
+        case 7:
+          classes[classCount++] = data.readUnsignedShort();
+          break;
+        case 8:
+        case 16:
+        case 19:
+        case 20:
+          data.skipBytes(2);
+          break;
+        case 15:
+          data.skipBytes(3);
+          break;
+        case 3:
+        case 4:
+        case 9:
+        case 10:
+        case 11:
+        case 12:
+        case 17:
+        case 18:
+          data.skipBytes(4);
+          break;
+        case 5:
+        case 6:
+          data.skipBytes(8);
+          i++;
+          break;
+        default:
+          throw new IOException("Invalid constant pool tag " + tag);
+      }
+    }
+
+    //
+    for (int i = 0;i < classCount;i++) {
+      String name = utf8[classes[i]];
+      if (name != null) {
+        if (name.startsWith("[")) {
+          descriptor(name, types);
+        } else {
+          types.add(name);
+        }
+      }
+    }
+    for (String s : utf8) {
+      if (s != null && s.indexOf(';') != -1) {
+        descriptor(s, types);
+      }
+    }
+
+    // Skip access flags, this class, super class and interfaces
+    data.skipBytes(6);
+    data.skipBytes(2 * data.readUnsignedShort());
+
+    //
+    boolean constant = false;
+    int fieldCount = data.readUnsignedShort();
+    for (int i = 0;i < fieldCount;i++) {
+      data.skipBytes(6);
+      int attributeCount = data.readUnsignedShort();
+      for (int j = 0;j < attributeCount;j++) {
+        String name = utf8[data.readUnsignedShort()];
+        int length = data.readInt();
+        if ("ConstantValue".equals(name)) {
+          constant = true;
+        }
+        data.skipBytes(length);
+      }
+    }
+    return constant;
+  }
+
+  /**
+   * Collect the object types of a descriptor or a signature.
+   */
+  private static void descriptor(String s, Collection<String> types) {
+    int len = s.length();
+    for (int i = 0;i < len;i++) {
+      if (s.charAt(i) == 'L') {
+        int to = i + 1;
+        while (to < len) {
+          char c = s.charAt(to);
+          if (c == ';' || c == '<') {
+            break;
+          } else if (c == '(' || c == ')' || c == ' ' || c == '.') {
+            to = -1;
+            break;
+          }
+          to++;
+        }
+        if (to > i + 1 && to < len) {
+          types.add(s.substring(i + 1, to));
+          i = to;
+        }
+      }
+    }
+  }
+}
@@ -37,6 +37,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
@@ -54,6 +55,9 @@ class VirtualFileManager extends ForwardingJavaFileManager<JavaFileManager> impl
   /** . */
   final SimpleFileManager<?> sourceOutput;
 
+  /** The binary names of the classes written to the class output. */
+  final LinkedHashSet<String> classes = new LinkedHashSet<String>();
+
   public VirtualFileManager(
     JavaFileManager fileManager,
     ReadFileSystem<?> sourcePath,
@@ -210,6 +214,9 @@ class VirtualFileManager extends ForwardingJavaFileManager<JavaFileManager> impl
   public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind, FileObject sibling) throws IOException {
     FileManager files = getFiles(location);
     if (files != null) {
+      if (location == StandardLocation.CLASS_OUTPUT && kind == JavaFileObject.Kind.CLASS) {
+        classes.add(className);
+      }
       FileKey key = FileKey.newJavaName(className, kind);
       return files.getWritable(key);
     }
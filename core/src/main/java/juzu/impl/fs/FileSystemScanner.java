@@ -13,19 +13,36 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package juzu.impl.fs;
 
 import juzu.impl.common.Resource;
 import juzu.impl.fs.spi.ReadFileSystem;
 import juzu.impl.common.Tools;
 
+import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
-public abstract class FileSystemScanner<P> implements Filter<P> {
+public abstract class FileSystemScanner<P> implements Filter<P>, Closeable {
 
   public static <P> FileSystemScanner<P> createTimestamped(ReadFileSystem<P> fs) {
     return new Timestamped<P>(fs);
@@ -35,13 +52,36 @@ public abstract class FileSystemScanner<P> implements Filter<P> {
     return new Hash<P>(fs);
   }
 
+  /**
+   * Create a scanner watching the file system for changes when it is backed by a disk directory, otherwise
+   * a hashing scanner is returned.
+   *
+   * @param fs the file system
+   * @return the scanner
+   */
+  public static <P> FileSystemScanner<P> createWatching(ReadFileSystem<P> fs) {
+    try {
+      File root = fs.getFile(fs.getRoot());
+      if (root != null && root.isDirectory()) {
+        return new Watching<P>(fs, root);
+      }
+    }
+    catch (IOException ignore) {
+      // Fallback on hashing
+    }
+    catch (UnsupportedOperationException ignore) {
+      // Fallback on hashing
+    }
+    return new Hash<P>(fs);
+  }
+
   public static class Timestamped<P> extends FileSystemScanner<P> {
     public Timestamped(ReadFileSystem<P> fs) {
       super(fs);
     }
 
     @Override
-    protected long stampOf(P file) throws IOException {
+    protected long stampOf(String id, P file) throws IOException {
       return fs.getLastModified(file);
     }
 
@@ -51,17 +91,39 @@ public abstract class FileSystemScanner<P> implements Filter<P> {
     }
   }
 
+  /**
+   * Stamps files with the hash of their content. A file is hashed again only when its last modification
+   * time changes or when it was hashed too close to its last modification to trust the timestamp.
+   */
   public static class Hash<P> extends FileSystemScanner<P> {
+
+    /** The time window during which a last modification time may not reflect a change of the content. */
+    private static final long RACY = 2000;
+
+    /** Last modification and hash per id, a negative last modification means the hash must be computed again. */
+    private final HashMap<String, long[]> hashes = new HashMap<String, long[]>();
+
     public Hash(ReadFileSystem<P> fs) {
       super(fs);
     }
 
     @Override
-    protected long stampOf(P file) throws IOException {
-      juzu.impl.common.Timestamped<Resource> resource = fs.getResource(file);
-      InputStream in = resource.getObject().getInputStream();
-      byte[] bytes = Tools.bytes(in);
-      return Tools.md5(bytes);
+    protected long stampOf(String id, P file) throws IOException {
+      long lastModified = fs.getLastModified(file);
+      long[] hash = hashes.get(id);
+      if (hash == null || hash[0] < 0 || hash[0] != lastModified) {
+        long now = System.currentTimeMillis();
+        juzu.impl.common.Timestamped<Resource> resource = fs.getResource(file);
+        InputStream in = resource.getObject().getInputStream();
+        byte[] bytes = Tools.bytes(in);
+        hashes.put(id, hash = new long[]{lastModified + RACY < now ? lastModified : -1, Tools.md5(bytes)});
+      }
+      return hash[1];
+    }
+
+    @Override
+    protected void discard(String id) {
+      hashes.remove(id);
     }
 
     @Override
@@ -70,6 +132,174 @@ public abstract class FileSystemScanner<P> implements Filter<P> {
     }
   }
 
+  /**
+   * A hashing scanner that watches a disk directory with a {@link WatchService} so a scan only stamps the
+   * paths modified since the previous snapshot. A scan never waits for events, the events received while
+   * a snapshot is used are reported together by its next scan.
+   */
+  public static class Watching<P> extends Hash<P> {
+
+    /** . */
+    private final Path root;
+
+    /** . */
+    private final WatchService service;
+
+    /** The watched directories. */
+    private final ConcurrentHashMap<Path, WatchKey> watched = new ConcurrentHashMap<Path, WatchKey>();
+
+    /** The sequence of the last event per dirty id. */
+    private final HashMap<String, Long> dirty = new HashMap<String, Long>();
+
+    /** The last event sequence. */
+    private long sequence;
+
+    /** The sequence of the last event that requires to traverse the file system. */
+    private long traverse;
+
+    /** The dirty ids up to this sequence were pruned. */
+    private long pruned;
+
+
+    public Watching(ReadFileSystem<P> fs, File root) throws IOException {
+      super(fs);
+
+      //
+      this.root = root.toPath();
+      this.service = FileSystems.getDefault().newWatchService();
+
+      //
+      Thread thread = new Thread(new Watcher(service, this), "Juzu watcher " + root.getAbsolutePath());
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    @Override
+    public boolean acceptDir(P dir, String name) throws IOException {
+      if (super.acceptDir(dir, name)) {
+        File file = fs.getFile(dir);
+        if (file != null) {
+          Path path = file.toPath();
+          if (!watched.containsKey(path)) {
+            try {
+              watched.put(path, path.register(
+                  service,
+                  StandardWatchEventKinds.ENTRY_CREATE,
+                  StandardWatchEventKinds.ENTRY_MODIFY,
+                  StandardWatchEventKinds.ENTRY_DELETE));
+            }
+            catch (ClosedWatchServiceException ignore) {
+              // Closed
+            }
+          }
+        }
+        return true;
+      } else {
+        return false;
+      }
+    }
+
+    @Override
+    synchronized Collection<String> getDirty(Snapshot<P> current, Snapshot<P> next) {
+      next.sequence = sequence;
+      TreeSet<String> ids = current.sequence < 0 || current.sequence < traverse || current.sequence < pruned ? null : new TreeSet<String>();
+
+      // The ids dirty before the current snapshot are not needed anymore
+      if (current.sequence >= pruned) {
+        for (Iterator<Map.Entry<String, Long>> i = dirty.entrySet().iterator();i.hasNext();) {
+          Map.Entry<String, Long> entry = i.next();
+          if (entry.getValue() > current.sequence) {
+            if (ids != null) {
+              ids.add(entry.getKey());
+            }
+          } else {
+            i.remove();
+          }
+        }
+        pruned = current.sequence;
+      }
+
+      //
+      return ids;
+    }
+
+    private void onEvent(Path dir, WatchEvent<?> event) {
+      WatchEvent.Kind<?> kind = event.kind();
+      synchronized (this) {
+        sequence++;
+        if (kind == StandardWatchEventKinds.OVERFLOW) {
+          traverse = sequence;
+        } else {
+          Path path = dir.resolve((Path)event.context());
+          if (kind == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+            // A new directory needs to be registered and its content discovered
+            traverse = sequence;
+          } else if (kind == StandardWatchEventKinds.ENTRY_DELETE && watched.remove(path) != null) {
+            traverse = sequence;
+          } else {
+            StringBuilder id = new StringBuilder();
+            for (Path name : root.relativize(path)) {
+              id.append('/').append(name);
+            }
+            dirty.put(id.toString(), sequence);
+          }
+        }
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      service.close();
+    }
+  }
+
+  /**
+   * Consumes the events of a watch service, the scanner is weakly referenced so the thread ends when the
+   * scanner is not used anymore.
+   */
+  private static class Watcher implements Runnable {
+
+    /** . */
+    private final WatchService service;
+
+    /** . */
+    private final WeakReference<Watching<?>> scanner;
+
+    private Watcher(WatchService service, Watching<?> scanner) {
+      this.service = service;
+      this.scanner = new WeakReference<Watching<?>>(scanner);
+    }
+
+    public void run() {
+      try {
+        while (scanner.get() != null) {
+          WatchKey key = service.poll(1, TimeUnit.SECONDS);
+          if (key != null) {
+            Watching<?> watching = scanner.get();
+            if (watching != null) {
+              Path dir = (Path)key.watchable();
+              for (WatchEvent<?> event : key.pollEvents()) {
+                watching.onEvent(dir, event);
+              }
+              if (!key.reset()) {
+                watching.watched.remove(dir);
+              }
+            }
+          }
+        }
+      }
+      catch (InterruptedException ignore) {
+        // Stop
+      }
+      catch (ClosedWatchServiceException ignore) {
+        // Stop
+      }
+      finally {
+        Tools.safeClose(service);
+      }
+    }
+  }
+
   /** . */
   protected final ReadFileSystem<P> fs;
 
@@ -96,7 +326,52 @@ public abstract class FileSystemScanner<P> implements Filter<P> {
     return !name.startsWith(".");
   }
 
-  protected abstract long stampOf(P file) throws IOException;
+  public void close() throws IOException {
+  }
+
+  /**
+   * Returns the ids of the paths that may have changed since the current snapshot was taken or null when
+   * the file system must be traversed.
+   *
+   * @param current the current snapshot
+   * @param next the next snapshot
+   * @return the dirty ids
+   */
+  Collection<String> getDirty(Snapshot<P> current, Snapshot<P> next) {
+    return null;
+  }
+
+  /**
+   * Resolves the file for an id when it exists and is accepted by this scanner.
+   *
+   * @param id the id
+   * @return the file or null
+   * @throws IOException any io exception
+   */
+  P resolve(String id) throws IOException {
+    P path = fs.getRoot();
+    String[] names = Tools.split(id.substring(1), '/');
+    for (int i = 0;i < names.length;i++) {
+      String name = names[i];
+      path = fs.isDir(path) ? fs.getChild(path, name) : null;
+      if (path == null) {
+        return null;
+      } else if (i < names.length - 1 ? !(fs.isDir(path) && acceptDir(path, name)) : !(fs.isFile(path) && acceptFile(path, name))) {
+        return null;
+      }
+    }
+    return path;
+  }
+
+  protected abstract long stampOf(String id, P file) throws IOException;
+
+  /**
+   * Discard the state kept for a removed id.
+   *
+   * @param id the id
+   */
+  protected void discard(String id) {
+  }
 
   protected abstract boolean isModified(long snapshot, long current);
 
@@ -20,6 +20,7 @@ import juzu.impl.fs.spi.ReadFileSystem;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -33,9 +34,13 @@ public class Snapshot<P> extends HashMap<String, Long> {
   /** Changes since previous snapshot. */
   Map<String, Change> changes;
 
+  /** The scanner sequence this snapshot reflects, a negative value when the file system was not scanned. */
+  long sequence;
+
   public Snapshot(FileSystemScanner<P> scanner) {
     this.scanner = scanner;
     this.changes = new LinkedHashMap<String, Change>();
+    this.sequence = -1;
   }
 
   public boolean hasChanges() {
@@ -60,6 +65,32 @@ public class Snapshot<P> extends HashMap<String, Long> {
     // Create a new snapshot
     final Snapshot<P> next = new Snapshot<P>(scanner);
 
+    // Only stamp the paths known to be dirty when the scanner can tell
+    Collection<String> dirty = scanner.getDirty(current, next);
+    if (dirty != null) {
+      next.putAll(current);
+      for (String id : dirty) {
+        P file = scanner.resolve(id);
+        Long data = current.get(id);
+        if (file == null) {
+          if (data != null) {
+            next.remove(id);
+            next.changes.put(id, Change.REMOVE);
+            scanner.discard(id);
+          }
+        } else {
+          long stamp = scanner.stampOf(id, file);
+          next.put(id, stamp);
+          if (data == null) {
+            next.changes.put(id, Change.ADD);
+          } else if (scanner.isModified(data, stamp)) {
+            next.changes.put(id, Change.UPDATE);
+          }
+        }
+      }
+      return next;
+    }
+
     // Traverse map
     fs.traverse(scanner, new Visitor<P>() {
 
@@ -68,10 +99,10 @@ public class Snapshot<P> extends HashMap<String, Long> {
       }
 
       public void file(P file, String name) throws IOException {
-        long stamp = scanner.stampOf(file);
         stack.add(name);
         String id = Tools.join('/', stack);
         stack.remove(stack.size() - 1);
+        long stamp = scanner.stampOf(id, file);
         next.put(id, stamp);
 
         //
@@ -95,6 +126,7 @@ public class Snapshot<P> extends HashMap<String, Long> {
     for (String id : current.keySet()) {
       if (!next.containsKey(id)) {
         next.changes.put(id, Change.REMOVE);
+        scanner.discard(id);
       }
     }
 
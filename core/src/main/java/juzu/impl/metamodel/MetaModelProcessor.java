@@ -21,7 +21,6 @@ import juzu.impl.compiler.BaseProcessor;
 import juzu.impl.compiler.MessageCode;
 import juzu.impl.compiler.ProcessingContext;
 import juzu.impl.common.Logger;
-import juzu.impl.common.Tools;
 
 import javax.annotation.Generated;
 import javax.annotation.processing.Completion;
@@ -32,9 +31,6 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
-import java.io.InputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -64,23 +60,18 @@ public abstract class MetaModelProcessor<P extends MetaModelPlugin<M, P>, M exte
 
     // Try to get state or create new one
     if (state == null) {
-      InputStream in = null;
+      long time = System.currentTimeMillis();
       try {
         FileObject file = getContext().getResource(StandardLocation.SOURCE_OUTPUT, "juzu", "metamodel.ser");
-        in = file.openInputStream();
-        ObjectInputStream ois = new ObjectInputStream(in);
-        state = (MetaModelState<P, M>)ois.readObject();
-        log.info("Loaded model from " + file.toUri());
+        state = (MetaModelState<P, M>)MetaModelState.read(file.openInputStream());
+        log.info("Loaded model from " + file.toUri() + " in " + (System.currentTimeMillis() - time) + "ms");
       }
       catch (Exception e) {
-        log.info("Created new meta model");
+        log.info("Created new meta model: " + e.getMessage());
         MetaModelState<P, M> metaModel = new MetaModelState<P, M>(getPluginType(), createMetaModel());
         metaModel.init(getContext());
         state = metaModel;
       }
-      finally {
-        Tools.safeClose(in);
-      }
     }
 
     //
@@ -106,23 +97,22 @@ public abstract class MetaModelProcessor<P extends MetaModelPlugin<M, P>, M exte
 
         //
         log.info("Passivating model");
+        long time = System.currentTimeMillis();
         state.metaModel.prePassivate();
+        log.info("Passivated model in " + (System.currentTimeMillis() - time) + "ms");
 
         // Passivate model
-        ObjectOutputStream out = null;
+        time = System.currentTimeMillis();
         try {
           FileObject file = getContext().createResource(StandardLocation.SOURCE_OUTPUT, "juzu", "metamodel.ser");
-          out = new ObjectOutputStream(file.openOutputStream());
-          out.writeObject(state);
+          state.write(file.openOutputStream());
           state = null;
+          log.info("Saved model to " + file.toUri() + " in " + (System.currentTimeMillis() - time) + "ms");
         }
         catch (Exception e) {
           e.printStackTrace();
           log.info("Could not passivate model ", e);
         }
-        finally {
-          Tools.safeClose(out);
-        }
       }
       else {
         log.info("Starting APT round #" + index);
@@ -130,7 +120,9 @@ public abstract class MetaModelProcessor<P extends MetaModelPlugin<M, P>, M exte
         //
         if (index == 0) {
           log.info("Activating model");
+          long time = System.currentTimeMillis();
           state.metaModel.postActivate(getContext());
+          log.info("Activated model in " + (System.currentTimeMillis() - time) + "ms");
         }
 
         //
@@ -18,11 +18,48 @@ package juzu.impl.metamodel;
 
 import juzu.impl.compiler.ProcessingContext;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 
-/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+/**
+ * The state of a meta model persisted between builds as the Java serialization of the state through buffered
+ * streams, a state that cannot be read is replaced by a new meta model. The state is always read as a whole:
+ * activation walks the entire meta model and the templates are emitted again on every build, so an explicit per
+ * object format loading subtrees lazily would read the same objects.
+ *
+ * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
+ */
 public class MetaModelState<P extends MetaModelPlugin<M, P>, M extends MetaModel<P, M>> implements Serializable {
 
+  /**
+   * Read a state, the stream is closed.
+   *
+   * @param in the stream
+   * @return the state
+   * @throws IOException when the stream cannot be read or does not contain a compatible state
+   * @throws ClassNotFoundException any class not found exception
+   */
+  public static MetaModelState<?, ?> read(InputStream in) throws IOException, ClassNotFoundException {
+    try {
+      ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(in));
+      try {
+        return (MetaModelState<?, ?>)ois.readObject();
+      }
+      finally {
+        ois.close();
+      }
+    }
+    finally {
+      in.close();
+    }
+  }
+
   /** . */
   final MetaModelContext<P, M> context;
 
@@ -34,6 +71,27 @@ public class MetaModelState<P extends MetaModelPlugin<M, P>, M extends MetaModel
     this.metaModel = metaModel;
   }
 
+  /**
+   * Write this state, the stream is closed.
+   *
+   * @param out the stream
+   * @throws IOException any io exception
+   */
+  public void write(OutputStream out) throws IOException {
+    try {
+      ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(out));
+      try {
+        oos.writeObject(this);
+      }
+      finally {
+        oos.close();
+      }
+    }
+    finally {
+      out.close();
+    }
+  }
+
   void init(ProcessingContext env) {
     context.init(env);
     context.add(metaModel);
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.metrics;
+
+/**
+ * A counter counts the occurrences of an event, it can also track a level such as the depth of a queue
+ * by being incremented with a negative delta.
+ *
+ * @author Julien Viet
+ */
+public interface Counter {
+
+  /** The counter that does nothing. */
+  Counter NONE = new Counter() {
+    public void inc(long delta) {
+    }
+  };
+
+  /**
+   * Increment the counter.
+   *
+   * @param delta the increment, it can be negative
+   */
+  void inc(long delta);
+
+}
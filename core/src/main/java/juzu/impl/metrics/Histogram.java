@@ -0,0 +1,145 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A concurrent histogram of positive values recorded in log-linear buckets in the spirit of HdrHistogram: values
+ * lower than {@link #SUB_BUCKETS} have their own bucket, larger values are grouped in buckets whose width doubles
+ * with each power of two. The relative error of a reported value is therefore bounded by
+ * <code>2 / SUB_BUCKETS</code> whatever the range of the recorded values, and the memory used is constant.</p>
+ *
+ * @author Julien Viet
+ */
+public class Histogram {
+
+  /** . */
+  private static final int SUB_BITS = 5;
+
+  /** The number of buckets for the lowest values. */
+  public static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+  /** . */
+  private static final int HALF = SUB_BUCKETS >> 1;
+
+  /** . */
+  private static final int SIZE = SUB_BUCKETS + (63 - SUB_BITS) * HALF;
+
+  /** . */
+  private final AtomicLongArray buckets = new AtomicLongArray(SIZE);
+
+  /** . */
+  private final AtomicLong count = new AtomicLong();
+
+  /** . */
+  private final AtomicLong sum = new AtomicLong();
+
+  /** . */
+  private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+  /** . */
+  private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+  static int indexOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int)value;
+    } else {
+      int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BITS - 1);
+      int sub = (int)(value >>> shift);
+      return SUB_BUCKETS + (shift - 1) * HALF + (sub - HALF);
+    }
+  }
+
+  static long highestValueOf(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    } else {
+      int shift = (index - SUB_BUCKETS) / HALF + 1;
+      long sub = (index - SUB_BUCKETS) % HALF + HALF;
+      return ((sub + 1) << shift) - 1;
+    }
+  }
+
+  /**
+   * Record a value, negative values are recorded as zero.
+   *
+   * @param value the value
+   */
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    buckets.incrementAndGet(indexOf(value));
+    count.incrementAndGet();
+    sum.addAndGet(value);
+    for (long current = min.get();value < current && !min.compareAndSet(current, value);current = min.get()) {
+      // Retry
+    }
+    for (long current = max.get();value > current && !max.compareAndSet(current, value);current = max.get()) {
+      // Retry
+    }
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public long getSum() {
+    return sum.get();
+  }
+
+  public long getMin() {
+    return count.get() > 0 ? min.get() : 0;
+  }
+
+  public long getMax() {
+    return count.get() > 0 ? max.get() : 0;
+  }
+
+  public double getMean() {
+    long count = this.count.get();
+    return count > 0 ? (double)sum.get() / count : 0;
+  }
+
+  /**
+   * Returns the value below which the specified percentage of the recorded values fall, the returned value is the
+   * highest value of the bucket containing it and never more than the max recorded value.
+   *
+   * @param percentile the percentile between 0 and 100
+   * @return the value at percentile
+   * @throws IllegalArgumentException if the percentile is out of range
+   */
+  public long getValueAtPercentile(double percentile) throws IllegalArgumentException {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile " + percentile + " is not between 0 and 100");
+    }
+    long count = this.count.get();
+    if (count == 0) {
+      return 0;
+    }
+    long target = Math.max(1, (long)Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int i = 0;i < SIZE;i++) {
+      seen += buckets.get(i);
+      if (seen >= target) {
+        return Math.min(highestValueOf(i), getMax());
+      }
+    }
+    return getMax();
+  }
+}
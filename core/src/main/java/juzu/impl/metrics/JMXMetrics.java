@@ -0,0 +1,149 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory metrics exported as MBeans of the platform MBean server, each timer and counter is registered when it
+ * is created with the name <code>juzu:application=</code><i>application</i><code>,type=timer|counter,name=</code><i>name</i>.
+ *
+ * @author Julien Viet
+ */
+public class JMXMetrics extends MemoryMetrics {
+
+  /** The attributes of a timer, durations are expressed in microseconds. */
+  public interface TimerMBean {
+
+    long getCount();
+
+    double getMean();
+
+    long getMin();
+
+    long getMax();
+
+    long get50thPercentile();
+
+    long get90thPercentile();
+
+    long get99thPercentile();
+
+  }
+
+  /** The attributes of a counter. */
+  public interface CounterMBean {
+
+    long getCount();
+
+  }
+
+  /** . */
+  private final MBeanServer server;
+
+  /** . */
+  private final String application;
+
+  /** . */
+  private final CopyOnWriteArrayList<ObjectName> names = new CopyOnWriteArrayList<ObjectName>();
+
+  public JMXMetrics(String application) {
+    this(ManagementFactory.getPlatformMBeanServer(), application);
+  }
+
+  public JMXMetrics(MBeanServer server, String application) {
+    this.server = server;
+    this.application = application != null ? application : "juzu";
+  }
+
+  public ObjectName getObjectName(String type, String name) throws JMException {
+    return new ObjectName("juzu:application=" + ObjectName.quote(application) + ",type=" + type + ",name=" + ObjectName.quote(name));
+  }
+
+  @Override
+  protected void created(final MemoryTimer timer) {
+    final Histogram histogram = timer.getHistogram();
+    register("timer", timer.getName(), new StandardMBean(new TimerMBean() {
+      public long getCount() {
+        return histogram.getCount();
+      }
+      public double getMean() {
+        return histogram.getMean() / 1000;
+      }
+      public long getMin() {
+        return TimeUnit.NANOSECONDS.toMicros(histogram.getMin());
+      }
+      public long getMax() {
+        return TimeUnit.NANOSECONDS.toMicros(histogram.getMax());
+      }
+      public long get50thPercentile() {
+        return TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(50));
+      }
+      public long get90thPercentile() {
+        return TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(90));
+      }
+      public long get99thPercentile() {
+        return TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(99));
+      }
+    }, TimerMBean.class, false));
+  }
+
+  @Override
+  protected void created(final MemoryCounter counter) {
+    register("counter", counter.getName(), new StandardMBean(new CounterMBean() {
+      public long getCount() {
+        return counter.getCount();
+      }
+    }, CounterMBean.class, false));
+  }
+
+  private void register(String type, String name, StandardMBean mbean) {
+    try {
+      ObjectName objectName = getObjectName(type, name);
+      try {
+        server.registerMBean(mbean, objectName);
+      }
+      catch (InstanceAlreadyExistsException e) {
+        // Left over by a previous instance of the application
+        server.unregisterMBean(objectName);
+        server.registerMBean(mbean, objectName);
+      }
+      names.add(objectName);
+    }
+    catch (JMException ignore) {
+      // The metric is still collected but not exported
+    }
+  }
+
+  @Override
+  public void close() {
+    for (ObjectName name : names) {
+      try {
+        server.unregisterMBean(name);
+      }
+      catch (JMException ignore) {
+      }
+    }
+    names.clear();
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics kept in memory, timers record their durations in a {@link Histogram}.
+ *
+ * @author Julien Viet
+ */
+public class MemoryMetrics extends Metrics {
+
+  /** . */
+  private final ConcurrentMap<String, MemoryTimer> timers = new ConcurrentHashMap<String, MemoryTimer>();
+
+  /** . */
+  private final ConcurrentMap<String, MemoryCounter> counters = new ConcurrentHashMap<String, MemoryCounter>();
+
+  @Override
+  public MemoryTimer getTimer(String name) {
+    MemoryTimer timer = timers.get(name);
+    if (timer == null) {
+      timer = new MemoryTimer(name);
+      MemoryTimer existing = timers.putIfAbsent(name, timer);
+      if (existing != null) {
+        timer = existing;
+      } else {
+        created(timer);
+      }
+    }
+    return timer;
+  }
+
+  @Override
+  public MemoryCounter getCounter(String name) {
+    MemoryCounter counter = counters.get(name);
+    if (counter == null) {
+      counter = new MemoryCounter(name);
+      MemoryCounter existing = counters.putIfAbsent(name, counter);
+      if (existing != null) {
+        counter = existing;
+      } else {
+        created(counter);
+      }
+    }
+    return counter;
+  }
+
+  /**
+   * Returns the timers created so far sorted by name.
+   *
+   * @return the timers
+   */
+  public Map<String, MemoryTimer> getTimers() {
+    return Collections.unmodifiableMap(new TreeMap<String, MemoryTimer>(timers));
+  }
+
+  /**
+   * Returns the counters created so far sorted by name.
+   *
+   * @return the counters
+   */
+  public Map<String, MemoryCounter> getCounters() {
+    return Collections.unmodifiableMap(new TreeMap<String, MemoryCounter>(counters));
+  }
+
+  /**
+   * Callback for subclasses when a timer is created.
+   *
+   * @param timer the created timer
+   */
+  protected void created(MemoryTimer timer) {
+  }
+
+  /**
+   * Callback for subclasses when a counter is created.
+   *
+   * @param counter the created counter
+   */
+  protected void created(MemoryCounter counter) {
+  }
+
+  public static class MemoryTimer implements Timer {
+
+    /** . */
+    private final String name;
+
+    /** . */
+    private final Histogram histogram = new Histogram();
+
+    MemoryTimer(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public Histogram getHistogram() {
+      return histogram;
+    }
+
+    public void update(long nanos) {
+      histogram.record(nanos);
+    }
+  }
+
+  public static class MemoryCounter implements Counter {
+
+    /** . */
+    private final String name;
+
+    /** . */
+    private final AtomicLong count = new AtomicLong();
+
+    MemoryCounter(String name) {
+      this.name = name;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public long getCount() {
+      return count.get();
+    }
+
+    public void inc(long delta) {
+      count.addAndGet(delta);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.metrics;
+
+import juzu.impl.common.Name;
+
+import java.io.Closeable;
+
+/**
+ * <p>The metrics of an application: named timers and counters updated by the request pipeline. The
+ * {@link #NONE} implementation is used by default, call sites check {@link #isEnabled()} before measuring
+ * anything so it does not cost more than a field read.</p>
+ *
+ * <p>The pipeline uses the following names:</p>
+ * <ul>
+ *   <li><code>router.handle</code> and <code>router.match</code>: the handling of a request by the web bridge and
+ *   the route matching part of it</li>
+ *   <li><code>stage.</code><i>name</i>: a request {@link juzu.impl.request.Stage} including its filters</li>
+ *   <li><code>controller.</code><i>handle</i>: the invocation of a controller handler and
+ *   <code>controller.</code><i>handle</i><code>.errors</code> the number of invocations that failed</li>
+ *   <li><code>template.</code><i>id</i>: the rendering of a template stub</li>
+ *   <li><code>response.stream</code>: the streaming of a response by the web bridge</li>
+ *   <li><code>asset.bundle.hits</code> and <code>asset.bundle.misses</code>: the asset bundle cache lookups</li>
+ *   <li><code>executor.</code><i>name</i>: the tasks of the request executor, see {@link juzu.impl.bridge.BridgeExecutor}</li>
+ * </ul>
+ *
+ * @author Julien Viet
+ */
+public abstract class Metrics implements Closeable {
+
+  /** The metrics that do nothing. */
+  public static final Metrics NONE = new Metrics() {
+    @Override
+    public boolean isEnabled() {
+      return false;
+    }
+    @Override
+    public Timer getTimer(String name) {
+      return Timer.NONE;
+    }
+    @Override
+    public Counter getCounter(String name) {
+      return Counter.NONE;
+    }
+  };
+
+  /**
+   * Create the metrics of an application from a configuration value: <code>none</code> for no metrics,
+   * <code>memory</code> for {@link MemoryMetrics}, <code>jmx</code> for {@link JMXMetrics} or the name of
+   * a {@link Metrics} subclass having a public no arg constructor.
+   *
+   * @param value the configuration value
+   * @param application the application name
+   * @param loader the loader for custom implementations
+   * @return the metrics
+   * @throws Exception any exception that would prevent to create the metrics
+   */
+  public static Metrics create(String value, Name application, ClassLoader loader) throws Exception {
+    if (value == null) {
+      return NONE;
+    }
+    value = value.trim();
+    if (value.length() == 0 || value.equalsIgnoreCase("none")) {
+      return NONE;
+    } else if (value.equalsIgnoreCase("memory")) {
+      return new MemoryMetrics();
+    } else if (value.equalsIgnoreCase("jmx")) {
+      return new JMXMetrics(application != null ? application.toString() : null);
+    } else {
+      Class<?> type = loader.loadClass(value);
+      return type.asSubclass(Metrics.class).newInstance();
+    }
+  }
+
+  /**
+   * Returns true when metrics are collected.
+   *
+   * @return true when metrics are collected
+   */
+  public boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * Returns the timer with the specified name, the same timer is returned for the same name.
+   *
+   * @param name the timer name
+   * @return the timer
+   */
+  public abstract Timer getTimer(String name);
+
+  /**
+   * Returns the counter with the specified name, the same counter is returned for the same name.
+   *
+   * @param name the counter name
+   * @return the counter
+   */
+  public abstract Counter getCounter(String name);
+
+  /**
+   * Release the resources held by the metrics.
+   */
+  public void close() {
+  }
+}
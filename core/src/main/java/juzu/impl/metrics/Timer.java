@@ -0,0 +1,38 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.metrics;
+
+/**
+ * A timer records the durations of an operation.
+ *
+ * @author Julien Viet
+ */
+public interface Timer {
+
+  /** The timer that does nothing. */
+  Timer NONE = new Timer() {
+    public void update(long nanos) {
+    }
+  };
+
+  /**
+   * Record a duration.
+   *
+   * @param nanos the duration in nanoseconds
+   */
+  void update(long nanos);
+
+}
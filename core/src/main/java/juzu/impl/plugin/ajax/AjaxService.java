@@ -39,13 +39,32 @@ import javax.inject.Inject;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class AjaxService extends ApplicationService implements RequestFilter<Stage.Unmarshalling> {
 
+  /** The maximum number of cached fragments, one per distinct set of handler urls. */
+  private static final int MAX_FRAGMENTS = 64;
+
+  /** The ajax script asset, shared by all responses. */
+  private static final Chunk.Property<String> ASSET = new Chunk.Property<String>("juzu.ajax", PropertyType.ASSET);
+
+  /** The closing tag, shared by all responses. */
+  private static final Chunk.Data CLOSE = Chunk.create("</div>");
+
   /** . */
   Map<String, ControllerHandler> table;
 
+  /** The ajax handlers in fragment order. */
+  private ControllerHandler[] handlers;
+
+  /** The bootstrap fragment when there are no ajax handlers. */
+  private Chunk.Data emptyFragment;
+
+  /** The bootstrap fragments keyed by the urls of the ajax handlers. */
+  private final ConcurrentHashMap<String, Chunk.Data> fragments = new ConcurrentHashMap<String, Chunk.Data>();
+
   @Inject
   ControllerService controllerPlugin;
 
@@ -93,6 +112,51 @@ public class AjaxService extends ApplicationService implements RequestFilter<Sta
 
     //
     this.table = table;
+    this.handlers = table.values().toArray(new ControllerHandler[table.size()]);
+    this.emptyFragment = Chunk.create("<div class=\"jz\">\n");
+  }
+
+  /**
+   * Returns the bootstrap fragment for the current request. The urls of all the handlers are rendered and used as
+   * the key, since the urls of different phases do not necessarily vary together (a portal can add a per session
+   * token to action urls only), the fragment is created once for each distinct set of urls.
+   *
+   * @param request the current request
+   * @return the fragment chunk
+   */
+  private Chunk.Data getFragment(Request request) {
+    if (handlers.length == 0) {
+      return emptyFragment;
+    }
+    String[] urls = new String[handlers.length];
+    StringBuilder key = new StringBuilder();
+    for (int i = 0;i < handlers.length;i++) {
+      urls[i] = request.createDispatch(handlers[i]).toString();
+      key.append(urls[i]).append('\n');
+    }
+    Chunk.Data fragment = fragments.get(key.toString());
+    if (fragment == null) {
+      // FOR NOW WE DO WITH THE METHOD NAME
+      // BUT THAT SHOULD BE REVISED TO USE THE ID INSTEAD
+      StringBuilder sb = new StringBuilder();
+      sb.append("<div class=\"jz\">\n");
+      for (int i = 0;i < handlers.length;i++) {
+        sb.append("<div data-method-id=\"");
+        sb.append(handlers[i].getId());
+        sb.append("\" data-url=\"");
+        sb.append(urls[i]);
+        sb.append("\"/>");
+        sb.append("</div>");
+      }
+      fragment = Chunk.create(sb.toString());
+      if (fragments.size() < MAX_FRAGMENTS) {
+        Chunk.Data previous = fragments.putIfAbsent(key.toString(), fragment);
+        if (previous != null) {
+          fragment = previous;
+        }
+      }
+    }
+    return fragment;
   }
 
   @Override
@@ -117,26 +181,13 @@ public class AjaxService extends ApplicationService implements RequestFilter<Sta
               public void provide(Chunk chunk) {
                 if (chunk instanceof Chunk.Data && !done) {
                   done = true;
-                  stream.provide(new Chunk.Property<String>("juzu.ajax", PropertyType.ASSET));
-                  // FOR NOW WE DO WITH THE METHOD NAME
-                  // BUT THAT SHOULD BE REVISED TO USE THE ID INSTEAD
-                  StringBuilder sb = new StringBuilder();
-                  sb.append("<div class=\"jz\">\n");
-                  for (Map.Entry<String, ControllerHandler> entry : table.entrySet()) {
-                    String baseURL = request.createDispatch(entry.getValue()).toString();
-                    sb.append("<div data-method-id=\"");
-                    sb.append(entry.getValue().getId());
-                    sb.append("\" data-url=\"");
-                    sb.append(baseURL);
-                    sb.append("\"/>");
-                    sb.append("</div>");
-                  }
-                  stream.provide(Chunk.create(sb));
+                  stream.provide(ASSET);
+                  stream.provide(getFragment(request));
                 }
                 stream.provide(chunk);
               }
               public void close(Thread.UncaughtExceptionHandler errorHandler) {
-                stream.provide(Chunk.create("</div>"));
+                stream.provide(CLOSE);
                 stream.close(errorHandler);
               }
             };
@@ -22,6 +22,7 @@ import juzu.impl.common.JSON;
 import juzu.impl.common.Tools;
 import juzu.impl.inject.BeanDescriptor;
 import juzu.impl.inject.spi.Injector;
+import juzu.impl.metrics.Metrics;
 import juzu.impl.plugin.Service;
 import juzu.impl.plugin.ServiceContext;
 import juzu.impl.plugin.ServiceDescriptor;
@@ -61,7 +62,15 @@ public class Application implements ResourceResolver {
   /** . */
   private final ClassLoader classLoader;
 
+  /** . */
+  private final Metrics metrics;
+
   public Application(Injector injector, ApplicationDescriptor descriptor, ResourceResolver resourceResolver) {
+    this(injector, descriptor, resourceResolver, Metrics.NONE);
+  }
+
+  public Application(Injector injector, ApplicationDescriptor descriptor, ResourceResolver resourceResolver, Metrics metrics) {
+    this.metrics = metrics;
     this.classLoader = descriptor.getApplicationLoader();
     this.injectionContext = null;
     this.descriptor = descriptor;
@@ -159,6 +168,9 @@ public class Application implements ResourceResolver {
     // Bind ourself
     injector.bindBean(Application.class, null, this);
 
+    // Bind the metrics
+    injector.bindBean(Metrics.class, null, metrics);
+
     // Bind the scopes
     for (Scope scope : Scope.values()) {
       injector.addScope(scope);
@@ -212,6 +224,10 @@ public class Application implements ResourceResolver {
     return descriptor.getName();
   }
 
+  public Metrics getMetrics() {
+    return metrics;
+  }
+
   public ClassLoader getClassLoader() {
     return injectionContext.getClassLoader();
   }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.plugin.application.metamodel;
+
+import juzu.impl.common.JSON;
+import juzu.impl.compiler.ElementHandle;
+import juzu.impl.compiler.ProcessingContext;
+import juzu.impl.metamodel.AnnotationKey;
+import juzu.impl.metamodel.AnnotationState;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Set;
+
+/**
+ * A plugin emitting its configuration from an annotation of the application package.
+ *
+ * @author Julien Viet
+ */
+public abstract class PackageConfigMetaModelPlugin extends ApplicationMetaModelPlugin {
+
+  /** . */
+  private final Class<? extends Annotation> annotationType;
+
+  /** . */
+  private final HashMap<ElementHandle.Package, JSON> configs = new HashMap<ElementHandle.Package, JSON>();
+
+  protected PackageConfigMetaModelPlugin(String name, Class<? extends Annotation> annotationType) {
+    super(name);
+
+    //
+    this.annotationType = annotationType;
+  }
+
+  /**
+   * Create the plugin configuration from the package annotation.
+   *
+   * @param annotation the annotation
+   * @return the configuration
+   */
+  protected abstract JSON getConfig(AnnotationState annotation);
+
+  @Override
+  public Set<Class<? extends Annotation>> init(ProcessingContext env) {
+    return Collections.<Class<? extends Annotation>>singleton(annotationType);
+  }
+
+  @Override
+  public void processAnnotationAdded(ApplicationMetaModel metaModel, AnnotationKey key, AnnotationState added) {
+    ElementHandle.Package handle = metaModel.getHandle();
+    if (key.getElement().equals(handle)) {
+      configs.put(handle, getConfig(added));
+    }
+  }
+
+  @Override
+  public void processAnnotationRemoved(ApplicationMetaModel metaModel, AnnotationKey key, AnnotationState removed) {
+    ElementHandle.Package handle = metaModel.getHandle();
+    if (key.getElement().equals(handle)) {
+      configs.remove(handle);
+    }
+  }
+
+  @Override
+  public void destroy(ApplicationMetaModel application) {
+    configs.remove(application.getHandle());
+  }
+
+  @Override
+  public JSON getDescriptor(ApplicationMetaModel application) {
+    return configs.get(application.getHandle());
+  }
+}
@@ -17,6 +17,7 @@ package juzu.impl.plugin.asset;
 
 import juzu.asset.AssetLocation;
 import juzu.impl.common.JSON;
+import juzu.impl.compiler.BuildCache;
 import juzu.impl.compiler.ElementHandle;
 import juzu.plugin.asset.Minifier;
 
@@ -25,6 +26,7 @@ import java.io.InputStream;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URLConnection;
+import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -194,34 +196,71 @@ public class Asset implements Serializable {
    * @return the effective resource stream
    */
   public InputStream open(String source, URLConnection resource) throws IOException {
-    InputStream in = resource.getInputStream();
-    if (source.equals(key.value)) {
-      return in;
-    } else {
-      if (minifiersTypes.size() > 0) {
-
-        // Get the minifiers first
-        List<Minifier> minifiers = new ArrayList<Minifier>(minifiersTypes.size());
-        for (ElementHandle.Type minifierType : minifiersTypes) {
-          try {
-            Class<? extends Minifier> minifierClass = (Class<? extends Minifier>)Asset.class.getClassLoader().loadClass(minifierType.getName().toString());
-            Minifier minifier = minifierClass.newInstance();
-            minifiers.add(minifier);
-          }
-          catch (InstantiationException e) {
-            throw new IOException(e.getMessage(), e.getCause());
-          }
-          catch (Exception e) {
-            throw new IOException(e);
-          }
-        }
-
-        // Now transform
-        for (Minifier minifier : minifiers) {
-          in = minifier.minify(source, type, in);
-        }
+    return open(source, resource.getInputStream());
+  }
+
+  /**
+   * Process the content of the asset resource.
+   *
+   * @param source the source
+   * @param in the resource content
+   * @return the effective resource stream
+   */
+  public InputStream open(String source, InputStream in) throws IOException {
+    if (!source.equals(key.value)) {
+      for (Minifier minifier : getMinifiers()) {
+        in = minifier.minify(source, type, in);
       }
     }
     return in;
   }
+
+  /**
+   * Returns true when the source is produced by the minifiers of this asset.
+   *
+   * @param source the source
+   * @return true when the source is minified
+   */
+  public boolean isMinified(String source) {
+    return !source.equals(key.value) && minifiersTypes.size() > 0;
+  }
+
+  /**
+   * Returns the key of a minified source in a {@link BuildCache}, the key is computed from the source content and
+   * the minifiers and their code source since the minification depends on them alone.
+   *
+   * @param source the source
+   * @param content the source content
+   * @return the cache key
+   */
+  public String getCacheKey(String source, byte[] content) throws IOException {
+    ArrayList<Object> parts = new ArrayList<Object>();
+    parts.add(type);
+    parts.add(source);
+    for (Minifier minifier : getMinifiers()) {
+      parts.add(minifier.getClass().getName());
+      CodeSource codeSource = minifier.getClass().getProtectionDomain().getCodeSource();
+      parts.add(codeSource != null ? codeSource.getLocation() : null);
+    }
+    parts.add(content);
+    return BuildCache.key(parts.toArray());
+  }
+
+  private List<Minifier> getMinifiers() throws IOException {
+    List<Minifier> minifiers = new ArrayList<Minifier>(minifiersTypes.size());
+    for (ElementHandle.Type minifierType : minifiersTypes) {
+      try {
+        Class<? extends Minifier> minifierClass = (Class<? extends Minifier>)Asset.class.getClassLoader().loadClass(minifierType.getName().toString());
+        Minifier minifier = minifierClass.newInstance();
+        minifiers.add(minifier);
+      }
+      catch (InstantiationException e) {
+        throw new IOException(e.getMessage(), e.getCause());
+      }
+      catch (Exception e) {
+        throw new IOException(e);
+      }
+    }
+    return minifiers;
+  }
 }
@@ -19,6 +19,8 @@ package juzu.impl.plugin.asset;
 import juzu.asset.AssetLocation;
 import juzu.impl.common.Name;
 import juzu.impl.common.Tools;
+import juzu.impl.compiler.BaseProcessor;
+import juzu.impl.compiler.BuildCache;
 import juzu.impl.compiler.CompilationException;
 import juzu.impl.compiler.ElementHandle;
 import juzu.impl.compiler.MessageCode;
@@ -33,8 +35,8 @@ import juzu.plugin.asset.Stylesheets;
 
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
@@ -48,6 +50,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class AssetMetaModelPlugin extends ApplicationMetaModelPlugin {
@@ -185,10 +188,9 @@ public class AssetMetaModelPlugin extends ApplicationMetaModelPlugin {
       }
       bilta.putAll(assetMetaMode.getResources());
 
-      // Process all resources
+      // Determine the resources to process, the processing context is not thread safe
+      ArrayList<Process> tasks = new ArrayList<Process>();
       for (Map.Entry<String, URL> entry : bilta.entrySet()) {
-        InputStream in = null;
-        OutputStream out = null;
         try {
           URL src = entry.getValue();
           URLConnection conn = src.openConnection();
@@ -196,14 +198,7 @@ public class AssetMetaModelPlugin extends ApplicationMetaModelPlugin {
           if (dst == null || dst.getLastModified() < conn.getLastModified()) {
             dst = context.createResource(StandardLocation.CLASS_OUTPUT, qn, entry.getKey(), context.get(metaModel.getHandle()));
             context.info("Copying asset from source path " + src + " to class output " + dst.toUri());
-            Asset r = bilto.get(entry.getValue());
-            if (r != null) {
-              in = r.open(entry.getKey(), conn);
-            } else {
-              in = conn.getInputStream();
-            }
-            out = dst.openOutputStream();
-            Tools.copy(in, out);
+            tasks.add(new Process(entry.getKey(), conn, bilto.get(src), dst));
           } else {
             context.info("Found up to date related asset in class output for " + src);
           }
@@ -211,11 +206,96 @@ public class AssetMetaModelPlugin extends ApplicationMetaModelPlugin {
         catch (IOException e) {
           throw CANNOT_PROCESS_ASSET.failure(entry.getKey(), e.getMessage());
         }
-        finally {
-          Tools.safeClose(in);
-          Tools.safeClose(out);
+      }
+
+      // Process the resources concurrently and write them in order
+      if (tasks.size() > 0) {
+        Process first = tasks.get(0);
+        BuildCache cache = BuildCache.create(context, first.dst, qn, first.source);
+        for (Process task : tasks) {
+          task.cache = cache;
+        }
+        for (Process task : BaseProcessor.invokeAll(tasks)) {
+          OutputStream out = null;
+          try {
+            if (task.failure != null) {
+              throw task.failure;
+            }
+            if (task.cached) {
+              context.info("Found processed asset " + task.source + " in build cache " + cache.getDirectory());
+            }
+            out = task.dst.openOutputStream();
+            out.write(task.content);
+          }
+          catch (IOException e) {
+            throw CANNOT_PROCESS_ASSET.failure(task.source, e.getMessage());
+          }
+          finally {
+            Tools.safeClose(out);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * The processing of an asset resource.
+   */
+  private static class Process implements Callable<Process> {
+
+    /** . */
+    final String source;
+
+    /** . */
+    final URLConnection conn;
+
+    /** The asset or null for a related resource. */
+    final Asset asset;
+
+    /** . */
+    final FileObject dst;
+
+    /** . */
+    BuildCache cache;
+
+    /** . */
+    byte[] content;
+
+    /** . */
+    boolean cached;
+
+    /** . */
+    IOException failure;
+
+    Process(String source, URLConnection conn, Asset asset, FileObject dst) {
+      this.source = source;
+      this.conn = conn;
+      this.asset = asset;
+      this.dst = dst;
+    }
+
+    public Process call() {
+      try {
+        if (asset == null) {
+          content = Tools.bytes(conn.getInputStream());
+        } else if (cache != null && asset.isMinified(source)) {
+          byte[] bytes = Tools.bytes(conn.getInputStream());
+          String key = asset.getCacheKey(source, bytes);
+          content = cache.get(key);
+          if (content != null) {
+            cached = true;
+          } else {
+            content = Tools.bytes(asset.open(source, new ByteArrayInputStream(bytes)));
+            cache.put(key, content);
+          }
+        } else {
+          content = Tools.bytes(asset.open(source, conn));
         }
       }
+      catch (IOException e) {
+        failure = e;
+      }
+      return this;
     }
   }
 
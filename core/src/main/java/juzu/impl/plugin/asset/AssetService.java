@@ -27,6 +27,8 @@ import juzu.impl.plugin.ServiceDescriptor;
 import juzu.impl.asset.AssetManager;
 import juzu.impl.asset.AssetMetaData;
 import juzu.impl.plugin.application.ApplicationService;
+import juzu.impl.plugin.controller.ControllerService;
+import juzu.impl.request.ControllerHandler;
 import juzu.impl.request.Request;
 import juzu.impl.request.RequestFilter;
 import juzu.impl.common.JSON;
@@ -45,6 +47,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 
@@ -54,6 +57,9 @@ public class AssetService extends ApplicationService implements RequestFilter<St
   /** . */
   private LinkedHashMap<String, Chunk.Property<String>> assets;
 
+  /** The assets of each controller handler, resolved once at startup. */
+  private IdentityHashMap<ControllerHandler<?>, Chunk.Property<String>[]> handlerAssets;
+
   /** . */
   private AssetDescriptor descriptor;
 
@@ -67,6 +73,10 @@ public class AssetService extends ApplicationService implements RequestFilter<St
   @Inject
   AssetManager assetManager;
 
+  /** . */
+  @Inject
+  ControllerService controllerPlugin;
+
   public AssetService() {
     super("asset");
   }
@@ -155,6 +165,35 @@ public class AssetService extends ApplicationService implements RequestFilter<St
   @PostConstruct
   public void start() throws Exception {
     this.assets = process(descriptor.getAssets());
+
+    //
+    IdentityHashMap<ControllerHandler<?>, Chunk.Property<String>[]> handlerAssets = new IdentityHashMap<ControllerHandler<?>, Chunk.Property<String>[]>();
+    for (ControllerHandler<?> handler : controllerPlugin.getDescriptor().getHandlers()) {
+      Collection<Chunk.Property<String>> resolved = foo(handler.getMethod(), Collections.<Chunk.Property<String>>emptyList());
+      if (resolved.size() > 0) {
+        handlerAssets.put(handler, resolved.toArray(new Chunk.Property[resolved.size()]));
+      }
+    }
+    this.handlerAssets = handlerAssets;
+  }
+
+  /**
+   * Returns the ids of the assets declared by a controller handler, they are known before the controller is invoked.
+   *
+   * @param handler the controller handler
+   * @return the asset ids
+   */
+  public List<String> getAssets(ControllerHandler<?> handler) {
+    Chunk.Property<String>[] declared = handlerAssets.get(handler);
+    if (declared != null) {
+      ArrayList<String> ids = new ArrayList<String>(declared.length);
+      for (Chunk.Property<String> asset : declared) {
+        ids.add(asset.value);
+      }
+      return ids;
+    } else {
+      return Collections.emptyList();
+    }
   }
 
   public URL resolve(AssetLocation location, String path) {
@@ -260,7 +299,7 @@ public class AssetService extends ApplicationService implements RequestFilter<St
         pkgName = Tools.parentPackageOf(classElt.getName());
       }
       while (pkgName != null) {
-        Class<?> currentPackage = Tools.getPackageClass(Thread.currentThread().getContextClassLoader(), pkgName);
+        Class<?> currentPackage = Tools.getPackageClass(application.getApplicationLoader(), pkgName);
         if (currentPackage != null) {
           return foo(currentPackage, bar);
         } else {
@@ -284,9 +323,9 @@ public class AssetService extends ApplicationService implements RequestFilter<St
     Request request = argument.getRequest();
     if (request.getPhase() == Phase.VIEW) {
       if (result instanceof Response.Content) {
-        final Collection<Chunk.Property<String>> bar = foo(request.getHandler().getMethod(), Collections.<Chunk.Property<String>>emptyList());
-        Response.Status status = (Response.Status)result;
-        if ((bar.size() > 0)) {
+        final Chunk.Property<String>[] bar = handlerAssets.get(request.getHandler());
+        if (bar != null) {
+          Response.Status status = (Response.Status)result;
           status = new Response.Content(status.getCode(), new StreamableDecorator(status.streamable()) {
             @Override
             protected void sendHeader(Stream consumer) {
@@ -16,14 +16,19 @@
 
 package juzu.impl.plugin.controller;
 
+import juzu.impl.common.Tools;
 import juzu.request.Phase;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Controller method resolution algorithm.
@@ -50,6 +55,12 @@ public abstract class ControllerResolver<M> {
   // todo : take in account multi valued parameters
   // todo : what happens with type conversion, somehow we should forbid m(String a) and m(int a)
 
+  /** The maximum number of memoized resolutions. */
+  private static final int MAX_RESOLUTIONS = 1024;
+
+  /** The lazily built index. */
+  private volatile Index index;
+
   public abstract M[] getHandlers();
 
   public abstract String getId(M method);
@@ -66,6 +77,253 @@ public abstract class ControllerResolver<M> {
 
   public abstract Collection<String> getParameterNames(M method);
 
+  /**
+   * The resolution index, it is computed once from the handlers and retains the candidates of each resolution
+   * filter as well as the parameter names of each handler as a bitset over all the known parameter names.
+   */
+  private class Index {
+
+    /** . */
+    final M[] handlers;
+
+    /** The bit of each known parameter name. */
+    final HashMap<String, Integer> names = new HashMap<String, Integer>();
+
+    /** The parameter names bitset of each handler. */
+    final BitSet[] parameters;
+
+    /** The number of parameters of each handler. */
+    final int[] sizes;
+
+    /** The default handler flags. */
+    final boolean[] defaults;
+
+    /** The candidates by phase. */
+    final HashMap<Phase, int[]> byPhase = new HashMap<Phase, int[]>();
+
+    /** The candidates of {@link #resolve(Phase, Set)} by phase. */
+    final HashMap<Phase, int[]> byIndex = new HashMap<Phase, int[]>();
+
+    /** The candidates by phase and id. */
+    final HashMap<Phase, HashMap<String, int[]>> byId = new HashMap<Phase, HashMap<String, int[]>>();
+
+    /** The memoized resolutions. */
+    final ConcurrentHashMap<Key, Resolution> resolutions = new ConcurrentHashMap<Key, Resolution>();
+
+    Index() {
+      M[] handlers = getHandlers();
+      this.handlers = handlers;
+      this.parameters = new BitSet[handlers.length];
+      this.sizes = new int[handlers.length];
+      this.defaults = new boolean[handlers.length];
+
+      //
+      HashMap<Phase, List<Integer>> byPhase = new HashMap<Phase, List<Integer>>();
+      HashMap<Phase, List<Integer>> byIndex = new HashMap<Phase, List<Integer>>();
+      HashMap<Phase, HashMap<String, List<Integer>>> byId = new HashMap<Phase, HashMap<String, List<Integer>>>();
+      for (int i = 0;i < handlers.length;i++) {
+        M handler = handlers[i];
+        BitSet bits = new BitSet();
+        Collection<String> parameterNames = getParameterNames(handler);
+        for (String parameterName : parameterNames) {
+          Integer bit = names.get(parameterName);
+          if (bit == null) {
+            names.put(parameterName, bit = names.size());
+          }
+          bits.set(bit);
+        }
+        parameters[i] = bits;
+        sizes[i] = bits.cardinality();
+        defaults[i] = isDefault(handler);
+
+        //
+        Phase phase = getPhase(handler);
+        add(byPhase, phase, i);
+        if (phase != Phase.VIEW || getName(handler).equals("index")) {
+          add(byIndex, phase, i);
+        }
+        HashMap<String, List<Integer>> ids = byId.get(phase);
+        if (ids == null) {
+          byId.put(phase, ids = new HashMap<String, List<Integer>>());
+        }
+        List<Integer> candidates = ids.get(getId(handler));
+        if (candidates == null) {
+          ids.put(getId(handler), candidates = new ArrayList<Integer>());
+        }
+        candidates.add(i);
+      }
+
+      //
+      for (Map.Entry<Phase, List<Integer>> entry : byPhase.entrySet()) {
+        this.byPhase.put(entry.getKey(), toArray(entry.getValue()));
+      }
+      for (Map.Entry<Phase, List<Integer>> entry : byIndex.entrySet()) {
+        this.byIndex.put(entry.getKey(), toArray(entry.getValue()));
+      }
+      for (Map.Entry<Phase, HashMap<String, List<Integer>>> entry : byId.entrySet()) {
+        HashMap<String, int[]> ids = new HashMap<String, int[]>();
+        for (Map.Entry<String, List<Integer>> id : entry.getValue().entrySet()) {
+          ids.put(id.getKey(), toArray(id.getValue()));
+        }
+        this.byId.put(entry.getKey(), ids);
+      }
+    }
+
+    int[] candidates(Phase phase, String methodId) {
+      int[] candidates;
+      if (methodId == null) {
+        candidates = byPhase.get(phase);
+      } else {
+        HashMap<String, int[]> ids = byId.get(phase);
+        candidates = ids != null ? ids.get(methodId) : null;
+      }
+      return candidates != null ? candidates : NO_CANDIDATES;
+    }
+
+    Match match(int handler, BitSet requested, int size) {
+      // The number of matched parameters
+      BitSet a = (BitSet)parameters[handler].clone();
+      a.and(requested);
+      int matched = a.cardinality();
+      return new Match(
+          handlers[handler],
+          matched,
+          sizes[handler] - matched,
+          size - matched,
+          defaults[handler] ? 0 : 1);
+    }
+
+    BitSet bits(Set<String> parameterNames) {
+      BitSet bits = new BitSet(names.size());
+      for (String parameterName : parameterNames) {
+        Integer bit = names.get(parameterName);
+        if (bit != null) {
+          bits.set(bit);
+        }
+      }
+      return bits;
+    }
+
+    M select(Phase phase, String methodId, boolean index, Set<String> parameterNames) throws AmbiguousResolutionException {
+      Key key = new Key(phase, methodId, index, parameterNames);
+      Resolution resolution = resolutions.get(key);
+      if (resolution == null) {
+        int[] candidates = index ? byIndex.get(phase) : candidates(phase, methodId);
+        List<Match> matches;
+        if (candidates == null || candidates.length == 0) {
+          matches = Collections.emptyList();
+        } else {
+          BitSet requested = bits(parameterNames);
+          matches = new ArrayList<Match>(candidates.length);
+          for (int candidate : candidates) {
+            matches.add(match(candidate, requested, parameterNames.size()));
+          }
+        }
+        try {
+          resolution = new Resolution(ControllerResolver.this.select(matches), null);
+        }
+        catch (AmbiguousResolutionException e) {
+          resolution = new Resolution(null, e.getMessage());
+        }
+        if (resolutions.size() < MAX_RESOLUTIONS) {
+          resolutions.putIfAbsent(new Key(phase, methodId, index, new HashSet<String>(parameterNames)), resolution);
+        }
+      }
+      if (resolution.ambiguity != null) {
+        throw new AmbiguousResolutionException(resolution.ambiguity);
+      }
+      return resolution.handler;
+    }
+  }
+
+  /** . */
+  private static final int[] NO_CANDIDATES = new int[0];
+
+  private static void add(HashMap<Phase, List<Integer>> map, Phase phase, int handler) {
+    List<Integer> list = map.get(phase);
+    if (list == null) {
+      map.put(phase, list = new ArrayList<Integer>());
+    }
+    list.add(handler);
+  }
+
+  private static int[] toArray(List<Integer> list) {
+    int[] array = new int[list.size()];
+    for (int i = 0;i < array.length;i++) {
+      array[i] = list.get(i);
+    }
+    return array;
+  }
+
+  /** The memoization key of a resolution. */
+  private static class Key {
+
+    /** . */
+    final Phase phase;
+
+    /** . */
+    final String methodId;
+
+    /** . */
+    final boolean index;
+
+    /** . */
+    final Set<String> parameterNames;
+
+    Key(Phase phase, String methodId, boolean index, Set<String> parameterNames) {
+      this.phase = phase;
+      this.methodId = methodId;
+      this.index = index;
+      this.parameterNames = parameterNames;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = phase.hashCode() ^ parameterNames.hashCode();
+      if (methodId != null) {
+        hashCode = hashCode * 31 + methodId.hashCode();
+      }
+      return index ? hashCode + 1 : hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      } else if (obj instanceof Key) {
+        Key that = (Key)obj;
+        return phase == that.phase &&
+            index == that.index &&
+            Tools.safeEquals(methodId, that.methodId) &&
+            parameterNames.equals(that.parameterNames);
+      }
+      return false;
+    }
+  }
+
+  /** A memoized resolution, either a handler or an ambiguity. */
+  private class Resolution {
+
+    /** . */
+    final M handler;
+
+    /** . */
+    final String ambiguity;
+
+    Resolution(M handler, String ambiguity) {
+      this.handler = handler;
+      this.ambiguity = ambiguity;
+    }
+  }
+
+  private Index getIndex() {
+    Index index = this.index;
+    if (index == null) {
+      this.index = index = new Index();
+    }
+    return index;
+  }
+
   private class Match implements Comparable<Match> {
 
     /** . */
@@ -83,6 +341,14 @@ public abstract class ControllerResolver<M> {
     /** . */
     final int score4;
 
+    Match(M method, int score1, int score2, int score3, int score4) {
+      this.method = method;
+      this.score1 = score1;
+      this.score2 = score2;
+      this.score3 = score3;
+      this.score4 = score4;
+    }
+
     Match(Set<String> parameterNames, M method) {
       this.method = method;
 
@@ -141,21 +407,7 @@ public abstract class ControllerResolver<M> {
     }
 
     //
-    List<Match> matches = new ArrayList<Match>();
-    for (M method : getHandlers()) {
-      if (getPhase(method) == phase) {
-        if (phase == Phase.VIEW) {
-          if (getName(method).equals("index")) {
-            matches.add(new Match(parameterNames, method));
-          }
-        } else {
-          matches.add(new Match(parameterNames, method));
-        }
-      }
-    }
-
-    //
-    return select(matches);
+    return getIndex().select(phase, null, true, parameterNames);
   }
 
   /**
@@ -178,15 +430,7 @@ public abstract class ControllerResolver<M> {
     }
 
     //
-    List<Match> matches = new ArrayList<Match>();
-    for (M method : getHandlers()) {
-      if (getPhase(method) == phase && (methodId == null || methodId.equals(getId(method)))) {
-        matches.add(new Match(parameterNames, method));
-      }
-    }
-
-    //
-    return select(matches);
+    return getIndex().select(phase, methodId, false, parameterNames);
   }
 
   /**
@@ -209,11 +453,12 @@ public abstract class ControllerResolver<M> {
     }
 
     //
-    List<Match> matches = new ArrayList<Match>();
-    for (M method : getHandlers()) {
-      if (getPhase(method) == phase && (methodId == null || methodId.equals(getId(method)))) {
-        matches.add(new Match(parameterNames, method));
-      }
+    Index index = getIndex();
+    int[] candidates = index.candidates(phase, methodId);
+    BitSet requested = index.bits(parameterNames);
+    List<Match> matches = new ArrayList<Match>(candidates.length);
+    for (int candidate : candidates) {
+      matches.add(index.match(candidate, requested, parameterNames.size()));
     }
 
     //
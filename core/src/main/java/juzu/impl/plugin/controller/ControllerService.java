@@ -24,11 +24,13 @@ import juzu.impl.plugin.application.Application;
 import juzu.impl.request.ContextualParameter;
 import juzu.impl.request.ControlParameter;
 import juzu.impl.request.ControllerHandler;
+import juzu.impl.request.ExecutionFilter;
 import juzu.impl.value.ValueType;
 import juzu.request.Phase;
 import juzu.io.UndeclaredIOException;
 import juzu.impl.bridge.spi.RequestBridge;
 import juzu.impl.common.MethodHandle;
+import juzu.impl.inject.spi.BeanLifeCycle;
 import juzu.impl.inject.spi.InjectionContext;
 import juzu.impl.plugin.application.ApplicationService;
 import juzu.impl.plugin.controller.descriptor.ControllersDescriptor;
@@ -37,10 +39,12 @@ import juzu.request.RequestParameter;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class ControllerService extends ApplicationService {
@@ -55,6 +59,9 @@ public class ControllerService extends ApplicationService {
   @Inject
   private Application application;
 
+  /** The execution filter beans, resolved on first use. */
+  private volatile Iterable<BeanLifeCycle<ExecutionFilter>> executionFilters;
+
   public ControllerService() {
     super("controller");
   }
@@ -84,6 +91,39 @@ public class ControllerService extends ApplicationService {
     return application.getInjectionContext();
   }
 
+  /**
+   * Returns the execution filters of the application. The filter beans are resolved once, their instances are
+   * obtained on each call so the scope of a filter bean is honoured.
+   *
+   * @return the execution filters
+   */
+  public List<ExecutionFilter> getExecutionFilters() {
+    Iterable<BeanLifeCycle<ExecutionFilter>> beans = executionFilters;
+    if (beans == null) {
+      synchronized (this) {
+        beans = executionFilters;
+        if (beans == null) {
+          // Each iteration creates new life cycles of the beans resolved here
+          executionFilters = beans = application.getInjectionContext().resolve(ExecutionFilter.class);
+        }
+      }
+    }
+    List<ExecutionFilter> filters = Collections.emptyList();
+    for (BeanLifeCycle<ExecutionFilter> bean : beans) {
+      try {
+        ExecutionFilter filter = bean.get();
+        if (filters.isEmpty()) {
+          filters = new ArrayList<ExecutionFilter>();
+        }
+        filters.add(filter);
+      }
+      catch (InvocationTargetException e) {
+        // The filter is skipped as InjectionContext#resolveInstances does
+      }
+    }
+    return filters;
+  }
+
   public <T> ValueType<T> resolveValueType(Class<T> type) {
     for (int i = 0;i < valueTypes.size();i++) {
       ValueType<?> valueType = valueTypes.get(i);
@@ -24,6 +24,8 @@ import juzu.impl.plugin.application.metamodel.ApplicationMetaModel;
 import juzu.impl.metamodel.MetaModelObject;
 import juzu.impl.common.JSON;
 import juzu.impl.common.Path;
+import juzu.impl.common.Resource;
+import juzu.impl.common.Timestamped;
 import juzu.impl.template.spi.TemplateProvider;
 import juzu.template.TagHandler;
 
@@ -60,6 +62,9 @@ public abstract class AbstractContainerMetaModel extends MetaModelObject impleme
   /** . */
   final HashMap<Path.Absolute, TemplateMetaModel> templates;
 
+  /** The templates parsed ahead of their processing during a resolution. */
+  transient HashMap<Path.Absolute, MetaModelProcessContext.Parsed> parsed;
+
   public AbstractContainerMetaModel(Name name) {
     this.name = name;
     this.templates = new HashMap<Path.Absolute, TemplateMetaModel>();
@@ -143,27 +148,51 @@ public abstract class AbstractContainerMetaModel extends MetaModelObject impleme
   }
 
   void resolve() {
-    //
-    for (final TemplateMetaModel template : new ArrayList<TemplateMetaModel>(templates.values())) {
+
+    // Read the templates to resolve and parse them concurrently, the templates of a provider that is not concurrent
+    // are parsed when they are processed
+    ArrayList<TemplateMetaModel> unresolved = new ArrayList<TemplateMetaModel>();
+    ArrayList<MetaModelProcessContext.Parsed> tasks = new ArrayList<MetaModelProcessContext.Parsed>();
+    for (TemplateMetaModel template : templates.values()) {
       if (template.templateModel == null) {
-        Element[] elements = getElements(template);
-        application.getProcessingContext().executeWithin(elements[0], new Callable<Void>() {
-          public Void call() throws Exception {
-            MetaModelProcessContext processContext = new MetaModelProcessContext(AbstractContainerMetaModel.this, template);
-            processContext.resolve(template);
-            return null;
+        TemplateProvider<?> provider = resolveTemplateProvider(template.getPath().getExt());
+        if (provider != null && provider.isConcurrent()) {
+          Timestamped<Resource> resource = new MetaModelProcessContext(this, template).resolveResource(template.getPath());
+          if (resource != null) {
+            tasks.add(new MetaModelProcessContext.Parsed(template.getPath(), provider, resource));
           }
-        });
+        }
+        unresolved.add(template);
       }
     }
+    parsed = new HashMap<Path.Absolute, MetaModelProcessContext.Parsed>();
+    for (MetaModelProcessContext.Parsed result : BaseProcessor.invokeAll(tasks)) {
+      parsed.put(result.path, result);
+    }
+
+    // The processing resolves other templates and cannot be concurrent
+    try {
+      for (final TemplateMetaModel template : unresolved) {
+        if (template.templateModel == null) {
+          Element[] elements = getElements(template);
+          application.getProcessingContext().executeWithin(elements[0], new Callable<Void>() {
+            public Void call() throws Exception {
+              MetaModelProcessContext processContext = new MetaModelProcessContext(AbstractContainerMetaModel.this, template);
+              processContext.resolve(template);
+              return null;
+            }
+          });
+        }
+      }
+    }
+    finally {
+      parsed = null;
+    }
   }
 
   void emit() {
     // Generate missing files from template
-    for (TemplateMetaModel template : templates.values()) {
-      Element[] elements = getElements(template);
-      emitter.emit(template, elements);
-    }
+    emitter.emit(templates.values());
   }
 
   protected abstract Element[] getElements(TemplateMetaModel template);
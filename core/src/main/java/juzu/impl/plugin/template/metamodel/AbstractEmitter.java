@@ -31,9 +31,12 @@ import javax.tools.StandardLocation;
 import java.io.IOException;
 import java.io.Serializable;
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -69,52 +72,64 @@ abstract class AbstractEmitter implements Serializable {
     classCache.clear();
   }
 
-  void emit(TemplateMetaModel template, Element[] elements) {
-    TemplateProvider<?> provider = owner.resolveTemplateProvider(template.getPath().getExt());
-    resolvedQualified(provider, template, elements);
-    emitScript(template, provider, elements);
+  void emit(Collection<TemplateMetaModel> templates) {
+
+    // Emit the scripts of concurrent providers concurrently and the others on this thread, the resources are
+    // created afterwards in the order of the templates
+    ArrayList<Emission> tasks = new ArrayList<Emission>();
+    ArrayList<Emission> serial = new ArrayList<Emission>();
+    for (TemplateMetaModel template : templates) {
+      if (!emitted.contains(template.getPath())) {
+        TemplateProvider<?> provider = owner.resolveTemplateProvider(template.getPath().getExt());
+        (provider != null && provider.isConcurrent() ? tasks : serial).add(new Emission(template, provider));
+      }
+    }
+    HashMap<Path.Absolute, Emission> emissions = new HashMap<Path.Absolute, Emission>();
+    for (Emission emission : BaseProcessor.invokeAll(tasks)) {
+      emissions.put(emission.template.getPath(), emission);
+    }
+    for (Emission emission : serial) {
+      emissions.put(emission.template.getPath(), emission.call());
+    }
+
+    //
+    for (TemplateMetaModel template : templates) {
+      Element[] elements = owner.getElements(template);
+      TemplateProvider<?> provider = owner.resolveTemplateProvider(template.getPath().getExt());
+      resolvedQualified(provider, template, elements);
+      emitScript(template, emissions.get(template.getPath()), elements);
+    }
   }
 
-  private void emitScript(final TemplateMetaModel template, final TemplateProvider provider, final Element[] elements) {
+  private void emitScript(final TemplateMetaModel template, final Emission emission, final Element[] elements) {
     owner.application.getProcessingContext().executeWithin(elements[0], new Callable<Void>() {
       public Void call() throws Exception {
 
-        //
-        Path.Absolute path = template.getPath();
-
         // If it's the cache we do nothing
-        if (!emitted.contains(path)) {
+        if (emission != null) {
           //
           try {
-            EmitContext emitCtx = new EmitContext() {
-
-              @Override
-              public TagHandler resolveTagHandler(String name) {
-                return owner.resolveTagHandler(name);
+            if (emission.failure != null) {
+              throw emission.failure;
+            }
+            for (Map.Entry<Path.Absolute, String> resource : emission.resources.entrySet()) {
+              Path.Absolute path = resource.getKey();
+              FileKey key = FileKey.newName(path);
+              FileObject scriptFile = owner.application.getProcessingContext().createResource(StandardLocation.CLASS_OUTPUT, key, elements);
+              Writer writer = null;
+              try {
+                writer = scriptFile.openWriter();
+                writer.append(resource.getValue());
+                log.info("Generated template script " + path.getCanonical() + " as " + scriptFile.toUri() +
+                    " with originating elements " + Arrays.asList(elements));
               }
-
-              @Override
-              public void createResource(Path.Absolute path, CharSequence content) throws IOException {
-                FileKey key = FileKey.newName(path);
-                FileObject scriptFile = owner.application.getProcessingContext().createResource(StandardLocation.CLASS_OUTPUT, key, elements);
-                Writer writer = null;
-                try {
-                  writer = scriptFile.openWriter();
-                  writer.append(content);
-                  log.info("Generated template script " + path.getCanonical() + " as " + scriptFile.toUri() +
-                      " with originating elements " + Arrays.asList(elements));
-                }
-                finally {
-                  Tools.safeClose(writer);
-                }
+              finally {
+                Tools.safeClose(writer);
               }
-            };
-
-            //
-            provider.emit(emitCtx, template.templateModel);
+            }
 
             // Put it in cache
-            emitted.add(path);
+            emitted.add(template.getPath());
           }
           catch (Exception e) {
             throw TemplateMetaModel.CANNOT_WRITE_TEMPLATE_SCRIPT.failure(e, template.getPath());
@@ -128,6 +143,49 @@ abstract class AbstractEmitter implements Serializable {
     });
   }
 
+  /**
+   * The emission of a template script, the created resources are retained until they can be written.
+   */
+  private class Emission extends EmitContext implements Callable<Emission> {
+
+    /** . */
+    final TemplateMetaModel template;
+
+    /** . */
+    final TemplateProvider provider;
+
+    /** . */
+    final LinkedHashMap<Path.Absolute, String> resources = new LinkedHashMap<Path.Absolute, String>();
+
+    /** . */
+    Exception failure;
+
+    Emission(TemplateMetaModel template, TemplateProvider<?> provider) {
+      this.template = template;
+      this.provider = provider;
+    }
+
+    @Override
+    public TagHandler resolveTagHandler(String name) {
+      return owner.resolveTagHandler(name);
+    }
+
+    @Override
+    public void createResource(Path.Absolute path, CharSequence content) {
+      resources.put(path, content.toString());
+    }
+
+    public Emission call() {
+      try {
+        provider.emit(this, template.templateModel);
+      }
+      catch (Exception e) {
+        failure = e;
+      }
+      return this;
+    }
+  }
+
   protected abstract void emitClass(
       TemplateProvider<?> provider,
       TemplateMetaModel template,
@@ -35,10 +35,48 @@ import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 class MetaModelProcessContext extends ProcessContext {
 
+  /**
+   * A template parsed before it is processed.
+   */
+  static class Parsed implements Callable<Parsed> {
+
+    /** . */
+    final Path.Absolute path;
+
+    /** . */
+    final TemplateProvider<?> provider;
+
+    /** . */
+    final Timestamped<Resource> resource;
+
+    /** . */
+    Serializable model;
+
+    /** . */
+    TemplateException failure;
+
+    Parsed(Path.Absolute path, TemplateProvider<?> provider, Timestamped<Resource> resource) {
+      this.path = path;
+      this.provider = provider;
+      this.resource = resource;
+    }
+
+    public Parsed call() {
+      try {
+        model = provider.parse(new ParseContext(), resource.getObject().getCharSequence());
+      }
+      catch (TemplateException e) {
+        failure = e;
+      }
+      return this;
+    }
+  }
+
   /** . */
   private AbstractContainerMetaModel owner;
 
@@ -108,18 +146,19 @@ class MetaModelProcessContext extends ProcessContext {
     if (template instanceof TemplateMetaModel) {
       TemplateMetaModel tmm = (TemplateMetaModel)template;
       if (tmm.templateModel == null) {
-        Timestamped<Resource> resource = resolveResource(path);
+        Parsed parsed = owner.parsed != null ? owner.parsed.remove(path) : null;
+        Timestamped<Resource> resource = parsed != null ? parsed.resource : resolveResource(path);
         if (resource == null) {
           throw TemplateMetaModel.TEMPLATE_NOT_RESOLVED.failure(path);
         } else {
           TemplateProvider<M> provider = (TemplateProvider<M>)owner.resolveTemplateProvider(path.getExt());
-          M templateAST;
-          try {
-            templateAST = provider.parse(new ParseContext(), resource.getObject().getCharSequence());
+          if (parsed == null) {
+            parsed = new Parsed(path, provider, resource).call();
           }
-          catch (TemplateException e1) {
-            throw TemplateMetaModel.TEMPLATE_SYNTAX_ERROR.failure(path).initCause(e1);
+          if (parsed.failure != null) {
+            throw TemplateMetaModel.TEMPLATE_SYNTAX_ERROR.failure(path).initCause(parsed.failure);
           }
+          M templateAST = (M)parsed.model;
           TemplateModel<M> templateModel =  new TemplateModel<M>(
               templateAST,
               path,
@@ -32,6 +32,7 @@ import juzu.impl.plugin.application.Application;
 import juzu.impl.plugin.controller.ControllerService;
 import juzu.impl.plugin.controller.descriptor.ControllersDescriptor;
 import juzu.impl.value.ValueType;
+import juzu.impl.metrics.Metrics;
 import juzu.io.UndeclaredIOException;
 import juzu.request.ApplicationContext;
 import juzu.request.ClientContext;
@@ -49,6 +50,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
@@ -82,6 +84,9 @@ public class Request implements ScopingContext {
   /** . */
   final ControllerHandler<?> handler;
 
+  /** . */
+  final Metrics metrics;
+
   /** . */
   private Map<String, RequestParameter> parameterArguments;
 
@@ -97,6 +102,7 @@ public class Request implements ScopingContext {
     this.bridge = bridge;
     this.controllerPlugin = controllerPlugin;
     this.handler = handler;
+    this.metrics = controllerPlugin.getApplication().getMetrics();
     this.parameterArguments = new HashMap<String, RequestParameter>();
     this.contextualArguments = new HashMap<ContextualParameter, Object>();
   }
@@ -202,11 +208,11 @@ public class Request implements ScopingContext {
   }
 
   public Executor getExecutor() {
-    final Iterable<ExecutionFilter> filters = controllerPlugin.getInjectionContext().resolveInstances(ExecutionFilter.class);
+    final List<ExecutionFilter> filters = controllerPlugin.getExecutionFilters();
     return new Executor() {
       public void execute(Runnable command) {
-        for (ExecutionFilter filter : filters) {
-          command = filter.onCommand(command);
+        for (int i = 0;i < filters.size();i++) {
+          command = filters.get(i).onCommand(command);
         }
         Request.this.execute(command);
       }
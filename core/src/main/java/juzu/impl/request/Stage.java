@@ -21,6 +21,7 @@ import juzu.Response;
 import juzu.impl.common.Spliterator;
 import juzu.impl.common.Tools;
 import juzu.impl.inject.spi.InjectionContext;
+import juzu.impl.metrics.Metrics;
 import juzu.impl.value.ValueType;
 import juzu.io.Streamable;
 import juzu.request.ApplicationContext;
@@ -76,6 +77,20 @@ public abstract class Stage {
   }
 
   public Response invoke() {
+    if (index == 0 && request.metrics.isEnabled()) {
+      long begin = System.nanoTime();
+      try {
+        return proceed();
+      }
+      finally {
+        request.metrics.getTimer("stage." + getClass().getSimpleName()).update(System.nanoTime() - begin);
+      }
+    } else {
+      return proceed();
+    }
+  }
+
+  private Response proceed() {
     if (index >= 0 && index < filters.size()) {
       RequestFilter plugin = filters.get(index);
       try {
@@ -381,6 +396,28 @@ public abstract class Stage {
 
     @Override
     protected Response response() {
+      Metrics metrics = request.metrics;
+      if (metrics.isEnabled()) {
+        String name = "controller." + context.getHandler().getHandle();
+        long begin = System.nanoTime();
+        boolean failed = true;
+        try {
+          Response response = invokeHandler();
+          failed = response instanceof Response.Error;
+          return response;
+        }
+        finally {
+          metrics.getTimer(name).update(System.nanoTime() - begin);
+          if (failed) {
+            metrics.getCounter(name + ".errors").inc(1);
+          }
+        }
+      } else {
+        return invokeHandler();
+      }
+    }
+
+    private Response invokeHandler() {
       try {
         Object ret = context.getHandler().getMethod().invoke(controller, args);
 
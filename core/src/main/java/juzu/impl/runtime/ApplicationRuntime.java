@@ -27,6 +27,7 @@ import juzu.impl.inject.spi.BeanLifeCycle;
 import juzu.impl.inject.spi.InjectionContext;
 import juzu.impl.inject.spi.Injector;
 import juzu.impl.common.Logger;
+import juzu.impl.metrics.Metrics;
 import juzu.impl.plugin.application.Application;
 import juzu.impl.plugin.application.descriptor.ApplicationDescriptor;
 import juzu.impl.plugin.asset.AssetService;
@@ -78,6 +79,9 @@ public class ApplicationRuntime<P, R> implements Closeable {
   /** . */
   private final RunMode runMode;
 
+  /** Contextual: metrics. */
+  private final Metrics metrics;
+
   public ApplicationRuntime(
       Logger log,
       RunMode runMode,
@@ -86,6 +90,18 @@ public class ApplicationRuntime<P, R> implements Closeable {
       Name name,
       AssetServer assetServer,
       ResourceResolver resourceResolver) {
+    this(log, runMode, moduleLifeCycle, injectorProvider, name, assetServer, resourceResolver, Metrics.NONE);
+  }
+
+  public ApplicationRuntime(
+      Logger log,
+      RunMode runMode,
+      ModuleRuntime<?> moduleLifeCycle,
+      Injector injectorProvider,
+      Name name,
+      AssetServer assetServer,
+      ResourceResolver resourceResolver,
+      Metrics metrics) {
 
     //
     this.log = log;
@@ -95,6 +111,7 @@ public class ApplicationRuntime<P, R> implements Closeable {
     this.assetServer = assetServer;
     this.resourceResolver = resourceResolver;
     this.runMode = runMode;
+    this.metrics = metrics;
   }
 
   public Name getName() {
@@ -155,7 +172,7 @@ public class ApplicationRuntime<P, R> implements Closeable {
 
     //
     log.info("Starting " + descriptor.getName());
-    Application application = new Application(injector, descriptor, resourceResolver);
+    Application application = new Application(injector, descriptor, resourceResolver, metrics);
     application.start();
     InjectionContext<?, ?> injectionContext = application.getInjectionContext();
 
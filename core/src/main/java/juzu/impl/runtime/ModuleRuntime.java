@@ -20,8 +20,10 @@ import juzu.impl.common.Completion;
 import juzu.impl.common.LiveClassLoader;
 import juzu.impl.common.ParentJarClassLoader;
 import juzu.impl.common.Logger;
+import juzu.impl.common.Tools;
 import juzu.impl.compiler.*;
 import juzu.impl.compiler.Compiler;
+import juzu.impl.fs.Change;
 import juzu.impl.fs.FileSystemScanner;
 import juzu.impl.fs.Filter;
 import juzu.impl.fs.Snapshot;
@@ -30,15 +32,21 @@ import juzu.impl.fs.spi.ram.RAMFileSystem;
 import juzu.impl.fs.spi.url.URLFileSystem;
 import juzu.processor.MainProcessor;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.net.URL;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * The module life cycle.
  *
  * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
  */
-public abstract class ModuleRuntime<C> {
+public abstract class ModuleRuntime<C> implements Closeable {
 
   /** . */
   protected final Logger logger;
@@ -76,6 +84,12 @@ public abstract class ModuleRuntime<C> {
    */
   public abstract boolean isDynamic();
 
+  /**
+   * Release the resources held by the module.
+   */
+  public void close() {
+  }
+
   public static class Dynamic<S> extends ModuleRuntime<String[]> {
 
     /** . */
@@ -97,7 +111,13 @@ public abstract class ModuleRuntime<C> {
     private ClassLoader classPathLoader;
 
     /** . */
-    private ReadFileSystem<String[]> classes;
+    private RAMFileSystem classes;
+
+    /** The dependencies of the last successful build. */
+    private Dependencies dependencies;
+
+    /** The hash of the classes of the base class loader, null when the class does not exist. */
+    private final HashMap<String, Long> parentHashes = new HashMap<String, Long>();
 
     /** . */
     private boolean failed;
@@ -109,7 +129,7 @@ public abstract class ModuleRuntime<C> {
       this.classLoader = null;
       this.baseClassLoader = baseClassLoader;
       this.classPathLoader = new ParentJarClassLoader(baseClassLoader);
-      this.scanner = FileSystemScanner.createHashing(source);
+      this.scanner = FileSystemScanner.createWatching(source);
       this.snapshot = scanner.take();
       this.classPath = null;
       this.failed = false;
@@ -142,11 +162,15 @@ public abstract class ModuleRuntime<C> {
       //
       if (!failed && !next.hasChanges()) {
         logger.info("No changes detected");
+        this.snapshot = next;
         return false;
       }
       else {
         logger.info("Building application");
 
+        // A failed build is always followed by a full build
+        String[] compilationUnits = failed ? null : getCompilationUnits(next);
+
         //
         this.failed = true;
 
@@ -155,14 +179,63 @@ public abstract class ModuleRuntime<C> {
 
         //
         final RAMFileSystem classOutput = new RAMFileSystem();
-        Compiler compiler = Compiler.
+        Compiler.Builder builder = Compiler.
             builder().
             sourcePath(sourcePath).
             sourceOutput(classOutput).
             classOutput(classOutput).
-            addClassPath(classPath).build();
+            addClassPath(classPath);
+
+        //
+        Dependencies dependencies;
+        if (compilationUnits != null) {
+          logger.info("Recompiling " + compilationUnits.length + " compilation units");
+
+          // Reuse the previous output and meta model state except the classes that are recompiled
+          final HashSet<String> recompiled = new HashSet<String>();
+          for (String compilationUnit : compilationUnits) {
+            recompiled.add(compilationUnit.substring(1, compilationUnit.length() - ".java".length()).replace('/', '.'));
+          }
+          final StringBuilder buffer = new StringBuilder();
+          classes.copy(new Filter.Default<String[]>() {
+            @Override
+            public boolean acceptFile(String[] file, String name) throws IOException {
+              if (name.endsWith(".class")) {
+                buffer.setLength(0);
+                for (String s : classes.getNames(file)) {
+                  if (buffer.length() > 0) {
+                    buffer.append('.');
+                  }
+                  buffer.append(s);
+                }
+                buffer.setLength(buffer.length() - ".class".length());
+                return !recompiled.contains(Dependencies.topLevel(buffer.toString()));
+              } else {
+                return true;
+              }
+            }
+          }, classOutput);
+          RAMFileSystem previousClasses = new RAMFileSystem();
+          classOutput.copy(new Filter.Default<String[]>() {
+            @Override
+            public boolean acceptFile(String[] file, String name) throws IOException {
+              return name.endsWith(".class");
+            }
+          }, previousClasses);
+          builder.addClassPath(previousClasses);
+          dependencies = this.dependencies.copy();
+        } else {
+          dependencies = new Dependencies();
+        }
+
+        //
+        Compiler compiler = builder.dependencies(dependencies).build();
         compiler.addAnnotationProcessor(new MainProcessor());
-        compiler.compile();
+        if (compilationUnits != null) {
+          compiler.compile(compilationUnits);
+        } else {
+          compiler.compile();
+        }
 
         // Copy everything that is not a java source and not already present
         sourcePath.copy(new Filter.Default<S>() {
@@ -175,8 +248,9 @@ public abstract class ModuleRuntime<C> {
         }, classOutput);
 
         //
-        this.classLoader = new LiveClassLoader(new URL[]{classOutput.getURL()}, baseClassLoader);
+        this.classLoader = new LiveClassLoader(new URL[]{classOutput.getURL()}, baseClassLoader, getLocalClasses(dependencies));
         this.classes = classOutput;
+        this.dependencies = dependencies;
         this.snapshot = next;
         this.failed = false;
 
@@ -185,6 +259,86 @@ public abstract class ModuleRuntime<C> {
       }
     }
 
+    /**
+     * Determines the classes that must be loaded by the live class loader: the classes that do not exist in the base
+     * class loader or with a different bytecode and the classes depending on them.
+     *
+     * @param dependencies the build dependencies
+     * @return the class names
+     */
+    private Set<String> getLocalClasses(Dependencies dependencies) throws IOException {
+      HashSet<String> types = new HashSet<String>();
+      for (String className : dependencies.getClasses()) {
+        Long parentHash;
+        if (parentHashes.containsKey(className)) {
+          parentHash = parentHashes.get(className);
+        } else {
+          URL resource = baseClassLoader.getResource(className.replace('.', '/') + ".class");
+          parentHash = resource != null ? Tools.md5(Tools.bytes(resource)) : null;
+          parentHashes.put(className, parentHash);
+        }
+        if (!dependencies.getHash(className).equals(parentHash)) {
+          types.add(Dependencies.topLevel(className));
+        }
+      }
+      types.addAll(dependencies.getDependents(types, dependencies.getTypes()));
+      HashSet<String> local = new HashSet<String>();
+      for (String className : dependencies.getClasses()) {
+        if (types.contains(Dependencies.topLevel(className))) {
+          local.add(className);
+        }
+      }
+      return local;
+    }
+
+    /**
+     * Determines the compilation units to recompile from the changes of a snapshot: the changed java sources and
+     * their dependents. Changes that cannot be handled incrementally such as removed files, package declarations,
+     * other resources processed at compilation time or types declaring constants (that the java compiler inlines
+     * without a trace in the dependency graph) require a full build and null is returned.
+     *
+     * @param next the next snapshot
+     * @return the compilation units to compile or null for a full build
+     */
+    private String[] getCompilationUnits(Snapshot<S> next) {
+      if (classes == null || dependencies == null) {
+        return null;
+      }
+      HashSet<String> changed = new HashSet<String>();
+      for (Map.Entry<String, Change> change : next.getChanges().entrySet()) {
+        String path = change.getKey();
+        if (change.getValue() == Change.REMOVE || !path.endsWith(".java") || path.endsWith("/package-info.java")) {
+          return null;
+        }
+        String type = path.substring(1, path.length() - ".java".length()).replace('/', '.');
+        if (dependencies.hasConstants(type)) {
+          return null;
+        }
+        changed.add(type);
+      }
+
+      // Traverse the types that are not compiled from the source path (i.e generated)
+      HashSet<String> generated = new HashSet<String>(dependencies.getTypes());
+      for (String path : next.keySet()) {
+        if (path.endsWith(".java")) {
+          generated.remove(path.substring(1, path.length() - ".java".length()).replace('/', '.'));
+        }
+      }
+
+      //
+      TreeSet<String> compilationUnits = new TreeSet<String>();
+      for (String type : changed) {
+        compilationUnits.add("/" + type.replace('.', '/') + ".java");
+      }
+      for (String type : dependencies.getDependents(changed, generated)) {
+        String path = "/" + type.replace('.', '/') + ".java";
+        if (next.containsKey(path)) {
+          compilationUnits.add(path);
+        }
+      }
+      return compilationUnits.toArray(new String[compilationUnits.size()]);
+    }
+
     @Override
     public ClassLoader getClassLoader() {
       return classLoader;
@@ -199,6 +353,11 @@ public abstract class ModuleRuntime<C> {
     public boolean isDynamic() {
       return true;
     }
+
+    @Override
+    public synchronized void close() {
+      Tools.safeClose(scanner);
+    }
   }
 
   public static class Static<P> extends ModuleRuntime<P> {
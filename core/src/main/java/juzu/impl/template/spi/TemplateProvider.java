@@ -20,7 +20,8 @@ import java.io.IOException;
 import java.io.Serializable;
 
 /**
- * A provider for templating system.
+ * A provider for templating system. The methods of a provider are invoked by the annotation processing thread,
+ * unless the provider declares it is {@link #isConcurrent() concurrent}.
  *
  * @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a>
  * @param <M> the template model
@@ -47,6 +48,17 @@ public abstract class TemplateProvider<M extends Serializable> {
   public abstract Class<? extends TemplateStub> getTemplateStubType();
   // end::getTemplateStubType[]
 
+  /**
+   * Returns true when the {@link #parse} and {@link #emit} methods can be invoked concurrently for different
+   * templates, the {@link #process} method is always invoked by the annotation processing thread. The default
+   * implementation returns false.
+   *
+   * @return true when the provider supports concurrent parsing and emission
+   */
+  public boolean isConcurrent() {
+    return false;
+  }
+
   // tag::parse[]
   /**
    * Parse the provided char sequence and return the corresponding template model.
@@ -40,6 +40,11 @@ public class GroovyTemplateProvider extends DialectTemplateProvider {
     return "gtmpl";
   }
 
+  @Override
+  public boolean isConcurrent() {
+    return true;
+  }
+
   @Override
   public final void emit(EmitContext context, TemplateModel<ASTNode.Template> templateModel) throws TemplateException, IOException {
     GroovyTemplateEmitter emitter = new GroovyTemplateEmitter(templateModel.getPath().getName());
@@ -19,6 +19,7 @@ package juzu.template;
 import juzu.PropertyMap;
 import juzu.Response;
 import juzu.impl.common.Tools;
+import juzu.impl.metrics.Metrics;
 import juzu.impl.plugin.template.TemplateService;
 import juzu.io.Chunk;
 import juzu.io.ChunkBuffer;
@@ -412,7 +413,18 @@ public abstract class Template {
         };
 
         //
-        context.render(stream);
+        Metrics metrics = application != null ? application.getMetrics() : Metrics.NONE;
+        if (metrics.isEnabled()) {
+          long begin = System.nanoTime();
+          try {
+            context.render(stream);
+          }
+          finally {
+            metrics.getTimer("template." + stub.getId()).update(System.nanoTime() - begin);
+          }
+        } else {
+          context.render(stream);
+        }
       }
       catch (IOException e) {
         throw new UndeclaredIOException(e);
@@ -18,10 +18,14 @@ package juzu.impl.asset;
 import juzu.asset.AssetLocation;
 import juzu.impl.common.Tools;
 import juzu.impl.resource.ResourceResolver;
+import juzu.io.UndeclaredIOException;
 import juzu.test.AbstractTestCase;
 import org.junit.Test;
 
+import javax.xml.bind.DatatypeConverter;
+import java.io.File;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -69,4 +73,103 @@ public class AssetManagerTestCase extends AbstractTestCase {
     catch (IllegalArgumentException expected) {
     }
   }
+
+  @Test
+  public void testBundle() throws Exception {
+    File a = File.createTempFile("juzu", ".js");
+    a.deleteOnExit();
+    Tools.write("var a = 0", a);
+    File b = File.createTempFile("juzu", ".js");
+    b.deleteOnExit();
+    Tools.write("var b = 1", b);
+    AssetManager mgr = new AssetManager("/assets/", ResourceResolver.NULL_RESOLVER);
+    assertTrue(mgr.createDeployment().addAsset("a", "script", AssetLocation.APPLICATION, "/a/a.js", null, null, null, a.toURI().toURL()).deploy());
+    AssetDeployment bDepl = mgr.createDeployment();
+    assertTrue(bDepl.addAsset("b", "script", AssetLocation.APPLICATION, "/b/b.js", null, null, null, b.toURI().toURL(), "a").deploy());
+    assertTrue(mgr.createDeployment().addAsset("c", "script", AssetLocation.URL, "http://c/c.js", null, null, null, null).deploy());
+    List<Asset> assets = Tools.list(mgr.resolveAssets(Collections.singletonList("b")));
+    assertTrue(mgr.isBundleable(assets.get(0)));
+    assertTrue(mgr.isBundleable(assets.get(1)));
+    assertFalse(mgr.isBundleable(mgr.getAsset("c")));
+    AssetBundle bundle = mgr.getBundle("script", assets, false);
+    assertTrue(bundle.getURI().startsWith("/assets/bundles/bundle-"));
+    assertSame(bundle, mgr.getBundle("script", assets, false));
+    assertSame(bundle, mgr.resolveBundle(bundle.getURI()));
+    assertEquals("var a = 0;\nvar b = 1;\n", new String(bundle.getContent(), Tools.UTF_8));
+
+    // Another manager rebuilds the bundle from its uri
+    AssetManager other = new AssetManager("/assets/", ResourceResolver.NULL_RESOLVER);
+    assertTrue(other.createDeployment().addAsset("a", "script", AssetLocation.APPLICATION, "/a/a.js", null, null, null, a.toURI().toURL()).deploy());
+    assertNull(other.resolveBundle(bundle.getURI()));
+    assertTrue(other.createDeployment().addAsset("b", "script", AssetLocation.APPLICATION, "/b/b.js", null, null, null, b.toURI().toURL(), "a").deploy());
+    AssetBundle resolved = other.resolveBundle(bundle.getURI());
+    assertNotNull(resolved);
+    assertEquals(bundle.getURI(), resolved.getURI());
+    assertEquals(bundle.getETag(), resolved.getETag());
+    assertSame(resolved, other.resolveBundle(bundle.getURI()));
+    assertNull(other.resolveBundle("/assets/bundles/bundle-0-abc.js"));
+    assertNull(other.resolveBundle("/assets/bundles/foo.js"));
+
+    // Redeploying a member discards the bundle and the content changes the uri
+    bDepl.undeploy();
+    assertNull(mgr.resolveBundle(bundle.getURI()));
+    Tools.write("var b = 2", b);
+    assertTrue(mgr.createDeployment().addAsset("b", "script", AssetLocation.APPLICATION, "/b/b.js", null, null, null, b.toURI().toURL(), "a").deploy());
+    AssetBundle rebuilt = mgr.getBundle("script", Tools.list(mgr.resolveAssets(Collections.singletonList("b"))), false);
+    assertFalse(bundle.getURI().equals(rebuilt.getURI()));
+    assertEquals("var a = 0;\nvar b = 2;\n", new String(rebuilt.getContent(), Tools.UTF_8));
+    assertNull(mgr.resolveBundle(bundle.getURI()));
+    assertSame(rebuilt, mgr.resolveBundle(rebuilt.getURI()));
+  }
+
+  @Test
+  public void testForgedBundle() throws Exception {
+
+    // Reading the missing file fails, so a rejected key is not read
+    URL missing = new File("missing.js").toURI().toURL();
+    AssetManager mgr = new AssetManager("/assets/", ResourceResolver.NULL_RESOLVER);
+    assertTrue(mgr.createDeployment().addAsset("a", "script", AssetLocation.APPLICATION, "/a.js", null, null, null, missing).deploy());
+    assertTrue(mgr.createDeployment().addAsset("b", "script", AssetLocation.APPLICATION, "/b.js", null, null, null, missing, "a").deploy());
+    assertTrue(mgr.createDeployment().addAsset("c", "stylesheet", AssetLocation.APPLICATION, "/c/c.css", null, null, null, missing).deploy());
+    assertTrue(mgr.createDeployment().addAsset("d", "stylesheet", AssetLocation.APPLICATION, "/d/d.css", null, null, null, missing).deploy());
+    try {
+      mgr.resolveBundle(bundleURI("script\n\na\nb"));
+      fail();
+    }
+    catch (UndeclaredIOException expected) {
+    }
+    assertNull(mgr.resolveBundle(bundleURI("script\n\na\na")));
+    assertNull(mgr.resolveBundle(bundleURI("script\n\nb\na")));
+    assertNull(mgr.resolveBundle(bundleURI("script\n\na")));
+    assertNull(mgr.resolveBundle(bundleURI("script\nfoo\na\nb")));
+    assertNull(mgr.resolveBundle(bundleURI("stylesheet\n\nc\nd")));
+    StringBuilder key = new StringBuilder("script\n");
+    for (int i = 0;i <= AssetManager.MAX_MEMBERS;i++) {
+      key.append("\na");
+    }
+    assertNull(mgr.resolveBundle(bundleURI(key.toString())));
+  }
+
+  @Test
+  public void testBundleMaxMembers() throws Exception {
+    File f = File.createTempFile("juzu", ".js");
+    f.deleteOnExit();
+    Tools.write("var a = 0", f);
+    URL url = f.toURI().toURL();
+    AssetManager mgr = new AssetManager("/assets/", ResourceResolver.NULL_RESOLVER);
+    List<Asset> assets = new ArrayList<Asset>();
+    for (int i = 0;i <= AssetManager.MAX_MEMBERS;i++) {
+      assertTrue(mgr.createDeployment().addAsset("a" + i, "script", AssetLocation.APPLICATION, "/a" + i + ".js", null, null, null, url).deploy());
+      assets.add(mgr.getAsset("a" + i));
+    }
+    List<Asset> bundled = mgr.bundle(assets, false);
+    assertEquals(2, bundled.size());
+    assertNotNull(mgr.resolveBundle(bundled.get(0).getURI()));
+    assertSame(assets.get(AssetManager.MAX_MEMBERS), bundled.get(1));
+  }
+
+  private static String bundleURI(String key) {
+    String encoded = DatatypeConverter.printBase64Binary(key.getBytes(Tools.UTF_8)).replace("=", "").replace('+', '-').replace('/', '_');
+    return "/assets/bundles/bundle-0-" + encoded + ".js";
+  }
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.asset;
+
+import juzu.Response;
+import juzu.asset.AssetLocation;
+import juzu.impl.bridge.spi.web.HttpStream;
+import juzu.impl.bridge.spi.web.WebRequestContext;
+import juzu.impl.common.RunMode;
+import juzu.impl.common.Tools;
+import juzu.impl.io.BinaryOutputStream;
+import juzu.impl.resource.ResourceResolver;
+import juzu.io.Stream;
+import juzu.request.Phase;
+import juzu.request.RequestParameter;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Julien Viet
+ */
+public class AssetPreloadTestCase extends AbstractTestCase {
+
+  /** . */
+  private static final URL RESOURCE = AssetPreloadTestCase.class.getResource(AssetPreloadTestCase.class.getSimpleName() + ".class");
+
+  /** Stands in for a context supporting early hints. */
+  static class EarlyHintsContext extends WebRequestContext {
+
+    /** . */
+    final boolean bundleAssets;
+
+    /** . */
+    final List<String> links = new ArrayList<String>();
+
+    /** The links sent with each early hints response. */
+    final List<String> hints = new ArrayList<String>();
+
+    EarlyHintsContext(boolean bundleAssets) {
+      this.bundleAssets = bundleAssets;
+    }
+
+    @Override
+    protected void sendEarlyHints(String links) throws IOException {
+      hints.add(links);
+    }
+
+    @Override
+    public void setHeaders(Iterable<Map.Entry<String, String[]>> headers) {
+      for (Map.Entry<String, String[]> header : headers) {
+        if (header.getKey().equals("Link")) {
+          links.add(header.getValue()[0]);
+        }
+      }
+    }
+
+    @Override
+    public void renderAssetURL(AssetLocation location, String uri, Appendable appendable) throws IOException {
+      appendable.append(location == AssetLocation.APPLICATION ? "/assets" : "").append(uri);
+    }
+
+    @Override
+    public RunMode getRunMode() {
+      return RunMode.DEV;
+    }
+
+    @Override
+    public boolean getBundleAssets() {
+      return bundleAssets;
+    }
+
+    @Override
+    public String getRequestHeader(String name) {
+      return null;
+    }
+
+    @Override
+    public Map<String, RequestParameter> getParameters() {
+      return Collections.emptyMap();
+    }
+
+    @Override
+    public String getRequestURI() {
+      return "/";
+    }
+
+    @Override
+    public String getPath() {
+      return "";
+    }
+
+    @Override
+    public String getRequestPath() {
+      return "/";
+    }
+
+    @Override
+    public void setContentType(String mimeType, Charset charset) {
+    }
+
+    @Override
+    public void setStatus(int status) {
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+    }
+
+    @Override
+    public HttpStream getStream(int status) {
+      return new HttpStream(this, status, Tools.UTF_8) {
+        @Override
+        public void setStatusCode(int status) {
+        }
+        @Override
+        protected Stream getDataStream(boolean create) {
+          return create ? new BinaryOutputStream(Tools.UTF_8, new ByteArrayOutputStream()) : null;
+        }
+        @Override
+        protected void endAsync() {
+        }
+        @Override
+        protected void beginAsync() {
+        }
+      };
+    }
+  }
+
+  private AssetManager createManager() {
+    AssetManager mgr = new AssetManager("/app/assets/", ResourceResolver.NULL_RESOLVER);
+    AssetDeployment deployment = mgr.createDeployment();
+    deployment.addAsset("a", "script", AssetLocation.APPLICATION, "/app/assets/a.js", null, null, null, RESOURCE);
+    deployment.addAsset("b", "script", AssetLocation.APPLICATION, "/app/assets/b.js", null, null, null, RESOURCE, "a");
+    deployment.addAsset("c", "stylesheet", AssetLocation.URL, "http://c/c.css", null, null, null, null);
+    deployment.addAsset("d", "script", AssetLocation.APPLICATION, "/app/assets/d.js", false, null, null, RESOURCE);
+    assertTrue(deployment.deploy());
+    return mgr;
+  }
+
+  @Test
+  public void testPreload() throws Exception {
+    AssetManager mgr = createManager();
+    EarlyHintsContext context = new EarlyHintsContext(false);
+    context.preload(mgr, Tools.list("d", "b", "c"));
+    String expected =
+        "<http://c/c.css>; rel=preload; as=style, " +
+        "</assets/app/assets/a.js>; rel=preload; as=script, " +
+        "</assets/app/assets/b.js>; rel=preload; as=script, " +
+        "</assets/app/assets/d.js>; rel=preload; as=script";
+    assertEquals(Collections.singletonList(expected), context.hints);
+    assertEquals(Collections.<String>emptyList(), context.links);
+    context.send(null, Response.ok("hello"), Phase.VIEW);
+    assertEquals(Collections.singletonList(expected), context.links);
+  }
+
+  @Test
+  public void testPreloadBundle() throws Exception {
+    AssetManager mgr = createManager();
+    EarlyHintsContext context = new EarlyHintsContext(true);
+    context.preload(mgr, Tools.list("b"));
+    assertEquals(1, context.hints.size());
+    String link = context.hints.get(0);
+    assertTrue(link, link.startsWith("</assets/app/assets/bundle-"));
+    assertTrue(link, link.endsWith(".js>; rel=preload; as=script"));
+  }
+
+  @Test
+  public void testNoAssets() throws Exception {
+    EarlyHintsContext context = new EarlyHintsContext(false);
+    context.preload(createManager(), Collections.<String>emptyList());
+    assertEquals(Collections.<String>emptyList(), context.links);
+    assertEquals(0, context.hints.size());
+  }
+
+  @Test
+  public void testNotContent() throws Exception {
+    EarlyHintsContext context = new EarlyHintsContext(false);
+    context.preload(createManager(), Tools.list("b"));
+    assertEquals(1, context.hints.size());
+    context.send(null, Response.notFound("not found"), Phase.VIEW);
+    assertEquals(Collections.<String>emptyList(), context.links);
+    context.send(null, Response.ok(), Phase.VIEW);
+    assertEquals(Collections.<String>emptyList(), context.links);
+  }
+}
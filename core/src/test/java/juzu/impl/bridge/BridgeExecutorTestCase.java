@@ -0,0 +1,157 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.bridge;
+
+import juzu.impl.common.Logger;
+import juzu.impl.metrics.Metrics;
+import juzu.impl.metrics.MemoryMetrics;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author Julien Viet
+ */
+public class BridgeExecutorTestCase extends AbstractTestCase {
+
+  /** . */
+  private static final Executor CALLER = new Executor() {
+    public void execute(Runnable command) {
+      command.run();
+    }
+  };
+
+  @Test
+  public void testCreate() throws Exception {
+    ClassLoader loader = getClass().getClassLoader();
+    assertSame(BridgeExecutor.CONTAINER, BridgeExecutor.create(null, 1, 1, Metrics.NONE, loader, Logger.SYSTEM));
+    assertSame(BridgeExecutor.CONTAINER, BridgeExecutor.create(" container ", 1, 1, Metrics.NONE, loader, Logger.SYSTEM));
+    BridgeExecutor pool = BridgeExecutor.create("pool", 1, 1, Metrics.NONE, loader, Logger.SYSTEM);
+    assertEquals("pool", pool.toString());
+    pool.close();
+    BridgeExecutor virtual = BridgeExecutor.create("virtual", 1, 1, Metrics.NONE, loader, Logger.SYSTEM);
+    assertTrue(virtual == BridgeExecutor.CONTAINER || virtual.toString().equals("virtual"));
+    virtual.close();
+  }
+
+  @Test
+  public void testContainer() {
+    final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+    BridgeExecutor.CONTAINER.execute(new Runnable() {
+      public void run() {
+        thread.set(Thread.currentThread());
+      }
+    }, CALLER);
+    assertSame(Thread.currentThread(), thread.get());
+  }
+
+  @Test
+  public void testPool() throws Exception {
+    MemoryMetrics metrics = new MemoryMetrics();
+    BridgeExecutor pool = BridgeExecutor.create("pool", 1, 1, metrics, getClass().getClassLoader(), Logger.SYSTEM);
+    final CountDownLatch running = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(2);
+    final AtomicReference<ClassLoader> loader = new AtomicReference<ClassLoader>();
+    ClassLoader contextLoader = new ClassLoader() {};
+    ClassLoader previous = Thread.currentThread().getContextClassLoader();
+    Thread.currentThread().setContextClassLoader(contextLoader);
+    try {
+      pool.execute(new Runnable() {
+        public void run() {
+          loader.set(Thread.currentThread().getContextClassLoader());
+          running.countDown();
+          try {
+            release.await();
+          }
+          catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          done.countDown();
+        }
+      }, CALLER);
+      assertTrue(running.await(10, TimeUnit.SECONDS));
+      pool.execute(new Runnable() {
+        public void run() {
+          done.countDown();
+        }
+      }, CALLER);
+      assertEquals(1, metrics.getCounters().get("executor.active").getCount());
+      assertEquals(1, metrics.getCounters().get("executor.queue").getCount());
+      try {
+        pool.execute(new Runnable() {
+          public void run() {
+          }
+        }, CALLER);
+        fail();
+      }
+      catch (RejectedExecutionException ignore) {
+      }
+      assertEquals(1, metrics.getCounters().get("executor.rejections").getCount());
+      assertEquals(1, metrics.getCounters().get("executor.queue").getCount());
+      release.countDown();
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+    finally {
+      Thread.currentThread().setContextClassLoader(previous);
+      pool.close();
+    }
+    assertSame(contextLoader, loader.get());
+    assertEquals(0, metrics.getCounters().get("executor.queue").getCount());
+    assertEquals(2, metrics.getTimers().get("executor.wait").getHistogram().getCount());
+  }
+
+  @Test
+  public void testRejected() throws Exception {
+    BridgeExecutor rejecting = new BridgeExecutor() {
+      @Override
+      public void execute(Runnable command, Executor container) throws RejectedExecutionException {
+        throw new RejectedExecutionException();
+      }
+    };
+    final AtomicInteger rejected = new AtomicInteger();
+    final AtomicInteger executed = new AtomicInteger();
+    Runnable callback = new Runnable() {
+      public void run() {
+        rejected.incrementAndGet();
+      }
+    };
+    try {
+      rejecting.execute(new Runnable() {
+        public void run() {
+        }
+      }, CALLER, callback);
+      fail();
+    }
+    catch (RejectedExecutionException ignore) {
+    }
+    assertEquals(1, rejected.get());
+    BridgeExecutor.CONTAINER.execute(new Runnable() {
+      public void run() {
+        executed.incrementAndGet();
+      }
+    }, CALLER, callback);
+    assertEquals(1, executed.get());
+    assertEquals(1, rejected.get());
+  }
+}
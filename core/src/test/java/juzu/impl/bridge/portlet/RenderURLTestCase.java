@@ -0,0 +1,86 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.bridge.portlet;
+
+import juzu.PropertyMap;
+import juzu.impl.bridge.spi.portlet.PortletViewBridge;
+import juzu.impl.common.MethodHandle;
+import juzu.impl.common.MimeType;
+import juzu.impl.inject.spi.InjectorProvider;
+import juzu.impl.plugin.controller.ControllerService;
+import juzu.impl.request.ControllerHandler;
+import juzu.request.Phase;
+import juzu.request.ResponseParameter;
+import juzu.test.AbstractInjectTestCase;
+import juzu.test.protocol.mock.MockApplication;
+import juzu.test.protocol.portlet.PortletStubs;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Checks the urls rendered by a portlet request, the bridge reuses the same portlet url for each phase.
+ *
+ * @author Julien Viet
+ */
+public class RenderURLTestCase extends AbstractInjectTestCase {
+
+  public RenderURLTestCase(InjectorProvider di) {
+    super(di);
+  }
+
+  @Test
+  public void testReuse() throws Exception {
+    MockApplication<?> app = application("bridge.portlet.url").init();
+    ControllerService controllerService = app.getContext().resolveBean(ControllerService.class);
+    HashMap<String, ControllerHandler> handlers = new HashMap<String, ControllerHandler>();
+    for (ControllerHandler handler : controllerService.getDescriptor().getHandlers()) {
+      handlers.put(handler.getName(), handler);
+    }
+    ControllerHandler view = handlers.get("view");
+    ControllerHandler action = handlers.get("action");
+    ControllerHandler resource = handlers.get("resource");
+
+    //
+    PortletStubs stubs = new PortletStubs();
+    PortletViewBridge bridge = new PortletViewBridge(stubs.bridge(app.getContext()), stubs.renderRequest(), stubs.renderResponse(), stubs.config());
+    for (int i = 0;i < 3;i++) {
+      String value = Integer.toString(i);
+      assertEquals("render?juzu.op=" + view.getId() + "&value=" + value, renderURL(bridge, Phase.VIEW, view.getHandle(), value));
+      assertEquals("action?juzu.op=" + action.getId() + "&value=" + value, renderURL(bridge, Phase.ACTION, action.getHandle(), value));
+      assertEquals("resource?juzu.op=" + resource.getId() + "&value=" + value, renderURL(bridge, Phase.RESOURCE, resource.getHandle(), value));
+    }
+
+    // The parameters of the previous use are not kept
+    assertEquals("render?juzu.op=" + view.getId(), renderURL(bridge, Phase.VIEW, view.getHandle(), null));
+    assertEquals(3, stubs.getCreated());
+  }
+
+  private String renderURL(PortletViewBridge bridge, Phase phase, MethodHandle handle, String value) throws Exception {
+    Map<String, ResponseParameter> parameters;
+    if (value != null) {
+      parameters = Collections.singletonMap("value", ResponseParameter.create("value", value));
+    } else {
+      parameters = Collections.emptyMap();
+    }
+    StringBuilder sb = new StringBuilder();
+    bridge.createDispatch(phase, handle, parameters).renderURL(new PropertyMap(), MimeType.PLAIN, sb);
+    return sb.toString();
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.bridge.response;
+
+import juzu.impl.common.Tools;
+import juzu.test.AbstractWebTestCase;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Test;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Map;
+
+/** @author Julien Viet */
+public class ResponseCacheViewServletTestCase extends AbstractWebTestCase {
+
+  @Deployment(testable = false)
+  public static WebArchive createDeployment() {
+    return createServletDeployment(true, "bridge.response.cache.view");
+  }
+
+  @Test
+  public void testCache() throws Exception {
+    URL url = applicationURL("/cached");
+    HttpURLConnection conn = (HttpURLConnection)url.openConnection();
+    assertEquals(200, conn.getResponseCode());
+    Map<String, String> headers = Tools.responseHeaders(conn);
+    assertEquals("public, max-age=60", headers.get("Cache-Control"));
+    assertEquals("\"abc\"", headers.get("ETag"));
+    assertEquals("cached", Tools.read(conn.getInputStream()));
+
+    //
+    conn = (HttpURLConnection)url.openConnection();
+    conn.setRequestProperty("If-None-Match", "\"abc\"");
+    assertEquals(304, conn.getResponseCode());
+
+    //
+    conn = (HttpURLConnection)url.openConnection();
+    conn.setRequestProperty("If-None-Match", "\"def\"");
+    assertEquals(200, conn.getResponseCode());
+  }
+}
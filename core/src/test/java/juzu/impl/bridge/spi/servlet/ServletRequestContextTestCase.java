@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.bridge.spi.servlet;
+
+import juzu.impl.common.FormTooLargeException;
+import juzu.impl.common.Name;
+import juzu.impl.common.RunMode;
+import juzu.impl.common.Tools;
+import juzu.io.UndeclaredIOException;
+import juzu.request.RequestParameter;
+import juzu.test.AbstractTestCase;
+import juzu.test.protocol.servlet.ServletStubs;
+import org.junit.Test;
+
+import java.util.Map;
+
+/** @author Julien Viet */
+public class ServletRequestContextTestCase extends AbstractTestCase {
+
+  private ServletRequestContext post(String form, long maxFormSize, int maxParameters) {
+    ServletStubs stubs = new ServletStubs();
+    return new ServletRequestContext(
+        Name.parse("app"),
+        Tools.UTF_8,
+        maxFormSize,
+        maxParameters,
+        false,
+        stubs.request("POST", "application/x-www-form-urlencoded", form.getBytes(Tools.UTF_8)),
+        stubs.response(),
+        "/",
+        RunMode.PROD);
+  }
+
+  @Test
+  public void testForm() {
+    Map<String, RequestParameter> parameters = post("a=b&c=d", 100, 2).getParameters();
+    assertEquals(RequestParameter.create("a", "b"), parameters.get("a"));
+    assertEquals(RequestParameter.create("c", "d"), parameters.get("c"));
+  }
+
+  @Test
+  public void testMaxFormSize() {
+    try {
+      post("a=b&c=d", 4, -1).getParameters();
+      fail();
+    }
+    catch (UndeclaredIOException e) {
+      assertInstanceOf(FormTooLargeException.class, e.getCause());
+    }
+  }
+
+  @Test
+  public void testMaxParameters() {
+    try {
+      post("a=b&c=d&e=f", -1, 2).getParameters();
+      fail();
+    }
+    catch (UndeclaredIOException e) {
+      assertInstanceOf(FormTooLargeException.class, e.getCause());
+    }
+  }
+}
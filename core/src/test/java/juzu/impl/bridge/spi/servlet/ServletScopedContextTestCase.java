@@ -0,0 +1,88 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.bridge.spi.servlet;
+
+import juzu.impl.common.JUL;
+import juzu.impl.inject.Scoped;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+/** @author Julien Viet */
+public class ServletScopedContextTestCase extends AbstractTestCase {
+
+  private static class Value implements Scoped {
+    int destroyed;
+    public Object get() {
+      return this;
+    }
+    public void destroy() {
+      destroyed++;
+    }
+  }
+
+  @Test
+  public void testSet() {
+    ServletScopedContext context = new ServletScopedContext(JUL.getLogger(ServletScopedContext.class.getName()));
+    Value value = new Value();
+    context.set("foo", value);
+    assertSame(value, context.get("foo"));
+    context.set("bar", null);
+    assertEquals(1, context.size());
+    context.set("foo", null);
+    assertNull(context.get("foo"));
+    assertEquals(0, context.size());
+    assertEquals(0, value.destroyed);
+  }
+
+  @Test
+  public void testClose() {
+    ServletScopedContext context = new ServletScopedContext(JUL.getLogger(ServletScopedContext.class.getName()));
+    Value foo = new Value();
+    Value bar = new Value();
+    context.set("foo", foo);
+    context.set("bar", bar);
+    context.close();
+    assertEquals(1, foo.destroyed);
+    assertEquals(1, bar.destroyed);
+    assertEquals(0, context.size());
+    assertNull(context.get("foo"));
+    context.close();
+    assertEquals(1, foo.destroyed);
+  }
+
+  @Test
+  public void testSetDuringClose() {
+    final ServletScopedContext context = new ServletScopedContext(JUL.getLogger(ServletScopedContext.class.getName()));
+    final Value juu = new Value();
+    Value foo = new Value() {
+      @Override
+      public void destroy() {
+        super.destroy();
+        context.set("juu", juu);
+      }
+    };
+    context.set("foo", foo);
+    context.close();
+    assertEquals(1, foo.destroyed);
+
+    // The entry set concurrently is not lost
+    assertTrue(juu.destroyed == 1 ? context.get("juu") == null : context.get("juu") == juu);
+    context.close();
+    assertEquals(1, juu.destroyed);
+    assertEquals(0, context.size());
+  }
+}
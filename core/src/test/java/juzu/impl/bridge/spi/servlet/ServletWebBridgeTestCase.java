@@ -0,0 +1,134 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.bridge.spi.servlet;
+
+import juzu.impl.bridge.BridgeExecutor;
+import juzu.impl.common.Name;
+import juzu.impl.common.RunMode;
+import juzu.impl.common.Tools;
+import juzu.test.AbstractTestCase;
+import juzu.test.protocol.servlet.ServletStubs;
+import org.junit.Test;
+
+import java.util.LinkedList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/** @author Julien Viet */
+public class ServletWebBridgeTestCase extends AbstractTestCase {
+
+  /** An executor keeping up to <code>capacity</code> tasks until they are run and rejecting the others. */
+  static class BoundedExecutor extends BridgeExecutor {
+
+    /** . */
+    int capacity;
+
+    /** . */
+    final LinkedList<Runnable> tasks = new LinkedList<Runnable>();
+
+    BoundedExecutor(int capacity) {
+      this.capacity = capacity;
+    }
+
+    @Override
+    public void execute(final Runnable command, final Executor container) throws RejectedExecutionException {
+      if (tasks.size() == capacity) {
+        throw new RejectedExecutionException();
+      }
+      tasks.add(new Runnable() {
+        public void run() {
+          container.execute(command);
+        }
+      });
+    }
+  }
+
+  /** . */
+  private final ServletStubs stubs = new ServletStubs();
+
+  private ServletWebBridge create(final BridgeExecutor executor) {
+    ServletBridge servlet = new ServletBridge() {
+      @Override
+      BridgeExecutor getExecutor() {
+        return executor;
+      }
+    };
+    ServletRequestContext ctx = new ServletRequestContext(
+        Name.parse("app"),
+        Tools.UTF_8,
+        -1,
+        -1,
+        false,
+        stubs.asyncRequest(),
+        stubs.response(),
+        "/",
+        RunMode.PROD);
+    return new ServletWebBridge(servlet, ctx);
+  }
+
+  private void reject(ServletWebBridge bridge) {
+    try {
+      bridge.execute(new Runnable() {
+        public void run() {
+          fail();
+        }
+      });
+      fail();
+    }
+    catch (RejectedExecutionException expected) {
+    }
+  }
+
+  @Test
+  public void testRejected() {
+    ServletWebBridge bridge = create(new BoundedExecutor(0));
+    reject(bridge);
+    assertEquals(1, stubs.asyncCompletions);
+  }
+
+  @Test
+  public void testRejectedWhileTaskInFlight() {
+    BoundedExecutor executor = new BoundedExecutor(1);
+    ServletWebBridge bridge = create(executor);
+    final int[] runs = {0};
+    bridge.execute(new Runnable() {
+      public void run() {
+        runs[0]++;
+      }
+    });
+    reject(bridge);
+    assertEquals(0, stubs.asyncCompletions);
+    assertTrue(stubs.asyncStarted);
+    executor.tasks.removeFirst().run();
+    assertEquals(1, runs[0]);
+    assertEquals(0, stubs.asyncCompletions);
+  }
+
+  @Test
+  public void testRejectedAfterAsyncStarted() {
+    BoundedExecutor executor = new BoundedExecutor(1);
+    ServletWebBridge bridge = create(executor);
+    bridge.execute(new Runnable() {
+      public void run() {
+      }
+    });
+    executor.tasks.removeFirst().run();
+    executor.capacity = 0;
+    reject(bridge);
+    assertEquals(0, stubs.asyncCompletions);
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.common;
+
+import juzu.request.RequestParameter;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/** @author Julien Viet */
+public class FormURLEncodedDecoderTestCase extends AbstractTestCase {
+
+  private Map<String, RequestParameter> decode(String s) throws IOException {
+    return decode(s, -1, -1);
+  }
+
+  private Map<String, RequestParameter> decode(String s, long maxSize, int maxParameters) throws IOException {
+    FormURLEncodedDecoder decoder = new FormURLEncodedDecoder(Tools.UTF_8, maxSize, maxParameters);
+    return decoder.decode(new ByteArrayInputStream(s.getBytes(Tools.UTF_8)), new HashMap<String, RequestParameter>());
+  }
+
+  @Test
+  public void testDecode() throws Exception {
+    assertEquals(0, decode("").size());
+    assertEquals(RequestParameter.create("a", "b"), decode("a=b").get("a"));
+    assertEquals(RequestParameter.create("a", ""), decode("a").get("a"));
+    assertEquals(RequestParameter.create("a", ""), decode("a=").get("a"));
+    assertEquals(RequestParameter.create("a", "b c"), decode("a=b+c").get("a"));
+    assertEquals(RequestParameter.create("a", "b=c"), decode("a=b=c").get("a"));
+    assertEquals(RequestParameter.create("a", new String[]{"b", "c"}), decode("a=b&a=c").get("a"));
+    Map<String, RequestParameter> parameters = decode("a=b&c=d");
+    assertEquals(2, parameters.size());
+    assertEquals(RequestParameter.create("c", "d"), parameters.get("c"));
+    assertEquals(0, decode("&&").size());
+  }
+
+  @Test
+  public void testPercentDecode() throws Exception {
+    assertEquals(RequestParameter.create("a b", "+"), decode("a%20b=%2B").get("a b"));
+    assertEquals("%2B", decode("a=%2B").get("a").getRaw(0));
+    assertEquals(RequestParameter.create("a", "\u00e9"), decode("a=%C3%A9").get("a"));
+    assertNull(decode("a=%2").get("a"));
+    assertNull(decode("a=%ZZ").get("a"));
+    assertEquals(RequestParameter.create("b", "c"), decode("a=%2&b=c").get("b"));
+  }
+
+  @Test
+  public void testLargeEntity() throws Exception {
+    StringBuilder sb = new StringBuilder("a=");
+    for (int i = 0;i < 10000;i++) {
+      sb.append("%41");
+    }
+    RequestParameter parameter = decode(sb.toString()).get("a");
+    assertNotNull(parameter);
+    assertEquals(10000, parameter.getValue().length());
+  }
+
+  @Test
+  public void testMaxSize() throws Exception {
+    assertEquals(RequestParameter.create("a", "b"), decode("a=b", 3, -1).get("a"));
+    try {
+      decode("a=bc", 3, -1);
+      fail();
+    }
+    catch (IOException expected) {
+    }
+  }
+
+  @Test
+  public void testMaxSizePartway() throws Exception {
+    StringBuilder sb = new StringBuilder("a=b&c=d&e=");
+    for (int i = 0;i < 1000;i++) {
+      sb.append('f');
+    }
+    HashMap<String, RequestParameter> parameters = new HashMap<String, RequestParameter>();
+    RequestParameter.create("a", "z").appendTo(parameters);
+    FormURLEncodedDecoder decoder = new FormURLEncodedDecoder(Tools.UTF_8, 600, -1);
+    try {
+      decoder.decode(new ByteArrayInputStream(sb.toString().getBytes(Tools.UTF_8)), parameters);
+      fail();
+    }
+    catch (FormTooLargeException expected) {
+    }
+    assertEquals(1, parameters.size());
+    assertEquals(RequestParameter.create("a", "z"), parameters.get("a"));
+  }
+
+  @Test
+  public void testMaxParametersPartway() throws Exception {
+    HashMap<String, RequestParameter> parameters = new HashMap<String, RequestParameter>();
+    FormURLEncodedDecoder decoder = new FormURLEncodedDecoder(Tools.UTF_8, -1, 2);
+    try {
+      decoder.decode(new ByteArrayInputStream("a=b&c=d&e=f&g=h".getBytes(Tools.UTF_8)), parameters);
+      fail();
+    }
+    catch (FormTooLargeException expected) {
+    }
+    assertEquals(0, parameters.size());
+  }
+
+  @Test
+  public void testAppend() throws Exception {
+    HashMap<String, RequestParameter> parameters = new HashMap<String, RequestParameter>();
+    RequestParameter.create("a", "b").appendTo(parameters);
+    FormURLEncodedDecoder decoder = new FormURLEncodedDecoder(Tools.UTF_8, -1, -1);
+    decoder.decode(new ByteArrayInputStream("a=c&d=e".getBytes(Tools.UTF_8)), parameters);
+    assertEquals(RequestParameter.create("a", new String[]{"b", "c"}), parameters.get("a"));
+    assertEquals(RequestParameter.create("d", "e"), parameters.get("d"));
+  }
+
+  @Test
+  public void testMaxParameters() throws Exception {
+    assertEquals(2, decode("a=b&c=d", -1, 2).size());
+    try {
+      decode("a=b&c=d&e=f", -1, 2);
+      fail();
+    }
+    catch (IOException expected) {
+    }
+  }
+}
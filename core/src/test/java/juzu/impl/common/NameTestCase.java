@@ -251,4 +251,14 @@ public class NameTestCase extends AbstractTestCase {
     assertEquals("Was expecting common prefix between " + a + " and " + b + "  to be equals to " + expected +
         " instead of " + actual,  Name.parse(expected), actual);
   }
+
+  @Test
+  public void testSerialization() throws Exception {
+    Name name = Name.parse("foo.bar.juu");
+    Name copy = Tools.clone(name);
+    assertEquals(name, copy);
+    assertEquals(3, copy.size());
+    assertEquals(Name.parse("foo.bar"), copy.getParent());
+    assertSame(Name.parse(""), Tools.clone(Name.parse("")));
+  }
 }
@@ -86,6 +86,28 @@ public class ToolsTestCase extends AbstractTestCase {
     assertEquals("\"a'", Tools.unquote("\"a'"));
   }
 
+  @Test
+  public void testEntityTag() {
+    assertEquals("\"abc\"", Tools.entityTag("abc"));
+    assertEquals("\"abc\"", Tools.entityTag("\"abc\""));
+    assertEquals("W/\"abc\"", Tools.entityTag("W/\"abc\""));
+    assertEquals("\"\"\"", Tools.entityTag("\""));
+  }
+
+  @Test
+  public void testMatchEntityTag() {
+    assertTrue(Tools.matchEntityTag("abc", "\"abc\""));
+    assertTrue(Tools.matchEntityTag("abc", "W/\"abc\""));
+    assertTrue(Tools.matchEntityTag("\"abc\"", "abc"));
+    assertTrue(Tools.matchEntityTag("abc", "\"def\", W/\"abc\""));
+    assertTrue(Tools.matchEntityTag("abc", "\"def\",\"abc\""));
+    assertTrue(Tools.matchEntityTag("a,b", "\"def\", \"a,b\""));
+    assertTrue(Tools.matchEntityTag("abc", "*"));
+    assertFalse(Tools.matchEntityTag("abc", "\"def\""));
+    assertFalse(Tools.matchEntityTag("abc", "\"abcd\", \"ab\""));
+    assertFalse(Tools.matchEntityTag("abc", ""));
+  }
+
   @Test
   public void testCount() {
     assertEquals(0, Tools.count("a", "b"));
@@ -17,10 +17,12 @@
 package juzu.impl.fs;
 
 import juzu.impl.common.Resource;
+import juzu.impl.fs.spi.disk.DiskFileSystem;
 import juzu.impl.fs.spi.ram.RAMFileSystem;
 import juzu.test.AbstractTestCase;
 import org.junit.Test;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 
@@ -97,4 +99,107 @@ public class ScannerTestCase extends AbstractTestCase {
     snapshot = snapshot.scan();
     assertEquals(Collections.<String, Change>emptyMap(), snapshot.getChanges());
   }
+
+  @Test
+  public void testHashSameTimestamp() throws IOException {
+    RAMFileSystem fs = new RAMFileSystem();
+    FileSystemScanner<String[]> scanner = FileSystemScanner.createHashing(fs);
+
+    //
+    Snapshot<String[]> snapshot = scanner.take();
+    String[] foo = fs.makePath(fs.getRoot(), "foo.txt");
+    fs.updateResource(foo, new Resource("a"));
+    snapshot = snapshot.scan();
+    assertEquals(Collections.singletonMap("/foo.txt", Change.ADD), snapshot.getChanges());
+
+    // Modifications happening during the same millisecond are detected
+    fs.updateResource(foo, new Resource("b"));
+    snapshot = snapshot.scan();
+    assertEquals(Collections.singletonMap("/foo.txt", Change.UPDATE), snapshot.getChanges());
+
+    // Same content is not a modification
+    fs.updateResource(foo, new Resource("b"));
+    waitForOneMillis();
+    snapshot = snapshot.scan();
+    assertEquals(Collections.<String, Change>emptyMap(), snapshot.getChanges());
+  }
+
+  @Test
+  public void testWatching() throws Exception {
+    File root = File.createTempFile("juzu", "");
+    assertTrue(root.delete());
+    assertTrue(root.mkdirs());
+    root.deleteOnExit();
+    DiskFileSystem fs = new DiskFileSystem(root);
+    FileSystemScanner<File> scanner = FileSystemScanner.createWatching(fs);
+    assertInstanceOf(FileSystemScanner.Watching.class, scanner);
+    try {
+      Snapshot<File> snapshot = scanner.take().scan();
+      assertEquals(Collections.<String, Change>emptyMap(), snapshot.getChanges());
+
+      //
+      File bar = new File(new File(root, "foo"), "bar.txt");
+      fs.updateResource(bar, new Resource("a"));
+      snapshot = scan(snapshot);
+      assertEquals(Collections.singletonMap("/foo/bar.txt", Change.ADD), snapshot.getChanges());
+
+      //
+      fs.updateResource(bar, new Resource("b"));
+      snapshot = scan(snapshot);
+      assertEquals(Collections.singletonMap("/foo/bar.txt", Change.UPDATE), snapshot.getChanges());
+
+      //
+      fs.updateResource(new File(new File(root, "foo"), ".juu"), new Resource("c"));
+      fs.updateResource(bar, new Resource("c"));
+      snapshot = scan(snapshot);
+      assertEquals(Collections.singletonMap("/foo/bar.txt", Change.UPDATE), snapshot.getChanges());
+
+      //
+      assertTrue(bar.delete());
+      snapshot = scan(snapshot);
+      assertEquals(Collections.singletonMap("/foo/bar.txt", Change.REMOVE), snapshot.getChanges());
+    }
+    finally {
+      scanner.close();
+    }
+  }
+
+  @Test
+  public void testWatchingPrune() throws Exception {
+    File root = File.createTempFile("juzu", "");
+    assertTrue(root.delete());
+    assertTrue(root.mkdirs());
+    root.deleteOnExit();
+    DiskFileSystem fs = new DiskFileSystem(root);
+    FileSystemScanner<File> scanner = FileSystemScanner.createWatching(fs);
+    try {
+      Snapshot<File> s0 = scanner.take().scan();
+      File foo = new File(root, "foo.txt");
+      fs.updateResource(foo, new Resource("a"));
+      Snapshot<File> s1 = scan(s0);
+      fs.updateResource(foo, new Resource("b"));
+      Snapshot<File> s2 = scan(s1);
+      assertEquals(Collections.singletonMap("/foo.txt", Change.UPDATE), s2.getChanges());
+
+      // Scanning s2 prunes the events older than s2, an older snapshot must traverse the file system
+      s2.scan();
+      assertEquals(Collections.singletonMap("/foo.txt", Change.UPDATE), s1.scan().getChanges());
+      assertEquals(Collections.singletonMap("/foo.txt", Change.ADD), s0.scan().getChanges());
+    }
+    finally {
+      scanner.close();
+    }
+  }
+
+  private <P> Snapshot<P> scan(Snapshot<P> snapshot) throws Exception {
+    // Events are delivered asynchronously
+    for (int i = 0;i < 100;i++) {
+      Snapshot<P> next = snapshot.scan();
+      if (next.hasChanges()) {
+        return next;
+      }
+      Thread.sleep(100);
+    }
+    throw failure("No changes detected");
+  }
 }
@@ -26,13 +26,14 @@ import juzu.Application;
 import juzu.impl.plugin.application.metamodel.ApplicationMetaModel;
 import juzu.impl.plugin.module.metamodel.ModuleMetaModel;
 import juzu.impl.common.JSON;
-import juzu.impl.common.Tools;
 import juzu.test.AbstractTestCase;
 import juzu.test.CompilerAssert;
 import juzu.test.JavaFile;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.util.Collections;
 import java.util.List;
 
@@ -48,7 +49,7 @@ public class ApplicationMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    ModuleMetaModel mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    ModuleMetaModel mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
     List<MetaModelEvent> events = mm.getQueue().clear();
     assertEquals(1, events.size());
     assertEquals(MetaModelEvent.AFTER_ADD, events.get(0).getType());
@@ -73,10 +74,10 @@ public class ApplicationMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState b = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState b = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)b.metaModel;
     mm.getQueue().clear();
-    Tools.serialize(b, ser);
+    b.write(new FileOutputStream(ser));
 
     //
     JavaFile pkgFile = helper.assertJavaSource("metamodel.application.package-info");
@@ -93,7 +94,7 @@ public class ApplicationMetaModelTestCase extends AbstractTestCase {
     //
     helper.assertCompile();
     ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     List<MetaModelEvent> events = mm.getQueue().clear();
@@ -120,10 +121,10 @@ public class ApplicationMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     assertTrue(helper.getSourcePath().getPath("metamodel", "application", "package-info.java").delete());
@@ -131,7 +132,7 @@ public class ApplicationMetaModelTestCase extends AbstractTestCase {
     //
     helper.assertCompile();
     ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     List<MetaModelEvent> events = mm.getQueue().clear();
@@ -35,13 +35,14 @@ import juzu.impl.compiler.ElementHandle;
 import juzu.impl.plugin.controller.metamodel.ControllerMetaModel;
 import juzu.impl.plugin.controller.metamodel.ControllersMetaModel;
 import juzu.impl.common.JSON;
-import juzu.impl.common.Tools;
 import juzu.test.AbstractTestCase;
 import juzu.test.CompilerAssert;
 import juzu.test.JavaFile;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collections;
@@ -59,7 +60,7 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    ModuleMetaModel mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    ModuleMetaModel mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     JSON expected = json()
@@ -99,17 +100,17 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
     CompilerAssert<File, File> helper = incrementalCompiler("metamodel.controller");
     helper.assertCompile();
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     assertDelete(helper.getSourcePath().getPath("metamodel", "controller", "package-info.java"));
 
     //
     helper.assertCompile();
-    mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     JSON expected = json().
@@ -134,17 +135,17 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
     CompilerAssert<File, File> helper = incrementalCompiler("metamodel.controller");
     helper.assertCompile();
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     assertDelete(helper.getSourcePath().getPath("metamodel", "controller", "A.java"));
 
     //
     helper.assertCompile();
-    mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     JSON expected = json()
@@ -171,10 +172,10 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
     CompilerAssert<File, File> helper = incrementalCompiler("metamodel.controller");
     helper.assertCompile();
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     JavaFile file = helper.assertJavaSource("metamodel.controller.A");
@@ -185,7 +186,7 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
 
     //
     helper.assertCompile();
-    mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     JSON expected = json()
@@ -227,10 +228,10 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
     CompilerAssert<File, File> helper = incrementalCompiler("metamodel.controller");
     helper.assertCompile();
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     JavaFile file = helper.assertJavaSource("metamodel.controller.A");
@@ -241,7 +242,7 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
 
     //
     helper.assertCompile();
-    mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     JSON expected = json()
@@ -275,13 +276,13 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     List<MetaModelEvent> events = mm.getQueue().clear();
     assertEquals(1, events.size());
     assertEquals(MetaModelEvent.AFTER_ADD, events.get(0).getType());
     assertTrue(events.get(0).getObject() instanceof ApplicationMetaModel);
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     a.getMembers().add(decl);
@@ -289,7 +290,7 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
     helper.assertCompile();
 
     //
-    mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     JSON expected = json()
@@ -327,10 +328,10 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
     CompilerAssert<File, File> helper = incrementalCompiler("metamodel.controller");
     helper.assertCompile();
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     JavaFile file = helper.assertJavaSource("metamodel.controller.A");
@@ -340,7 +341,7 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
 
     //
     helper.assertCompile();
-    mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     JSON expected = json()
@@ -378,16 +379,16 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     assertTrue(a.getMembers().remove(show));
     file.assertSave();
     helper.assertCompile();
-    mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     JSON expected = json()
@@ -433,10 +434,10 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     assertTrue(a.getMembers().remove(index));
@@ -444,7 +445,7 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
 
     //
     helper.assertCompile();
-    mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     JSON expected = json()
@@ -482,10 +483,10 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     File file = helper.getSourcePath().getPath("metamodel", "controller", "A.java");
@@ -499,7 +500,7 @@ public class ControllerMetaModelTestCase extends AbstractTestCase {
 
     //
     helper.assertCompile();
-    mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     List<MetaModelEvent> events = mm.getQueue().clear();
@@ -23,13 +23,13 @@ import japa.parser.ast.body.Parameter;
 import japa.parser.ast.expr.AnnotationExpr;
 import juzu.impl.plugin.module.metamodel.ModuleMetaModel;
 import juzu.impl.common.JSON;
-import juzu.impl.common.Tools;
 import juzu.test.AbstractTestCase;
 import juzu.test.CompilerAssert;
 import juzu.test.JavaFile;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
 
 import static juzu.impl.common.JSON.json;
 
@@ -67,7 +67,7 @@ public class ParamMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    ModuleMetaModel mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    ModuleMetaModel mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
     assertEquals(expectedJSON, mm.toJSON());
   }
 
@@ -105,7 +105,7 @@ public class ParamMetaModelTestCase extends AbstractTestCase {
 
     // Check
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    ModuleMetaModel mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    ModuleMetaModel mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
     assertEquals(expectedJSON, mm.toJSON());
   }
 }
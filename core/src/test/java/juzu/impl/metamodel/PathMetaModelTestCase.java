@@ -24,6 +24,8 @@ import juzu.test.CompilerAssert;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.util.List;
 
 import static juzu.impl.common.JSON.json;
@@ -38,7 +40,7 @@ public class PathMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    ModuleMetaModel mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    ModuleMetaModel mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     JSON expected = json()
@@ -70,7 +72,7 @@ public class PathMetaModelTestCase extends AbstractTestCase {
     //
     helper.assertCompile();
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    ModuleMetaModel mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    ModuleMetaModel mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     JSON expected = json()
@@ -99,7 +101,7 @@ public class PathMetaModelTestCase extends AbstractTestCase {
     //
     helper.assertCompile();
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    ModuleMetaModel mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    ModuleMetaModel mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     JSON expected = json()
@@ -124,7 +126,7 @@ public class PathMetaModelTestCase extends AbstractTestCase {
     //
     helper.assertCompile();
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    ModuleMetaModel mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    ModuleMetaModel mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     JSON expected = json().
@@ -143,10 +145,10 @@ public class PathMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     File pkg = helper.getSourcePath().getPath("metamodel", "path", "package-info.java");
@@ -161,7 +163,7 @@ public class PathMetaModelTestCase extends AbstractTestCase {
     //
     helper.assertCompile();
     ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    mm = (ModuleMetaModel)Tools.unserialize(MetaModelState.class, ser).metaModel;
+    mm = (ModuleMetaModel)MetaModelState.read(new FileInputStream(ser)).metaModel;
 
     //
     JSON expected = json()
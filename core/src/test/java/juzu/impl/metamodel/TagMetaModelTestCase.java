@@ -22,7 +22,6 @@ import japa.parser.ast.expr.NormalAnnotationExpr;
 import japa.parser.ast.expr.SingleMemberAnnotationExpr;
 import japa.parser.ast.expr.StringLiteralExpr;
 import juzu.impl.common.Path;
-import juzu.impl.common.Tools;
 import juzu.impl.plugin.module.metamodel.ModuleMetaModel;
 import juzu.impl.plugin.template.metamodel.TemplateMetaModel;
 import juzu.test.AbstractTestCase;
@@ -31,6 +30,8 @@ import juzu.test.JavaFile;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.util.List;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
@@ -58,14 +59,14 @@ public class TagMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     helper.assertCompile();
-    unserialize = Tools.unserialize(MetaModelState.class, ser);
+    unserialize = MetaModelState.read(new FileInputStream(ser));
     mm = (ModuleMetaModel)unserialize.metaModel;
     List<MetaModelEvent> events = mm.getQueue().clear();
     assertEquals(2, events.size());
@@ -90,14 +91,14 @@ public class TagMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     helper.assertCompile();
-    unserialize = Tools.unserialize(MetaModelState.class, ser);
+    unserialize = MetaModelState.read(new FileInputStream(ser));
     mm = (ModuleMetaModel)unserialize.metaModel;
     List<MetaModelEvent> events = mm.getQueue().clear();
     assertEquals(1, events.size());
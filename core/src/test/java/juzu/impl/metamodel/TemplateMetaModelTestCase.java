@@ -31,6 +31,8 @@ import juzu.test.JavaFile;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.StringReader;
 import java.util.Collection;
@@ -89,16 +91,16 @@ public class TemplateMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     helper.assertCompile();
 
     //
-    unserialize = Tools.unserialize(MetaModelState.class, ser);
+    unserialize = MetaModelState.read(new FileInputStream(ser));
     mm = (ModuleMetaModel)unserialize.metaModel;
     List<MetaModelEvent> events = mm.getQueue().clear();
     assertEquals(1, events.size());
@@ -116,10 +118,10 @@ public class TemplateMetaModelTestCase extends AbstractTestCase {
 
     //
     File ser = helper.getSourceOutput().getPath("juzu", "metamodel.ser");
-    MetaModelState unserialize = Tools.unserialize(MetaModelState.class, ser);
+    MetaModelState unserialize = MetaModelState.read(new FileInputStream(ser));
     ModuleMetaModel mm = (ModuleMetaModel)unserialize.metaModel;
     List<MetaModelEvent> events = mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     assertEquals(2, events.size());
@@ -138,10 +140,10 @@ public class TemplateMetaModelTestCase extends AbstractTestCase {
 
     // Compile
     helper.assertCompile();
-    unserialize = Tools.unserialize(MetaModelState.class, ser);
+    unserialize = MetaModelState.read(new FileInputStream(ser));
     mm = (ModuleMetaModel)unserialize.metaModel;
     events = mm.getQueue().clear();
-    Tools.serialize(unserialize, ser);
+    unserialize.write(new FileOutputStream(ser));
 
     //
     assertEquals(1, events.size());
@@ -160,7 +162,7 @@ public class TemplateMetaModelTestCase extends AbstractTestCase {
 
     // Compile
     helper.assertCompile();
-    unserialize = Tools.unserialize(MetaModelState.class, ser);
+    unserialize = MetaModelState.read(new FileInputStream(ser));
     mm = (ModuleMetaModel)unserialize.metaModel;
     events = mm.getQueue().clear();
 
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.metrics;
+
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+/**
+ * @author Julien Viet
+ */
+public class HistogramTestCase extends AbstractTestCase {
+
+  @Test
+  public void testBuckets() {
+    for (long value = 0;value < Histogram.SUB_BUCKETS;value++) {
+      assertEquals(value, Histogram.highestValueOf(Histogram.indexOf(value)));
+    }
+    int previous = -1;
+    for (long value = 0;value < 1000000;value++) {
+      int index = Histogram.indexOf(value);
+      assertTrue(index == previous || index == previous + 1);
+      assertTrue(Histogram.highestValueOf(index) >= value);
+      assertTrue(Histogram.highestValueOf(index) - value <= value * 2 / Histogram.SUB_BUCKETS);
+      previous = index;
+    }
+    assertEquals(Long.MAX_VALUE, Histogram.highestValueOf(Histogram.indexOf(Long.MAX_VALUE)));
+  }
+
+  @Test
+  public void testEmpty() {
+    Histogram histogram = new Histogram();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMin());
+    assertEquals(0, histogram.getMax());
+    assertEquals(0, histogram.getValueAtPercentile(50));
+    assertEquals(0d, histogram.getMean());
+  }
+
+  @Test
+  public void testPercentiles() {
+    Histogram histogram = new Histogram();
+    for (int i = 1;i <= 1000;i++) {
+      histogram.record(i * 1000);
+    }
+    assertEquals(1000, histogram.getCount());
+    assertEquals(1000, histogram.getMin());
+    assertEquals(1000000, histogram.getMax());
+    assertEquals(500500d, histogram.getMean());
+    assertApproximately(500000, histogram.getValueAtPercentile(50));
+    assertApproximately(990000, histogram.getValueAtPercentile(99));
+    assertEquals(1000000, histogram.getValueAtPercentile(100));
+    assertEquals(1000, histogram.getValueAtPercentile(0) / 1000 * 1000);
+    try {
+      histogram.getValueAtPercentile(101);
+      fail();
+    }
+    catch (IllegalArgumentException expected) {
+    }
+  }
+
+  private void assertApproximately(long expected, long value) {
+    assertTrue("Was expecting " + value + " to be close to " + expected, value >= expected && value - expected <= expected * 2 / Histogram.SUB_BUCKETS);
+  }
+}
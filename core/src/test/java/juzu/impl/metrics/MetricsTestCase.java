@@ -0,0 +1,88 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.metrics;
+
+import juzu.impl.common.Name;
+import juzu.impl.inject.spi.InjectorProvider;
+import juzu.test.AbstractInjectTestCase;
+import juzu.test.protocol.mock.MockApplication;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * @author Julien Viet
+ */
+public class MetricsTestCase extends AbstractInjectTestCase {
+
+  public MetricsTestCase(InjectorProvider di) {
+    super(di);
+  }
+
+  @Test
+  public void testCreate() throws Exception {
+    ClassLoader loader = getClass().getClassLoader();
+    assertSame(Metrics.NONE, Metrics.create(null, null, loader));
+    assertSame(Metrics.NONE, Metrics.create(" none ", null, loader));
+    assertFalse(Metrics.NONE.isEnabled());
+    assertTrue(Metrics.create("memory", null, loader) instanceof MemoryMetrics);
+    assertTrue(Metrics.create(MemoryMetrics.class.getName(), null, loader) instanceof MemoryMetrics);
+    Metrics jmx = Metrics.create("jmx", Name.parse("metrics.create"), loader);
+    assertTrue(jmx instanceof JMXMetrics);
+    jmx.close();
+  }
+
+  @Test
+  public void testMemory() {
+    MemoryMetrics metrics = new MemoryMetrics();
+    assertSame(metrics.getTimer("foo"), metrics.getTimer("foo"));
+    metrics.getTimer("foo").update(5);
+    metrics.getCounter("bar").inc(2);
+    metrics.getCounter("bar").inc(1);
+    assertEquals(1, metrics.getTimers().get("foo").getHistogram().getCount());
+    assertEquals(3, metrics.getCounters().get("bar").getCount());
+  }
+
+  @Test
+  public void testJMX() throws Exception {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    JMXMetrics metrics = new JMXMetrics(server, "metrics.jmx");
+    metrics.getTimer("foo").update(5000);
+    metrics.getCounter("bar").inc(3);
+    ObjectName timer = metrics.getObjectName("timer", "foo");
+    ObjectName counter = metrics.getObjectName("counter", "bar");
+    assertEquals(1L, server.getAttribute(timer, "Count"));
+    assertEquals(5L, server.getAttribute(timer, "Max"));
+    assertEquals(3L, server.getAttribute(counter, "Count"));
+    metrics.close();
+    assertFalse(server.isRegistered(timer));
+    assertFalse(server.isRegistered(counter));
+  }
+
+  @Test
+  public void testRequest() throws Exception {
+    MemoryMetrics metrics = new MemoryMetrics();
+    MockApplication<?> app = application("plugin.template.simple").with(metrics).init();
+    app.client().render();
+    assertEquals(1, metrics.getTimers().get("stage.Unmarshalling").getHistogram().getCount());
+    assertEquals(1, metrics.getTimers().get("stage.Invoke").getHistogram().getCount());
+    assertEquals(1, metrics.getTimers().get("controller.plugin.template.simple.A#index()").getHistogram().getCount());
+    assertEquals(1, metrics.getTimers().get("template.plugin.template.simple.templates.index").getHistogram().getCount());
+    assertNull(metrics.getCounters().get("controller.plugin.template.simple.A#index().errors"));
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.impl.plugin.asset;
+
+import juzu.impl.common.Tools;
+import juzu.impl.compiler.BuildCache;
+import juzu.test.AbstractTestCase;
+import juzu.test.CompilerAssert;
+import org.junit.Test;
+
+import java.io.File;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+public class AssetBuildCacheTestCase extends AbstractTestCase {
+
+  @Test
+  public void testMinified() throws Exception {
+    CompilerAssert<File, File> compiler = compiler("plugin.asset.minifier.normalizejs");
+    compiler.assertCompile();
+    File classOutput = compiler.getClassOutput().getRoot();
+    File minified = new File(classOutput, "plugin/asset/minifier/normalizejs/assets/test-min.js");
+    assertEquals("a = 0;", Tools.read(minified).trim());
+    File[] entries = new File(classOutput.getParentFile(), "juzu-build-cache").listFiles();
+    assertNotNull(entries);
+    assertEquals(1, entries.length);
+
+    // Rebuild the minified asset from the cache
+    Tools.write("cached", entries[0]);
+    assertTrue(minified.delete());
+    compiler.assertCompile();
+    assertEquals("cached", Tools.read(minified));
+  }
+
+  @Test
+  public void testPrune() throws Exception {
+    File directory = File.createTempFile("juzu", "");
+    assertTrue(directory.delete());
+    BuildCache cache = new BuildCache(directory);
+    cache.put("foo", new byte[]{0});
+    cache.put("bar", new byte[]{1});
+    File foo = new File(directory, "foo");
+    long time = (System.currentTimeMillis() / 1000) * 1000;
+    assertTrue(foo.setLastModified(time - BuildCache.MAX_AGE - 1000));
+
+    // Using an old entry updates its last modification
+    assertNotNull(cache.get("foo"));
+    assertTrue(foo.lastModified() >= time);
+
+    //
+    assertTrue(foo.setLastModified(time - BuildCache.MAX_AGE - 1000));
+    cache.prune(time - BuildCache.MAX_AGE);
+    assertNull(cache.get("foo"));
+    assertNotNull(cache.get("bar"));
+  }
+}
@@ -25,8 +25,11 @@ import juzu.test.protocol.mock.MockClient;
 import juzu.test.protocol.mock.MockViewBridge;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class ExecutionFilterTestCase extends AbstractInjectTestCase {
@@ -38,6 +41,9 @@ public class ExecutionFilterTestCase extends AbstractInjectTestCase {
   /** . */
   public static final LinkedList<String> events = new LinkedList<String>();
 
+  /** The filter instances wrapping a command. */
+  public static final List<Object> filters = Collections.synchronizedList(new ArrayList<Object>());
+
   @Test
   public void testLifeCycle() throws Exception {
     events.clear();
@@ -48,4 +54,14 @@ public class ExecutionFilterTestCase extends AbstractInjectTestCase {
     assertEquals((Object)Arrays.asList("execute", "onCommand", "beforeRun", "run", "afterRun", "hello"), events);
   }
 
+  @Test
+  public void testRequestScope() throws Exception {
+    filters.clear();
+    MockApplication<?> app = application("plugin.controller.executionfilter.scope").init();
+    MockClient client = app.client();
+    assertEquals("hello", client.render().assertStringResponse());
+    assertEquals("hello", client.render().assertStringResponse());
+    assertEquals(2, filters.size());
+    assertNotSame(filters.get(0), filters.get(1));
+  }
 }
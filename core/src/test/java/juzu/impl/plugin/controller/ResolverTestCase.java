@@ -26,6 +26,7 @@ import juzu.test.CompilerAssert;
 import org.junit.Test;
 
 import java.util.Collections;
+import java.util.HashSet;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class ResolverTestCase extends AbstractTestCase {
@@ -70,6 +71,14 @@ public class ResolverTestCase extends AbstractTestCase {
     }
     catch (AmbiguousResolutionException e) {
     }
+
+    // Resolutions are memoized, the ambiguity must still be reported
+    try {
+      resolver.resolve(Phase.VIEW, Collections.<String>emptySet());
+      fail();
+    }
+    catch (AmbiguousResolutionException e) {
+    }
   }
 
   /**
@@ -140,6 +149,29 @@ public class ResolverTestCase extends AbstractTestCase {
     assertEquals(Tools.<String>set(), handler.getParameterNames());
   }
 
+  @Test
+  public void testMemoizedOverload() throws Exception {
+    CompilerAssert<?, ?> compiler = compiler("plugin.controller.resolver.overload");
+    compiler.assertCompile();
+    Class<?> appClass = compiler.assertClass("plugin.controller.resolver.overload.Application");
+    ApplicationDescriptor desc = ApplicationDescriptor.create(appClass);
+    ControllersDescriptor controllerDesc = new ControllersDescriptor(desc);
+    ControllerResolver<ControllerHandler> resolver = controllerDesc.getResolver();
+
+    //
+    HashSet<String> names = new HashSet<String>(Tools.<String>set("foo"));
+    ControllerHandler handler = resolver.resolveMethod(Phase.VIEW, "A.m", names);
+    assertEquals(Tools.<String>set("foo"), handler.getParameterNames());
+    assertSame(handler, resolver.resolveMethod(Phase.VIEW, "A.m", Tools.<String>set("foo")));
+
+    // Modifying the argument must not alter the memoized resolution
+    names.add("bar");
+    handler = resolver.resolveMethod(Phase.VIEW, "A.m", names);
+    assertEquals(Tools.<String>set("foo", "bar"), handler.getParameterNames());
+    handler = resolver.resolveMethod(Phase.VIEW, "A.m", Tools.<String>set("foo"));
+    assertEquals(Tools.<String>set("foo"), handler.getParameterNames());
+  }
+
   @Test
   public void testResolution() throws Exception {
     CompilerAssert<?, ?> compiler = compiler("plugin.controller.resolver.method");
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.impl.runtime;
+
+import juzu.impl.common.Completion;
+import juzu.impl.common.Logger;
+import juzu.impl.common.Resource;
+import juzu.impl.fs.spi.ram.RAMFileSystem;
+import juzu.test.AbstractTestCase;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.logging.Level;
+
+/** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
+public class ModuleRuntimeTestCase extends AbstractTestCase {
+
+  @Test
+  public void testIncremental() throws Exception {
+    RAMFileSystem fs = new RAMFileSystem();
+    String[] a = fs.makePath(fs.makePath(fs.getRoot(), "pkg"), "A.java");
+    String[] b = fs.makePath(fs.makePath(fs.getRoot(), "pkg"), "B.java");
+    String[] c = fs.makePath(fs.makePath(fs.getRoot(), "pkg"), "C.java");
+    fs.updateResource(a, new Resource("package pkg; public class A { public static String value() { return \"a\"; } }"));
+    fs.updateResource(b, new Resource("package pkg; public class B { public String toString() { return A.value(); } }"));
+    fs.updateResource(c, new Resource("package pkg; public class C { public String toString() { return \"c\"; } }"));
+
+    //
+    final ArrayList<String> messages = new ArrayList<String>();
+    Logger logger = new Logger() {
+      @Override
+      protected void send(Level level, CharSequence msg, Throwable t) {
+        messages.add(msg.toString());
+      }
+    };
+    ModuleRuntime.Dynamic<String[]> runtime = new ModuleRuntime.Dynamic<String[]>(logger, Thread.currentThread().getContextClassLoader(), fs);
+    assertRefresh(runtime);
+    assertFalse(messages.toString(), messages.toString().contains("Recompiling"));
+    assertEquals("a", runtime.getClassLoader().loadClass("pkg.B").newInstance().toString());
+
+    // Only A and its dependent B are recompiled
+    messages.clear();
+    fs.updateResource(a, new Resource("package pkg; public class A { public static String value() { return \"b\"; } }"));
+    assertRefresh(runtime);
+    assertTrue(messages.toString(), messages.contains("Recompiling 2 compilation units"));
+    assertEquals("b", runtime.getClassLoader().loadClass("pkg.B").newInstance().toString());
+    assertEquals("c", runtime.getClassLoader().loadClass("pkg.C").newInstance().toString());
+
+    // C has no dependents
+    messages.clear();
+    fs.updateResource(c, new Resource("package pkg; public class C { public String toString() { return \"d\"; } }"));
+    assertRefresh(runtime);
+    assertTrue(messages.toString(), messages.contains("Recompiling 1 compilation units"));
+    assertEquals("d", runtime.getClassLoader().loadClass("pkg.C").newInstance().toString());
+
+    // A removal triggers a full build
+    messages.clear();
+    fs.removePath(c);
+    assertRefresh(runtime);
+    assertFalse(messages.toString(), messages.toString().contains("Recompiling"));
+    assertEquals("b", runtime.getClassLoader().loadClass("pkg.B").newInstance().toString());
+    try {
+      runtime.getClassLoader().loadClass("pkg.C");
+      fail();
+    }
+    catch (ClassNotFoundException ignore) {
+    }
+  }
+
+  @Test
+  public void testConstant() throws Exception {
+    RAMFileSystem fs = new RAMFileSystem();
+    String[] a = fs.makePath(fs.makePath(fs.getRoot(), "pkg"), "A.java");
+    String[] b = fs.makePath(fs.makePath(fs.getRoot(), "pkg"), "B.java");
+    String[] c = fs.makePath(fs.makePath(fs.getRoot(), "pkg"), "C.java");
+    fs.updateResource(a, new Resource("package pkg; public class A { public static final String VALUE = \"a\"; }"));
+    fs.updateResource(b, new Resource("package pkg; public class B { public String toString() { return A.VALUE; } }"));
+    fs.updateResource(c, new Resource("package pkg; public class C { public String toString() { return \"c\"; } }"));
+
+    //
+    final ArrayList<String> messages = new ArrayList<String>();
+    Logger logger = new Logger() {
+      @Override
+      protected void send(Level level, CharSequence msg, Throwable t) {
+        messages.add(msg.toString());
+      }
+    };
+    ModuleRuntime.Dynamic<String[]> runtime = new ModuleRuntime.Dynamic<String[]>(logger, Thread.currentThread().getContextClassLoader(), fs);
+    assertRefresh(runtime);
+    assertEquals("a", runtime.getClassLoader().loadClass("pkg.B").newInstance().toString());
+
+    // B inlines the constant of A, so a change of A triggers a full build
+    messages.clear();
+    fs.updateResource(a, new Resource("package pkg; public class A { public static final String VALUE = \"b\"; }"));
+    assertRefresh(runtime);
+    assertFalse(messages.toString(), messages.toString().contains("Recompiling"));
+    assertEquals("b", runtime.getClassLoader().loadClass("pkg.B").newInstance().toString());
+
+    // C does not declare constants
+    messages.clear();
+    fs.updateResource(c, new Resource("package pkg; public class C { public String toString() { return \"d\"; } }"));
+    assertRefresh(runtime);
+    assertTrue(messages.toString(), messages.contains("Recompiling 1 compilation units"));
+    assertEquals("d", runtime.getClassLoader().loadClass("pkg.C").newInstance().toString());
+  }
+
+  @Test
+  public void testLocalClasses() throws Exception {
+    RAMFileSystem fs = new RAMFileSystem();
+    String[] a = fs.makePath(fs.makePath(fs.getRoot(), "pkg"), "A.java");
+    String[] b = fs.makePath(fs.makePath(fs.getRoot(), "pkg"), "B.java");
+    String[] c = fs.makePath(fs.makePath(fs.getRoot(), "pkg"), "C.java");
+    fs.updateResource(a, new Resource("package pkg; public class A { public static String value() { return \"a\"; } }"));
+    fs.updateResource(b, new Resource("package pkg; public class B { public String toString() { return A.value(); } }"));
+    fs.updateResource(c, new Resource("package pkg; public class C { public String toString() { return \"c\"; } }"));
+
+    // The parent class loader contains the same classes
+    ClassLoader base = Thread.currentThread().getContextClassLoader();
+    ModuleRuntime.Dynamic<String[]> previous = new ModuleRuntime.Dynamic<String[]>(Logger.SYSTEM, base, fs);
+    assertRefresh(previous);
+    ClassLoader parent = new URLClassLoader(new URL[]{previous.getClasses().getURL()}, base);
+
+    //
+    ModuleRuntime.Dynamic<String[]> runtime = new ModuleRuntime.Dynamic<String[]>(Logger.SYSTEM, parent, fs);
+    assertRefresh(runtime);
+    assertSame(parent, runtime.getClassLoader().loadClass("pkg.A").getClassLoader());
+    assertSame(parent, runtime.getClassLoader().loadClass("pkg.B").getClassLoader());
+    assertSame(parent, runtime.getClassLoader().loadClass("pkg.C").getClassLoader());
+
+    // A is modified and B depends on it
+    fs.updateResource(a, new Resource("package pkg; public class A { public static String value() { return \"b\"; } }"));
+    assertRefresh(runtime);
+    assertSame(runtime.getClassLoader(), runtime.getClassLoader().loadClass("pkg.A").getClassLoader());
+    assertSame(runtime.getClassLoader(), runtime.getClassLoader().loadClass("pkg.B").getClassLoader());
+    assertSame(parent, runtime.getClassLoader().loadClass("pkg.C").getClassLoader());
+    assertEquals("b", runtime.getClassLoader().loadClass("pkg.B").newInstance().toString());
+  }
+
+  private void assertRefresh(ModuleRuntime<String[]> runtime) {
+    Completion<Boolean> refresh = runtime.refresh(true);
+    if (refresh.isFailed()) {
+      throw failure(refresh.getCause());
+    }
+    assertTrue(refresh.get());
+  }
+}
@@ -21,6 +21,7 @@ import juzu.impl.common.Name;
 import juzu.impl.common.RunMode;
 import juzu.impl.common.Tools;
 import juzu.impl.inject.spi.InjectorProvider;
+import juzu.impl.metrics.Metrics;
 import juzu.impl.plugin.application.Application;
 import juzu.impl.runtime.ApplicationRuntime;
 import juzu.impl.fs.spi.ReadFileSystem;
@@ -62,6 +63,9 @@ public class MockApplication<P> implements Closeable, ApplicationContext {
   /** . */
   private final Name name;
 
+  /** . */
+  private Metrics metrics = Metrics.NONE;
+
   public <L> MockApplication(
       CompilerAssert<P, P> compiler,
       InjectorProvider injector,
@@ -90,8 +94,17 @@ public class MockApplication<P> implements Closeable, ApplicationContext {
             public URL resolve(String uri) {
               return null;
             }
-          });
+          },
+          metrics);
+    }
+    return this;
+  }
+
+  public MockApplication<P> with(Metrics metrics) {
+    if (lifeCycle != null) {
+      throw new IllegalStateException("Application already compiled");
     }
+    this.metrics = metrics;
     return this;
   }
 
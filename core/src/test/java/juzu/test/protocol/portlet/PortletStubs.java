@@ -0,0 +1,165 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.test.protocol.portlet;
+
+import juzu.impl.bridge.Bridge;
+import juzu.impl.common.Completion;
+import juzu.impl.common.RunMode;
+import juzu.impl.plugin.application.Application;
+
+import javax.portlet.PortletConfig;
+import javax.portlet.PortletURL;
+import javax.portlet.RenderRequest;
+import javax.portlet.RenderResponse;
+import javax.portlet.ResourceURL;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stubs of the portlet objects used by a portlet request bridge, they allow to render urls without a portlet
+ * container. A stub url renders its current parameters, so the parameters of each rendered url can be checked.
+ *
+ * @author Julien Viet
+ */
+public class PortletStubs {
+
+  /** The number of urls created by the stub responses. */
+  private int created;
+
+  public int getCreated() {
+    return created;
+  }
+
+  public Bridge bridge(final Application application) {
+    return new Bridge(null, null, null, null) {
+      @Override
+      public RunMode getRunMode() {
+        return RunMode.PROD;
+      }
+      @Override
+      public Completion<Boolean> refresh(boolean recompile) {
+        return Completion.completed(false);
+      }
+      @Override
+      public Application getApplication() {
+        return application;
+      }
+      public void close() {
+      }
+    };
+  }
+
+  public RenderRequest renderRequest() {
+    return stub(RenderRequest.class, new InvocationHandler() {
+      public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("getParameterMap")) {
+          return Collections.emptyMap();
+        } else {
+          return defaultValue(method);
+        }
+      }
+    });
+  }
+
+  public RenderResponse renderResponse() {
+    return stub(RenderResponse.class, new InvocationHandler() {
+      public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.equals("createRenderURL")) {
+          return url(PortletURL.class, "render");
+        } else if (name.equals("createActionURL")) {
+          return url(PortletURL.class, "action");
+        } else if (name.equals("createResourceURL")) {
+          return url(ResourceURL.class, "resource");
+        } else {
+          return defaultValue(method);
+        }
+      }
+    });
+  }
+
+  public PortletConfig config() {
+    return stub(PortletConfig.class, new InvocationHandler() {
+      public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        return defaultValue(method);
+      }
+    });
+  }
+
+  private <U> U url(Class<U> type, final String path) {
+    created++;
+    final TreeMap<String, String[]> parameters = new TreeMap<String, String[]>();
+    return stub(type, new InvocationHandler() {
+      public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.equals("setParameters")) {
+          parameters.clear();
+          for (Map.Entry<?, ?> parameter : ((Map<?, ?>)args[0]).entrySet()) {
+            parameters.put((String)parameter.getKey(), (String[])parameter.getValue());
+          }
+          return null;
+        } else if (name.equals("setParameter")) {
+          parameters.put((String)args[0], args[1] instanceof String ? new String[]{(String)args[1]} : (String[])args[1]);
+          return null;
+        } else if (name.equals("getParameterMap")) {
+          return new TreeMap<String, String[]>(parameters);
+        } else if (name.equals("toString")) {
+          return render(path, parameters);
+        } else if (name.equals("write")) {
+          ((Writer)args[0]).write(render(path, parameters));
+          return null;
+        } else {
+          return defaultValue(method);
+        }
+      }
+    });
+  }
+
+  private static String render(String path, Map<String, String[]> parameters) {
+    StringBuilder sb = new StringBuilder(path);
+    char separator = '?';
+    for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+      for (String value : parameter.getValue()) {
+        sb.append(separator).append(parameter.getKey()).append('=').append(value);
+        separator = '&';
+      }
+    }
+    return sb.toString();
+  }
+
+  private static <S> S stub(Class<S> type, InvocationHandler handler) {
+    return type.cast(Proxy.newProxyInstance(PortletStubs.class.getClassLoader(), new Class<?>[]{type}, handler));
+  }
+
+  private static Object defaultValue(Method method) {
+    Class<?> type = method.getReturnType();
+    if (type == boolean.class) {
+      return false;
+    } else if (type == int.class) {
+      return 0;
+    } else if (type == long.class) {
+      return 0L;
+    } else {
+      return null;
+    }
+  }
+}
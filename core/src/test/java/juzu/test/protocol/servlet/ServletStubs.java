@@ -0,0 +1,144 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.test.protocol.servlet;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Stubs of the servlet objects used by a servlet request context, they allow to exercise the servlet bridge without
+ * a servlet container.
+ *
+ * @author Julien Viet
+ */
+public class ServletStubs {
+
+  /** True when the async mode of the request created by {@link #asyncRequest()} is started. */
+  public boolean asyncStarted;
+
+  /** The number of times the async context of the request created by {@link #asyncRequest()} was completed. */
+  public int asyncCompletions;
+
+  public HttpServletRequest request(final String method, final String contentType, final byte[] entity) {
+    return stub(HttpServletRequest.class, new InvocationHandler() {
+      public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+        String name = m.getName();
+        if (name.equals("getRequestURI")) {
+          return "/app/";
+        } else if (name.equals("getContextPath")) {
+          return "/app";
+        } else if (name.equals("getMethod")) {
+          return method;
+        } else if (name.equals("getContentType")) {
+          return contentType;
+        } else if (name.equals("getContentLength")) {
+          return entity != null ? entity.length : -1;
+        } else if (name.equals("getInputStream")) {
+          final ByteArrayInputStream in = new ByteArrayInputStream(entity != null ? entity : new byte[0]);
+          return new ServletInputStream() {
+            @Override
+            public int read() throws IOException {
+              return in.read();
+            }
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+              return in.read(b, off, len);
+            }
+          };
+        } else {
+          return defaultValue(m);
+        }
+      }
+    });
+  }
+
+  public HttpServletRequest asyncRequest() {
+    final AsyncContext context = stub(AsyncContext.class, new InvocationHandler() {
+      public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+        String name = m.getName();
+        if (name.equals("complete")) {
+          asyncStarted = false;
+          asyncCompletions++;
+          return null;
+        } else if (name.equals("start")) {
+          ((Runnable)args[0]).run();
+          return null;
+        } else {
+          return defaultValue(m);
+        }
+      }
+    });
+    return stub(HttpServletRequest.class, new InvocationHandler() {
+      public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+        String name = m.getName();
+        if (name.equals("getRequestURI")) {
+          return "/app/";
+        } else if (name.equals("getContextPath")) {
+          return "/app";
+        } else if (name.equals("getMethod")) {
+          return "GET";
+        } else if (name.equals("isAsyncSupported")) {
+          return true;
+        } else if (name.equals("isAsyncStarted")) {
+          return asyncStarted;
+        } else if (name.equals("startAsync")) {
+          asyncStarted = true;
+          return context;
+        } else if (name.equals("getAsyncContext")) {
+          if (!asyncStarted) {
+            throw new IllegalStateException("Async mode not started");
+          }
+          return context;
+        } else {
+          return defaultValue(m);
+        }
+      }
+    });
+  }
+
+  public HttpServletResponse response() {
+    return stub(HttpServletResponse.class, new InvocationHandler() {
+      public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+        return defaultValue(m);
+      }
+    });
+  }
+
+  private static <S> S stub(Class<S> type, InvocationHandler handler) {
+    return type.cast(Proxy.newProxyInstance(ServletStubs.class.getClassLoader(), new Class<?>[]{type}, handler));
+  }
+
+  private static Object defaultValue(Method method) {
+    Class<?> type = method.getReturnType();
+    if (type == boolean.class) {
+      return false;
+    } else if (type == int.class) {
+      return 0;
+    } else if (type == long.class) {
+      return 0L;
+    } else {
+      return null;
+    }
+  }
+}
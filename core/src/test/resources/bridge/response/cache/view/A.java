@@ -0,0 +1,31 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bridge.response.cache.view;
+
+import juzu.CacheScope;
+import juzu.Response;
+import juzu.Route;
+import juzu.View;
+
+/** @author Julien Viet */
+public class A {
+
+  @View
+  @Route("/cached")
+  public Response.Content index() throws Exception {
+    return Response.ok("cached").withCacheScope(CacheScope.PUBLIC).withExpirationCache(60).withETag("\"abc\"");
+  }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+@Bindings(@Binding(value = ScopedFilter.class, scope = Scope.REQUEST))
+@Application
+package plugin.controller.executionfilter.scope;
+
+import juzu.Application;
+import juzu.Scope;
+import juzu.plugin.binding.Binding;
+import juzu.plugin.binding.Bindings;
@@ -16,32 +16,59 @@
 package juzu.plugin.authz;
 
 import juzu.Response;
+import juzu.impl.common.MethodHandle;
+import juzu.impl.plugin.controller.ControllerService;
+import juzu.impl.request.ControllerHandler;
 import juzu.impl.request.Request;
 import juzu.impl.request.RequestFilter;
 import juzu.impl.request.Stage;
 import juzu.request.SecurityContext;
 
+import javax.annotation.PostConstruct;
 import javax.annotation.security.DenyAll;
 import javax.annotation.security.PermitAll;
 import javax.annotation.security.RolesAllowed;
+import javax.inject.Inject;
 import java.lang.reflect.Method;
+import java.util.HashMap;
 
 /**
  * @author Julien Viet
  */
 public class AuthzManager implements RequestFilter<Stage.Handler> {
 
-  @Override
-  public Class<Stage.Handler> getStageType() {
-    return Stage.Handler.class;
+  /** The roles allowed to invoke the protected controller methods, an empty array denies any access. */
+  private HashMap<MethodHandle, String[]> protectedMethods;
+
+  /** . */
+  private final ControllerService controllerPlugin;
+
+  @Inject
+  public AuthzManager(ControllerService controllerPlugin) {
+    this.controllerPlugin = controllerPlugin;
   }
 
-  @Override
-  public Response handle(Stage.Handler argument) {
-    Request request = argument.getRequest();
+  @PostConstruct
+  public void start() {
+    HashMap<MethodHandle, String[]> protectedMethods = new HashMap<MethodHandle, String[]>();
+    for (ControllerHandler<?> handler : controllerPlugin.getDescriptor().getHandlers()) {
+      String[] roles = getRoles(handler.getMethod());
+      if (roles != null) {
+        protectedMethods.put(handler.getHandle(), roles);
+      }
+    }
+    this.protectedMethods = protectedMethods;
+  }
+
+  /**
+   * Returns the roles allowed to invoke a method.
+   *
+   * @param method the method
+   * @return the allowed roles, an empty array when access is denied or null when access is permitted
+   */
+  private static String[] getRoles(Method method) {
 
     // Search for annotation on the method
-    Method method = request.getHandler().getMethod();
     RolesAllowed rolesAllowed = method.getAnnotation(RolesAllowed.class);
     PermitAll permitAll = method.getAnnotation(PermitAll.class);
     DenyAll denyAll = method.getAnnotation(DenyAll.class);
@@ -54,26 +81,37 @@ public class AuthzManager implements RequestFilter<Stage.Handler> {
     }
 
     //
-    boolean ok = false;
     if (denyAll != null) {
-      ok = false;
+      return new String[0];
     } else if (rolesAllowed != null) {
+      return rolesAllowed.value();
+    } else {
+      return null;
+    }
+  }
+
+  @Override
+  public Class<Stage.Handler> getStageType() {
+    return Stage.Handler.class;
+  }
+
+  @Override
+  public Response handle(Stage.Handler argument) {
+    Request request = argument.getRequest();
+    String[] roles = protectedMethods.get(request.getHandler().getHandle());
+    if (roles != null) {
+      boolean ok = false;
       SecurityContext securityContext = request.getSecurityContext();
-      for (String role : rolesAllowed.value()) {
+      for (String role : roles) {
         if (securityContext.isUserInRole(role)) {
           ok = true;
           break;
         }
       }
-    } else {
-      ok = true;
-    }
-
-    //
-    if (!ok) {
-      return new Response.Error.Forbidden("Access denied");
-    } else {
-      return argument.invoke();
+      if (!ok) {
+        return new Response.Error.Forbidden("Access denied");
+      }
     }
+    return argument.invoke();
   }
 }
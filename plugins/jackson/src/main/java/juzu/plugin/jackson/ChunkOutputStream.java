@@ -0,0 +1,50 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.plugin.jackson;
+
+import juzu.io.Chunk;
+import juzu.io.Stream;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Adapts a {@link Stream} as an output stream, each write provides a byte chunk to the stream. The bytes are copied
+ * since the stream may retain the chunk after the write returns.
+ *
+ * @author Julien Viet
+ */
+class ChunkOutputStream extends OutputStream {
+
+  /** . */
+  private final Stream stream;
+
+  ChunkOutputStream(Stream stream) {
+    this.stream = stream;
+  }
+
+  @Override
+  public void write(int b) {
+    stream.provide(Chunk.create(new byte[]{(byte)b}));
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) {
+    if (len > 0) {
+      stream.provide(Chunk.create(Arrays.copyOfRange(b, off, off + len)));
+    }
+  }
+}
@@ -15,17 +15,50 @@
  */
 package juzu.plugin.jackson;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * Annotate an object to be marked as mapped by Jackson.
+ * Annotate an object to be marked as mapped by Jackson. When annotating an application package, the annotation
+ * configures the object mapper shared by the application.
  *
  * @author Julien Viet
  */
 @Retention(RetentionPolicy.RUNTIME)
-@Target({ElementType.PARAMETER, ElementType.METHOD})
+@Target({ElementType.PARAMETER, ElementType.METHOD, ElementType.PACKAGE})
 public @interface Jackson {
+
+  /**
+   * The serialization features to enable on the application mapper, this is only used on an application package.
+   *
+   * @return the enabled serialization features
+   */
+  SerializationFeature[] enableSerialization() default {};
+
+  /**
+   * The serialization features to disable on the application mapper, this is only used on an application package.
+   *
+   * @return the disabled serialization features
+   */
+  SerializationFeature[] disableSerialization() default {};
+
+  /**
+   * The deserialization features to enable on the application mapper, this is only used on an application package.
+   *
+   * @return the enabled deserialization features
+   */
+  DeserializationFeature[] enableDeserialization() default {};
+
+  /**
+   * The deserialization features to disable on the application mapper, this is only used on an application package.
+   *
+   * @return the disabled deserialization features
+   */
+  DeserializationFeature[] disableDeserialization() default {};
+
 }
@@ -15,74 +15,77 @@
  */
 package juzu.plugin.jackson;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import juzu.impl.request.EntityMarshaller;
-import juzu.io.Chunk;
 import juzu.io.Stream;
 import juzu.io.Streamable;
+import juzu.io.UndeclaredIOException;
+import juzu.plugin.jackson.impl.JacksonService;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.AnnotatedElement;
 
 /**
+ * An {@link juzu.impl.request.EntityMarshaller} for Json using the Jackson framework, the json is serialized
+ * directly to the response stream with the application object mapper.
+ *
  * @author Julien Viet
  */
 public class JacksonMarshaller extends EntityMarshaller {
 
   @Override
-  public Streamable marshall(String mimeType, AnnotatedElement annotations, Object object) {
+  public Streamable marshall(String mimeType, AnnotatedElement annotations, final Object object) {
     if (mimeType.equals("application/json")) {
-
-      //
-      final byte[] data;
+      JacksonService service = JacksonService.getCurrent();
       if (object instanceof TreeNode) {
-        try {
-          TreeNode tree = (TreeNode)object;
-          JsonFactory jfactory = new JsonFactory();
-          ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-          JsonGenerator generator = jfactory.createGenerator(buffer);
-          ObjectMapper mapper = new ObjectMapper();
-          mapper.writeTree(generator, tree);
-          data = buffer.toByteArray();
-        }
-        catch (IOException e) {
-          throw new UnsupportedOperationException("handle me gracefully", e);
-        }
-      } else if (annotations.getAnnotation(Jackson.class) != null) {
-        try {
-          ObjectMapper mapper = new ObjectMapper();
-          ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-          mapper.writeValue(buffer, object);
-          data = buffer.toByteArray();
-        }
-        catch (IOException e) {
-          throw new UnsupportedOperationException("handle me gracefully", e);
-        }
-      } else {
-        data = null;
-      }
-
-      //
-      if (data != null) {
-        return new Streamable() {
+        final TreeNode tree = (TreeNode)object;
+        final ObjectMapper mapper = service.getMapper();
+        return new JsonStreamable() {
           @Override
-          public void send(Stream stream) throws IllegalStateException {
+          protected void write(OutputStream out) throws IOException {
+            JsonGenerator generator = mapper.getFactory().createGenerator(out);
             try {
-              stream.provide(Chunk.create(data));
+              mapper.writeTree(generator, tree);
             }
             finally {
-              stream.close(null);
+              generator.close();
             }
           }
         };
+      } else if (annotations.getAnnotation(Jackson.class) != null) {
+        final ObjectWriter writer = service.getWriter(object.getClass());
+        return new JsonStreamable() {
+          @Override
+          protected void write(OutputStream out) throws IOException {
+            writer.writeValue(out, object);
+          }
+        };
       }
     }
 
     //
     return null;
   }
+
+  private abstract static class JsonStreamable implements Streamable {
+
+    protected abstract void write(OutputStream out) throws IOException;
+
+    @Override
+    public void send(Stream stream) throws IllegalStateException {
+      try {
+        write(new ChunkOutputStream(stream));
+      }
+      catch (IOException e) {
+        throw new UndeclaredIOException(e);
+      }
+      finally {
+        stream.close(null);
+      }
+    }
+  }
 }
@@ -16,14 +16,15 @@
 package juzu.plugin.jackson;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.TreeTraversingParser;
 import juzu.impl.request.ContextualParameter;
 import juzu.impl.request.EntityUnmarshaller;
+import juzu.plugin.jackson.impl.JacksonService;
 import juzu.request.ClientContext;
 import juzu.request.RequestParameter;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -46,17 +47,32 @@ public class JacksonUnmarshaller extends EntityUnmarshaller {
       Map<String, RequestParameter> parameterArguments) throws IOException {
 
     //
-    ObjectMapper mapper = new ObjectMapper();
-
-    // Parse the payload first
-    JsonNode tree = mapper.readTree(context.getInputStream());
-
+    List<Map.Entry<ContextualParameter, Object>> trees = new ArrayList<Map.Entry<ContextualParameter, Object>>();
+    List<Map.Entry<ContextualParameter, Object>> objects = new ArrayList<Map.Entry<ContextualParameter, Object>>();
     for (Map.Entry<ContextualParameter, Object> contextualArgument : contextualArguments) {
       Class<?> type = contextualArgument.getKey().getType();
       if (JsonNode.class.isAssignableFrom(type)) {
-        contextualArgument.setValue(tree);
+        trees.add(contextualArgument);
       } else if (contextualArgument.getKey().getAnnotations().getAnnotation(Jackson.class) != null) {
-        Object value = mapper.readValue(new TreeTraversingParser(tree), type);
+        objects.add(contextualArgument);
+      }
+    }
+
+    //
+    JacksonService service = JacksonService.getCurrent();
+    if (trees.isEmpty() && objects.size() == 1) {
+      // Bind directly from the payload
+      Map.Entry<ContextualParameter, Object> contextualArgument = objects.get(0);
+      Object value = service.getReader(contextualArgument.getKey().getType()).readValue(context.getInputStream());
+      contextualArgument.setValue(value);
+    } else if (trees.size() > 0 || objects.size() > 0) {
+      // The payload is shared by several arguments, parse it first
+      JsonNode tree = service.getMapper().readTree(context.getInputStream());
+      for (Map.Entry<ContextualParameter, Object> contextualArgument : trees) {
+        contextualArgument.setValue(tree);
+      }
+      for (Map.Entry<ContextualParameter, Object> contextualArgument : objects) {
+        Object value = service.getReader(contextualArgument.getKey().getType()).readValue(tree);
         contextualArgument.setValue(value);
       }
     }
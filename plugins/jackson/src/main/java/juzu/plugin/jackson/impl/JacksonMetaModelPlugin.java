@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.plugin.jackson.impl;
+
+import juzu.impl.common.JSON;
+import juzu.impl.metamodel.AnnotationState;
+import juzu.impl.plugin.application.metamodel.PackageConfigMetaModelPlugin;
+import juzu.plugin.jackson.Jackson;
+
+import java.util.List;
+
+/**
+ * Emits the application object mapper configuration declared by a {@link Jackson} package annotation.
+ *
+ * @author Julien Viet
+ */
+public class JacksonMetaModelPlugin extends PackageConfigMetaModelPlugin {
+
+  public JacksonMetaModelPlugin() {
+    super("jackson", Jackson.class);
+  }
+
+  @Override
+  protected JSON getConfig(AnnotationState annotation) {
+    JSON config = new JSON();
+    config.set("serialization", features(annotation, "enableSerialization", "disableSerialization"));
+    config.set("deserialization", features(annotation, "enableDeserialization", "disableDeserialization"));
+    return config;
+  }
+
+  private JSON features(AnnotationState annotation, String enable, String disable) {
+    JSON features = new JSON();
+    List<?> enabled = (List<?>)annotation.get(enable);
+    if (enabled != null) {
+      for (Object feature : enabled) {
+        features.set(feature.toString(), true);
+      }
+    }
+    List<?> disabled = (List<?>)annotation.get(disable);
+    if (disabled != null) {
+      for (Object feature : disabled) {
+        features.set(feature.toString(), false);
+      }
+    }
+    return features;
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.plugin.jackson.impl;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import juzu.impl.common.JSON;
+import juzu.impl.plugin.ServiceContext;
+import juzu.impl.plugin.ServiceDescriptor;
+import juzu.impl.plugin.application.ApplicationService;
+import juzu.impl.request.Request;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the object mapper shared by an application, the mapper is configured once when the application starts and
+ * the readers and writers are resolved once per type. Readers and writers are immutable and thread safe in Jackson,
+ * so they can be reused across requests.
+ *
+ * @author Julien Viet
+ */
+public class JacksonService extends ApplicationService {
+
+  /** The service used when no application is available for the current thread. */
+  private static final JacksonService DEFAULT = new JacksonService();
+
+  /**
+   * Returns the service of the current application or a service with a default mapper when there is no current
+   * request.
+   *
+   * @return the service
+   */
+  public static JacksonService getCurrent() {
+    Request request = Request.getCurrent();
+    if (request != null) {
+      ApplicationService service = request.getApplication().getPlugin("jackson");
+      if (service instanceof JacksonService) {
+        return (JacksonService)service;
+      }
+    }
+    return DEFAULT;
+  }
+
+  /** . */
+  private final ObjectMapper mapper;
+
+  /** . */
+  private final ConcurrentHashMap<Class<?>, ObjectReader> readers;
+
+  /** . */
+  private final ConcurrentHashMap<Class<?>, ObjectWriter> writers;
+
+  public JacksonService() {
+    super("jackson");
+
+    //
+    this.mapper = new ObjectMapper();
+    this.readers = new ConcurrentHashMap<Class<?>, ObjectReader>();
+    this.writers = new ConcurrentHashMap<Class<?>, ObjectWriter>();
+  }
+
+  @Override
+  public ServiceDescriptor init(ServiceContext context) throws Exception {
+    JSON config = context.getConfig();
+    if (config != null) {
+      JSON serialization = config.getJSON("serialization");
+      if (serialization != null) {
+        for (String name : serialization.names()) {
+          mapper.configure(SerializationFeature.valueOf(name), serialization.getBoolean(name));
+        }
+      }
+      JSON deserialization = config.getJSON("deserialization");
+      if (deserialization != null) {
+        for (String name : deserialization.names()) {
+          mapper.configure(DeserializationFeature.valueOf(name), deserialization.getBoolean(name));
+        }
+      }
+    }
+    return new ServiceDescriptor();
+  }
+
+  public ObjectMapper getMapper() {
+    return mapper;
+  }
+
+  /**
+   * Returns the reader for the specified type.
+   *
+   * @param type the type to read
+   * @return the reader
+   */
+  public ObjectReader getReader(Class<?> type) {
+    ObjectReader reader = readers.get(type);
+    if (reader == null) {
+      reader = mapper.reader(type);
+      ObjectReader previous = readers.putIfAbsent(type, reader);
+      if (previous != null) {
+        reader = previous;
+      }
+    }
+    return reader;
+  }
+
+  /**
+   * Returns the writer for the specified type.
+   *
+   * @param type the type to write
+   * @return the writer
+   */
+  public ObjectWriter getWriter(Class<?> type) {
+    ObjectWriter writer = writers.get(type);
+    if (writer == null) {
+      writer = mapper.writerWithType(type);
+      ObjectWriter previous = writers.putIfAbsent(type, writer);
+      if (previous != null) {
+        writer = previous;
+      }
+    }
+    return writer;
+  }
+}
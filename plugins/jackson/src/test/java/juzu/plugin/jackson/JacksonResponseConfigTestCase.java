@@ -0,0 +1,51 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package juzu.plugin.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import juzu.test.AbstractWebTestCase;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.shrinkwrap.api.spec.WebArchive;
+import org.junit.Test;
+
+/** @author Julien Viet */
+public class JacksonResponseConfigTestCase extends AbstractWebTestCase {
+
+  @Deployment(testable = false)
+  public static WebArchive createDeployment() {
+    return createServletDeployment(true, "plugin.jackson.response.config");
+  }
+
+  @Test
+  public void testResponse() throws Exception {
+    HttpGet get = new HttpGet(applicationURL().toString());
+    HttpClient client = HttpClientBuilder.create().build();
+    HttpResponse response = client.execute(get);
+    assertEquals(200, response.getStatusLine().getStatusCode());
+    ObjectMapper mapper = new ObjectMapper();
+    JsonNode tree = mapper.readTree(response.getEntity().getContent());
+    JsonNodeFactory factory = JsonNodeFactory.instance;
+    JsonNode expected = factory.objectNode().set("Foo", factory.objectNode().set("foo", factory.textNode("bar")));
+    assertEquals(expected, tree);
+  }
+}
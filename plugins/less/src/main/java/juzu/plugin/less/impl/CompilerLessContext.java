@@ -47,6 +47,13 @@ class CompilerLessContext implements LessContext {
   }
 
   public String load(String ref) {
+    // The processing context is not thread safe and resources may be compiled concurrently
+    synchronized (processingContext) {
+      return doLoad(ref);
+    }
+  }
+
+  private String doLoad(String ref) {
     try {
       Path.Absolute path = pkg.resolve(ref);
       FileObject c = processingContext.resolveResourceFromSourcePath(context, path);
@@ -22,6 +22,7 @@ import juzu.impl.plugin.module.metamodel.ModuleMetaModelPlugin;
 import juzu.impl.metamodel.AnnotationKey;
 import juzu.impl.metamodel.AnnotationState;
 import juzu.impl.compiler.BaseProcessor;
+import juzu.impl.compiler.BuildCache;
 import juzu.impl.compiler.Message;
 import juzu.impl.compiler.ProcessingException;
 import juzu.impl.compiler.ElementHandle;
@@ -34,6 +35,7 @@ import juzu.plugin.less.Less;
 import juzu.plugin.less.impl.lesser.Compilation;
 import juzu.plugin.less.impl.lesser.Failure;
 import juzu.plugin.less.impl.lesser.JSContext;
+import juzu.plugin.less.impl.lesser.LessContext;
 import juzu.plugin.less.impl.lesser.LessError;
 import juzu.plugin.less.impl.lesser.Lesser;
 import juzu.plugin.less.impl.lesser.Result;
@@ -42,15 +44,22 @@ import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.PackageElement;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.Writer;
+import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 /** @author <a href="mailto:julien.viet@exoplatform.com">Julien Viet</a> */
 public class LessMetaModelPlugin extends ModuleMetaModelPlugin {
@@ -69,6 +78,9 @@ public class LessMetaModelPlugin extends ModuleMetaModelPlugin {
   /** . */
   private HashMap<Name, AnnotationState> annotations;
 
+  /** The idle lessers, they are not persisted with the meta model. */
+  private transient LinkedList<Lesser> lessers;
+
   public LessMetaModelPlugin() {
     super("less");
   }
@@ -109,6 +121,7 @@ public class LessMetaModelPlugin extends ModuleMetaModelPlugin {
     annotations = null;
 
     //
+    ArrayList<Compile> tasks = new ArrayList<Compile>();
     for (Map.Entry<Name, AnnotationState> entry : clone.entrySet()) {
       AnnotationState annotation = entry.getValue();
       Name pkg = entry.getKey();
@@ -151,62 +164,247 @@ public class LessMetaModelPlugin extends ModuleMetaModelPlugin {
           log.info("Resource " + resource + " destination resolved to " + to);
 
           //
-          Lesser lesser;
-          Result result;
+          FileObject fo;
           try {
-            lesser = new Lesser(JSContext.create());
-            result = lesser.compile(clc, resource, Boolean.TRUE.equals(minify));
+            fo = env.createResource(StandardLocation.CLASS_OUTPUT, to);
           }
-          catch (Exception e) {
-            log.info("Unexpected exception", e);
-            throw new UnsupportedOperationException(e);
+          catch (IOException e) {
+            log.info("Resource " + to + " could not be created", e);
+            continue;
           }
+          tasks.add(new Compile(pkgElt, annotationMirror, clc, resource, to, fo, Boolean.TRUE.equals(minify)));
+        }
+      }
+    }
 
-          //
-          if (result instanceof Compilation) {
-            try {
-              log.info("Resource " + resource + " compiled about to write on disk as " + to);
-              Compilation compilation = (Compilation)result;
-              FileObject fo = env.createResource(StandardLocation.CLASS_OUTPUT, to);
-              Writer writer = fo.openWriter();
-              try {
-                writer.write(compilation.getValue());
-              }
-              finally {
-                Tools.safeClose(writer);
-              }
-            }
-            catch (IOException e) {
-              log.info("Resource " + to + " could not be written on disk", e);
-            }
+    //
+    if (tasks.size() > 0) {
+      Compile first = tasks.get(0);
+      BuildCache cache = BuildCache.create(metaModel.processingContext, first.fo, first.to.getDirs(), first.to.getSimpleName());
+      for (Compile compile : tasks) {
+        compile.cache = cache;
+      }
+    }
+
+    // The resources are compiled concurrently and handled in the declaration order
+    for (Compile compile : BaseProcessor.invokeAll(tasks)) {
+      String resource = compile.resource;
+      Path.Absolute to = compile.to;
+      ProcessingContext env = metaModel.processingContext;
+
+      //
+      if (compile.failure != null) {
+        log.info("Unexpected exception", compile.failure);
+        throw new UnsupportedOperationException(compile.failure);
+      }
+
+      //
+      Result result = compile.result;
+      if (result instanceof Compilation) {
+        try {
+          log.info("Resource " + resource + " compiled about to write on disk as " + to + (compile.cached ? " from build cache" : ""));
+          Compilation compilation = (Compilation)result;
+          Writer writer = compile.fo.openWriter();
+          try {
+            writer.write(compilation.getValue());
+          }
+          finally {
+            Tools.safeClose(writer);
+          }
+        }
+        catch (IOException e) {
+          log.info("Resource " + to + " could not be written on disk", e);
+        }
+      }
+      else {
+        Failure failure = (Failure)result;
+        LinkedList<LessError> errors = failure.getErrors();
+        ArrayList<Message> messages = new ArrayList<Message>(errors.size());
+        StringBuilder sb = new StringBuilder();
+        for (LessError error : errors) {
+          String text = error.message != null ? error.message : "There is an error in your .less file";
+          int index = error.line - (error.extract.length - 1) / 2;
+          for (String line : error.extract) {
+            sb.append("[").append(index).append("]");
+            sb.append(index == error.line ? " -> " : "    ");
+            sb.append(line).append("\n");
+            index++;
+          }
+          Message msg = new Message(COMPILATION_ERROR,
+            text,
+            error.src,
+            error.line,
+            error.column + 1,
+            sb);
+          log.info(msg.toDisplayString());
+          messages.add(msg);
+        }
+        throw new ProcessingException(compile.pkgElt, compile.annotationMirror, messages);
+      }
+    }
+  }
+
+  /**
+   * Returns an idle lesser or creates a new one, a lesser evaluates the less script in a new JavaScript context
+   * and is reused across resources.
+   *
+   * @return the lesser
+   * @throws Exception any exception
+   */
+  private Lesser acquire() throws Exception {
+    synchronized (this) {
+      if (lessers != null && lessers.size() > 0) {
+        return lessers.removeFirst();
+      }
+    }
+    return new Lesser(JSContext.create());
+  }
+
+  private synchronized void release(Lesser lesser) {
+    if (lessers == null) {
+      lessers = new LinkedList<Lesser>();
+    }
+    lessers.addLast(lesser);
+  }
+
+  /**
+   * The compilation of a less resource.
+   */
+  private class Compile implements Callable<Compile> {
+
+    /** . */
+    final PackageElement pkgElt;
+
+    /** . */
+    final AnnotationMirror annotationMirror;
+
+    /** . */
+    final CompilerLessContext context;
+
+    /** . */
+    final String resource;
+
+    /** . */
+    final Path.Absolute to;
+
+    /** . */
+    final FileObject fo;
+
+    /** . */
+    final boolean minify;
+
+    /** . */
+    BuildCache cache;
+
+    /** . */
+    Result result;
+
+    /** . */
+    boolean cached;
+
+    /** . */
+    Exception failure;
+
+    Compile(PackageElement pkgElt, AnnotationMirror annotationMirror, CompilerLessContext context, String resource, Path.Absolute to, FileObject fo, boolean minify) {
+      this.pkgElt = pkgElt;
+      this.annotationMirror = annotationMirror;
+      this.context = context;
+      this.resource = resource;
+      this.to = to;
+      this.fo = fo;
+      this.minify = minify;
+    }
+
+    public Compile call() {
+      try {
+        String key = null;
+        if (cache != null) {
+          CodeSource codeSource = Lesser.class.getProtectionDomain().getCodeSource();
+          key = BuildCache.key("less", context.pkg, resource, minify, codeSource != null ? codeSource.getLocation() : null);
+          result = lookup(key);
+          cached = result != null;
+        }
+        if (result == null) {
+          Recorder recorder = new Recorder(context);
+          Lesser lesser = acquire();
+          try {
+            result = lesser.compile(recorder, resource, minify);
+          }
+          finally {
+            release(lesser);
           }
-          else {
-            Failure failure = (Failure)result;
-            LinkedList<LessError> errors = failure.getErrors();
-            ArrayList<Message> messages = new ArrayList<Message>(errors.size());
-            StringBuilder sb = new StringBuilder();
-            for (LessError error : errors) {
-              String text = error.message != null ? error.message : "There is an error in your .less file";
-              int index = error.line - (error.extract.length - 1) / 2;
-              for (String line : error.extract) {
-                sb.append("[").append(index).append("]");
-                sb.append(index == error.line ? " -> " : "    ");
-                sb.append(line).append("\n");
-                index++;
-              }
-              Message msg = new Message(COMPILATION_ERROR,
-                text,
-                error.src,
-                error.line,
-                error.column + 1,
-                sb);
-              log.info(msg.toDisplayString());
-              messages.add(msg);
-            }
-            throw new ProcessingException(pkgElt, annotationMirror, messages);
+          if (key != null && result instanceof Compilation) {
+            store(key, recorder.loaded, (Compilation)result);
           }
         }
       }
+      catch (Exception e) {
+        failure = e;
+      }
+      return this;
+    }
+
+    /**
+     * Lookup a compilation in the build cache, the entry records the content digest of the resources loaded by the
+     * compilation, it is valid when they are all unchanged.
+     */
+    private Compilation lookup(String key) throws IOException {
+      byte[] entry = cache.get(key);
+      if (entry != null) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry));
+        for (int size = in.readInt();size > 0;size--) {
+          String ref = in.readUTF();
+          String digest = in.readUTF();
+          if (!digest.equals(digest(context.load(ref)))) {
+            return null;
+          }
+        }
+        byte[] value = new byte[in.readInt()];
+        in.readFully(value);
+        return new Compilation(new String(value, "UTF-8"));
+      }
+      return null;
+    }
+
+    private void store(String key, Map<String, String> loaded, Compilation compilation) throws IOException {
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(buffer);
+      out.writeInt(loaded.size());
+      for (Map.Entry<String, String> entry : loaded.entrySet()) {
+        out.writeUTF(entry.getKey());
+        out.writeUTF(digest(entry.getValue()));
+      }
+      byte[] value = compilation.getValue().getBytes("UTF-8");
+      out.writeInt(value.length);
+      out.write(value);
+      out.close();
+      cache.put(key, buffer.toByteArray());
+    }
+
+    private String digest(String content) {
+      return content != null ? BuildCache.key(content) : "";
+    }
+  }
+
+  /**
+   * Records the resources loaded by a compilation.
+   */
+  private static class Recorder implements LessContext {
+
+    /** . */
+    final LessContext context;
+
+    /** . */
+    final LinkedHashMap<String, String> loaded = new LinkedHashMap<String, String>();
+
+    Recorder(LessContext context) {
+      this.context = context;
+    }
+
+    public String load(String ref) {
+      String content = context.load(ref);
+      loaded.put(ref, content);
+      return content;
     }
   }
 }
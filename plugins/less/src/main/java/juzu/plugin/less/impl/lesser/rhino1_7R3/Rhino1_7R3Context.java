@@ -32,9 +32,6 @@ import java.util.Map;
 public class Rhino1_7R3Context extends JSContext
 {
 
-  /** . */
-  private final Context ctx;
-
   /** . */
   private final Global global;
 
@@ -73,18 +70,13 @@ public class Rhino1_7R3Context extends JSContext
 
   public Rhino1_7R3Context()
   {
-    Context ctx = Context.enter();
+    Context ctx = enter();
     try
     {
-      ctx.setOptimizationLevel(1);
-      ctx.setLanguageVersion(Context.VERSION_1_7);
-
-      //
       Global global = new Global();
       global.init(ctx);
 
       this.global = global;
-      this.ctx = ctx;
       this.scope = ctx.initStandardObjects(global);
       this.classCache = new HashMap<String, Class<?>>();
       this.codeCache = new HashMap<String, byte[]>();
@@ -95,6 +87,18 @@ public class Rhino1_7R3Context extends JSContext
     }
   }
 
+  /**
+   * Enter a context associated with the current thread, so this object can be used by any thread but not
+   * concurrently.
+   */
+  private static Context enter()
+  {
+    Context ctx = Context.enter();
+    ctx.setOptimizationLevel(1);
+    ctx.setLanguageVersion(Context.VERSION_1_7);
+    return ctx;
+  }
+
   @Override
   public void put(String name, Object value)
   {
@@ -119,7 +123,7 @@ public class Rhino1_7R3Context extends JSContext
       classCache.put(name, clazz = cl.loadClass(name));
     }
     Script sc = (Script)clazz.newInstance();
-    Context.enter();
+    Context ctx = enter();
     Object o;
     try
     {
@@ -157,7 +161,7 @@ public class Rhino1_7R3Context extends JSContext
       }
     }
     sb.append(')');
-    Context.enter();
+    Context ctx = enter();
     Object o;
     try
     {
@@ -117,4 +117,35 @@ public class LessPluginTestCase extends AbstractTestCase {
     assertNotNull(f);
     assertTrue(f.exists());
   }
+
+  @Test
+  public void testBuildCache() throws Exception {
+    CompilerAssert<File, File> ca = compiler("plugin.less.resolve");
+    ca.assertCompile();
+    File css = ca.getClassOutput().getPath("plugin", "less", "resolve", "assets", "stylesheet.css");
+    assertTrue(Tools.read(css).contains("2"));
+    File[] entries = new File(ca.getClassOutput().getRoot().getParentFile(), "juzu-build-cache").listFiles();
+    assertNotNull(entries);
+    assertEquals(1, entries.length);
+    File entry = entries[0];
+    long time = (System.currentTimeMillis() / 1000 - 60) * 1000;
+    assertTrue(entry.setLastModified(time));
+
+    // Clean build reuses the entry
+    File ser = ca.getSourceOutput().getPath("juzu", "metamodel.ser");
+    assertTrue(ser.delete());
+    assertTrue(css.delete());
+    ca.assertCompile();
+    assertTrue(Tools.read(css).contains("2"));
+    assertEquals(time, entry.lastModified());
+
+    // Modifying an imported resource invalidates the entry
+    File imported = ca.getSourcePath().getPath("plugin", "less", "resolve", "assets", "folder", "stylesheet.less");
+    Tools.write("a { with: 2+2 }", imported);
+    assertTrue(ser.delete());
+    assertTrue(css.delete());
+    ca.assertCompile();
+    assertTrue(Tools.read(css).contains("4"));
+    assertTrue(entry.lastModified() > time);
+  }
 }
@@ -25,6 +25,7 @@ import juzu.impl.common.JSON;
 import juzu.impl.inject.BeanDescriptor;
 import juzu.impl.plugin.ServiceContext;
 import juzu.impl.plugin.ServiceDescriptor;
+import juzu.impl.request.ControllerHandler;
 
 import juzu.impl.request.Stage;
 import org.apache.shiro.mgt.SecurityManager;
@@ -70,58 +71,50 @@ public class ShiroDescriptor extends ServiceDescriptor {
     return Arrays.asList(bean);
   }
 
-  public Response invoke(Stage.Handler stage) {
-    //
-    String methodId = stage.getRequest().getHandler().getHandle().toString();
+  /**
+   * Compile the authorization plan of a controller method.
+   *
+   * @param handler the controller method
+   * @return the plan or null when the method has no authorization rules
+   */
+  public ShiroPlan compile(ControllerHandler<?> handler) {
+    String methodId = handler.getHandle().toString();
     String controllerId = methodId.substring(0, methodId.indexOf('#'));
     methodId = methodId.substring(controllerId.length() + 1);
     JSON controllerJSON = getConfig().getJSON(controllerId);
     if (controllerJSON == null) {
-      return stage.invoke();
+      return null;
     }
 
     //
+    ShiroRule controller = controllerJSON.get("require") != null ? new ShiroRule(controllerJSON) : null;
     JSON methodsJSON = controllerJSON.getJSON("methods");
-    JSON methodJSON;
+    JSON methodJSON = methodsJSON != null ? methodsJSON.getJSON(methodId) : null;
+    ShiroRule method = methodJSON != null ? new ShiroRule(methodJSON) : null;
+    return controller != null || method != null ? new ShiroPlan(controller, method) : null;
+  }
 
-    if (controllerJSON.get("require") != null) {
-      Response resp = authorizer.isAuthorized(stage, controllerJSON);
+  public Response invoke(Stage.Handler stage, ShiroPlan plan) {
+    if (plan.controller != null) {
+      Response resp = authorizer.isAuthorized(stage, plan.controller);
       if (resp != null) {
         return resp;
-      } else {
-        if (methodsJSON == null) {
-          return stage.invoke();
-        }
-
-        methodJSON = methodsJSON.getJSON(methodId);
-        if (methodJSON == null) {
-          return stage.invoke();
-        }
-
-        return doInvoke(stage, methodJSON);
       }
     }
-
-    if (methodsJSON == null) {
+    if (plan.method == null) {
       return stage.invoke();
     }
-
-    methodJSON = methodsJSON.getJSON(methodId);
-    if (methodJSON == null) {
-      return stage.invoke();
-    }
-
-    return doInvoke(stage, methodJSON);
+    return doInvoke(stage, plan.method);
   }
 
-  private Response doInvoke(Stage.Handler request, JSON json) {
-    Response resp = authorizer.isAuthorized(request, json);
+  private Response doInvoke(Stage.Handler request, ShiroRule rule) {
+    Response resp = authorizer.isAuthorized(request, rule);
     if (resp != null) {
       return resp;
     } else {
-      if ("login".equals(json.get("operator"))) {
+      if (rule.isLogin()) {
         return authenticater.doLogin(request);
-      } else if ("logout".equals(json.get("operator"))) {
+      } else if (rule.isLogout()) {
         return authenticater.doLogout(request);
       } else {
         return request.invoke();
@@ -0,0 +1,39 @@
+/*
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package juzu.plugin.shiro.impl;
+
+/**
+ * The authorization plan of a controller method: the rule required by its controller and the rule of the method.
+ *
+ * @author <a href="mailto:haithanh0809@gmail.com">Nguyen Thanh Hai</a>
+ * @version $Id$
+ * 
+ */
+public class ShiroPlan {
+
+  /** The controller rule or null. */
+  final ShiroRule controller;
+
+  /** The method rule or null. */
+  final ShiroRule method;
+
+  ShiroPlan(ShiroRule controller, ShiroRule method) {
+    this.controller = controller;
+    this.method = method;
+  }
+}
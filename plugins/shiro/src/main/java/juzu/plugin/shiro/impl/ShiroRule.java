@@ -0,0 +1,148 @@
+/*
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package juzu.plugin.shiro.impl;
+
+import java.util.Arrays;
+import java.util.List;
+
+import juzu.impl.common.JSON;
+import juzu.plugin.shiro.impl.common.ShiroTools;
+
+import org.apache.shiro.SecurityUtils;
+import org.apache.shiro.authz.annotation.Logical;
+import org.apache.shiro.subject.Subject;
+
+/**
+ * The authorization rule of a controller or a method compiled from its configuration.
+ *
+ * @author <a href="mailto:haithanh0809@gmail.com">Nguyen Thanh Hai</a>
+ * @version $Id$
+ * 
+ */
+public class ShiroRule {
+
+  /** . */
+  private final String require;
+
+  /** . */
+  private final String[] roles;
+
+  /** . */
+  private final Logical rolesLogical;
+
+  /** . */
+  private final String[] permissions;
+
+  /** . */
+  private final Logical permissionsLogical;
+
+  /** . */
+  private final String operator;
+
+  /** . */
+  private final String config;
+
+  ShiroRule(JSON json) {
+    JSON rolesJSON = json.getJSON("roles");
+    JSON permissionsJSON = json.getJSON("permissions");
+    this.require = json.get("require") != null ? json.get("require").toString() : null;
+    this.roles = rolesJSON != null ? values(rolesJSON) : null;
+    this.rolesLogical = rolesJSON != null ? Logical.valueOf(rolesJSON.getString("logical")) : null;
+    this.permissions = permissionsJSON != null ? values(permissionsJSON) : null;
+    this.permissionsLogical = permissionsJSON != null ? Logical.valueOf(permissionsJSON.getString("logical")) : null;
+    this.operator = json.get("operator") != null ? json.get("operator").toString() : null;
+    this.config = json.toString();
+  }
+
+  private static String[] values(JSON json) {
+    List<String> values = (List<String>)json.get("value");
+    return values.toArray(new String[values.size()]);
+  }
+
+  public boolean isLogin() {
+    return "login".equals(operator);
+  }
+
+  public boolean isLogout() {
+    return "logout".equals(operator);
+  }
+
+  public boolean verify() {
+    Subject subject = SecurityUtils.getSubject();
+    if (require != null) {
+      return hasRequire(subject);
+    }
+    if (roles != null && !hasRoles(subject)) {
+      return false;
+    }
+    if (permissions != null && !hasPermissions(subject)) {
+      return false;
+    }
+    return true;
+  }
+
+  private boolean hasRequire(Subject subject) {
+    if ("guest".equals(require)) {
+      return subject.getPrincipal() == null;
+    } else if ("authenticate".equals(require)) {
+      return subject.isAuthenticated();
+    } else if ("user".equals(require)) {
+      return subject.getPrincipal() != null;
+    }
+    return false;
+  }
+
+  private boolean hasRoles(Subject subject) {
+    if (!subject.isAuthenticated()) {
+      return false;
+    }
+    if (roles.length == 1) {
+      return ShiroTools.hasRole(roles[0]);
+    } else if (roles.length > 1) {
+      switch (rolesLogical) {
+        case AND :
+          return subject.hasAllRoles(Arrays.asList(roles));
+        case OR :
+          return ShiroTools.hasRole(roles);
+      }
+    }
+    return false;
+  }
+
+  private boolean hasPermissions(Subject subject) {
+    if (!subject.isAuthenticated()) {
+      return false;
+    }
+    if (permissions.length == 1) {
+      return ShiroTools.isPermitted(permissions[0]);
+    } else if (permissions.length > 1) {
+      switch (permissionsLogical) {
+        case AND :
+          return subject.isPermittedAll(permissions);
+        case OR :
+          return ShiroTools.isPermitted(permissions);
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return config;
+  }
+}
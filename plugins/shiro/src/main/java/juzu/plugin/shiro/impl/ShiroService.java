@@ -21,16 +21,22 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.HashMap;
 
 import javax.annotation.PostConstruct;
+import javax.inject.Inject;
 
 import juzu.Response;
 import juzu.Scope;
 import juzu.asset.AssetLocation;
 import juzu.impl.common.JSON;
+import juzu.impl.common.MethodHandle;
+import juzu.impl.inject.Scoped;
 import juzu.impl.plugin.ServiceContext;
 import juzu.impl.plugin.ServiceDescriptor;
 import juzu.impl.plugin.application.ApplicationService;
+import juzu.impl.plugin.controller.ControllerService;
+import juzu.impl.request.ControllerHandler;
 import juzu.impl.request.Request;
 import juzu.impl.request.RequestFilter;
 
@@ -55,6 +61,13 @@ public class ShiroService extends ApplicationService implements RequestFilter<St
   /** . */
   private ShiroDescriptor descriptor;
 
+  /** The authorization plans of the controller methods that have authorization rules. */
+  private HashMap<MethodHandle, ShiroPlan> plans;
+
+  /** . */
+  @Inject
+  ControllerService controllerPlugin;
+
   public ShiroService() {
     super("shiro");
   }
@@ -73,6 +86,16 @@ public class ShiroService extends ApplicationService implements RequestFilter<St
       IniSecurityManagerFactory factory = new IniSecurityManagerFactory(ini);
       manager = factory.getInstance();
     }
+
+    //
+    HashMap<MethodHandle, ShiroPlan> plans = new HashMap<MethodHandle, ShiroPlan>();
+    for (ControllerHandler<?> handler : controllerPlugin.getDescriptor().getHandlers()) {
+      ShiroPlan plan = descriptor.compile(handler);
+      if (plan != null) {
+        plans.put(handler.getHandle(), plan);
+      }
+    }
+    this.plans = plans;
   }
 
   @Override
@@ -89,7 +112,8 @@ public class ShiroService extends ApplicationService implements RequestFilter<St
           manager = provider.get();
         }
         start();
-        return descriptor.invoke(stage);
+        ShiroPlan plan = plans.get(stage.getRequest().getHandler().getHandle());
+        return plan != null ? descriptor.invoke(stage, plan) : stage.invoke();
       } catch (InvocationTargetException e) {
         throw new RuntimeException(e);
       } finally {
@@ -104,10 +128,10 @@ public class ShiroService extends ApplicationService implements RequestFilter<St
   private void start() throws InvocationTargetException {
     //
     Request request = Request.getCurrent();
-    Subject currentUser = null;
-
-    if (request.getScopeController().get(Scope.SESSION, "currentUser") != null) {
-      currentUser = (Subject)request.getScopeController().get(Scope.SESSION, "currentUser").get();
+    Subject currentUser;
+    Scoped scoped = request.getScopeController().get(Scope.SESSION, "currentUser");
+    if (scoped != null) {
+      currentUser = (Subject)scoped.get();
     } else {
       Subject.Builder builder = new Subject.Builder(manager);
       currentUser = builder.buildSubject();
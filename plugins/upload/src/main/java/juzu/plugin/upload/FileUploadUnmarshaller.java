@@ -17,20 +17,37 @@ package juzu.plugin.upload;
 
 import juzu.impl.request.ContextualParameter;
 import juzu.impl.request.EntityUnmarshaller;
+import juzu.plugin.upload.impl.UploadService;
 import juzu.request.ClientContext;
 import juzu.request.RequestParameter;
 import org.apache.commons.fileupload.FileItem;
+import org.apache.commons.fileupload.FileItemHeadersSupport;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
 import org.apache.commons.fileupload.FileUpload;
 import org.apache.commons.fileupload.FileUploadException;
-import org.apache.commons.fileupload.disk.DiskFileItemFactory;
+import org.apache.commons.fileupload.util.Streams;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
+ * Unmarshall a multipart entity, the parts are streamed:
+ * <ul>
+ *   <li>form fields are decoded into request parameters</li>
+ *   <li>a file bound to a {@link FileItem} contextual parameter is stored with the application disk file item
+ *   factory</li>
+ *   <li>a file bound to an {@link InputStream} contextual parameter is read lazily from the request by the
+ *   controller, it is never stored</li>
+ *   <li>any other file is skipped</li>
+ * </ul>
+ *
+ * Since the request is read once, the multipart entity is parsed up to the first part bound to an input stream,
+ * the parts after it are not seen when the controller arguments are determined. Therefore form fields should
+ * precede such parts and the input streams should be read in the order of the parts.
+ *
  * @author Julien Viet
  */
 public class FileUploadUnmarshaller extends EntityUnmarshaller {
@@ -63,28 +80,53 @@ public class FileUploadUnmarshaller extends EntityUnmarshaller {
     };
 
     //
-    FileUpload upload = new FileUpload(new DiskFileItemFactory());
+    HashMap<String, Map.Entry<ContextualParameter, Object>> files = new HashMap<String, Map.Entry<ContextualParameter, Object>>();
+    HashMap<String, Map.Entry<ContextualParameter, Object>> streams = new HashMap<String, Map.Entry<ContextualParameter, Object>>();
+    for (Map.Entry<ContextualParameter, Object> argument : contextualArguments) {
+      ContextualParameter contextualParam = argument.getKey();
+      if (FileItem.class.isAssignableFrom(contextualParam.getType())) {
+        files.put(contextualParam.getName(), argument);
+      } else if (InputStream.class.equals(contextualParam.getType())) {
+        streams.put(contextualParam.getName(), argument);
+      }
+    }
+
+    //
+    String encoding = context.getCharacterEncoding();
+    if (encoding == null) {
+      encoding = "ISO-8859-1";
+    }
+
+    //
+    UploadService service = UploadService.getCurrent();
+    FileUpload upload = service.createUpload();
     try {
-      List<FileItem> list = (List<FileItem>)upload.parseRequest(ctx);
-      HashMap<String, FileItem> files = new HashMap<String, FileItem>();
-      for (FileItem file : list) {
-        String name = file.getFieldName();
-        if (file.isFormField()) {
+      FileItemIterator i = upload.getItemIterator(ctx);
+      FileItemStream pending = null;
+      while (i.hasNext()) {
+        FileItemStream item = i.next();
+        String name = item.getFieldName();
+        if (item.isFormField()) {
+          String value = Streams.asString(item.openStream(), encoding);
           RequestParameter parameterArg = parameterArguments.get(name);
           if (parameterArg == null) {
-            parameterArguments.put(name, RequestParameter.create(name, file.getString()));
+            parameterArguments.put(name, RequestParameter.create(name, value));
           } else {
-            parameterArguments.put(name, parameterArg.append(new String[]{file.getString()}));
+            parameterArguments.put(name, parameterArg.append(new String[]{value}));
           }
-        } else {
-          files.put(name, file);
+        } else if (files.containsKey(name)) {
+          files.remove(name).setValue(store(service, item));
+        } else if (streams.containsKey(name)) {
+          pending = item;
+          break;
         }
       }
-      for (Map.Entry<ContextualParameter, Object> argument : contextualArguments) {
-        ContextualParameter contextualParam = argument.getKey();
-        FileItem file = files.get(contextualParam.getName());
-        if (file != null && FileItem.class.isAssignableFrom(contextualParam.getType())) {
-          argument.setValue(file);
+
+      //
+      if (streams.size() > 0) {
+        Parts parts = new Parts(i, pending);
+        for (Map.Entry<String, Map.Entry<ContextualParameter, Object>> stream : streams.entrySet()) {
+          stream.getValue().setValue(new PartInputStream(parts, stream.getKey()));
         }
       }
     }
@@ -92,4 +134,111 @@ public class FileUploadUnmarshaller extends EntityUnmarshaller {
       throw new IOException(e);
     }
   }
+
+  private FileItem store(UploadService service, FileItemStream item) throws IOException {
+    FileItem file = service.getFactory().createItem(item.getFieldName(), item.getContentType(), item.isFormField(), item.getName());
+    Streams.copy(item.openStream(), file.getOutputStream(), true);
+    if (file instanceof FileItemHeadersSupport) {
+      ((FileItemHeadersSupport)file).setHeaders(item.getHeaders());
+    }
+    return file;
+  }
+
+  /**
+   * The parts of the request that remain to be read.
+   */
+  static class Parts {
+
+    /** . */
+    private final FileItemIterator iterator;
+
+    /** . */
+    private FileItemStream current;
+
+    Parts(FileItemIterator iterator, FileItemStream current) {
+      this.iterator = iterator;
+      this.current = current;
+    }
+
+    /**
+     * Skip the parts until the specified file part and open it, null is returned when it cannot be found.
+     *
+     * @param name the part name
+     * @return the part stream
+     * @throws IOException any io exception
+     */
+    synchronized InputStream open(String name) throws IOException {
+      try {
+        while (current == null || current.isFormField() || !name.equals(current.getFieldName())) {
+          if (iterator.hasNext()) {
+            current = iterator.next();
+          } else {
+            return null;
+          }
+        }
+      }
+      catch (FileUploadException e) {
+        throw new IOException(e);
+      }
+      FileItemStream item = current;
+      current = null;
+      return item.openStream();
+    }
+  }
+
+  /**
+   * An input stream opening its part on the first read.
+   */
+  static class PartInputStream extends InputStream {
+
+    /** . */
+    private final Parts parts;
+
+    /** . */
+    private final String name;
+
+    /** . */
+    private InputStream in;
+
+    /** . */
+    private boolean opened;
+
+    PartInputStream(Parts parts, String name) {
+      this.parts = parts;
+      this.name = name;
+    }
+
+    private InputStream get() throws IOException {
+      if (!opened) {
+        opened = true;
+        in = parts.open(name);
+      }
+      return in;
+    }
+
+    @Override
+    public int read() throws IOException {
+      InputStream in = get();
+      return in != null ? in.read() : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      InputStream in = get();
+      return in != null ? in.read(b, off, len) : -1;
+    }
+
+    @Override
+    public int available() throws IOException {
+      InputStream in = get();
+      return in != null ? in.available() : 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (in != null) {
+        in.close();
+      }
+    }
+  }
 }
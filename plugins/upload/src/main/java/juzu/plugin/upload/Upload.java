@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.plugin.upload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures the handling of multipart uploads of an application.
+ *
+ * @author Julien Viet
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PACKAGE)
+public @interface Upload {
+
+  /**
+   * The size in bytes above which an uploaded file is written to the repository instead of being kept in memory.
+   *
+   * @return the size threshold
+   */
+  int sizeThreshold() default 10240;
+
+  /**
+   * The directory where uploaded files larger than the size threshold are stored, system properties can be
+   * referenced with the <code>${name}</code> syntax. When empty the <code>java.io.tmpdir</code> directory is used.
+   *
+   * @return the repository directory
+   */
+  String repository() default "";
+
+  /**
+   * The maximum size in bytes of a request, a negative value means no limit.
+   *
+   * @return the maximum request size
+   */
+  long sizeMax() default -1;
+
+  /**
+   * The maximum size in bytes of a single uploaded file, a negative value means no limit.
+   *
+   * @return the maximum file size
+   */
+  long fileSizeMax() default -1;
+
+}
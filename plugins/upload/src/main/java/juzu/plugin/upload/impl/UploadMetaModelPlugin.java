@@ -0,0 +1,45 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.plugin.upload.impl;
+
+import juzu.impl.common.JSON;
+import juzu.impl.metamodel.AnnotationState;
+import juzu.impl.plugin.application.metamodel.PackageConfigMetaModelPlugin;
+import juzu.plugin.upload.Upload;
+
+/**
+ * Emits the upload configuration declared by an {@link Upload} package annotation.
+ *
+ * @author Julien Viet
+ */
+public class UploadMetaModelPlugin extends PackageConfigMetaModelPlugin {
+
+  public UploadMetaModelPlugin() {
+    super("upload", Upload.class);
+  }
+
+  @Override
+  protected JSON getConfig(AnnotationState annotation) {
+    JSON config = new JSON();
+    for (String name : new String[]{"sizeThreshold", "repository", "sizeMax", "fileSizeMax"}) {
+      Object value = annotation.get(name);
+      if (value != null) {
+        config.set(name, value);
+      }
+    }
+    return config;
+  }
+}
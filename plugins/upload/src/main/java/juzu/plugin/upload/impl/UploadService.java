@@ -0,0 +1,117 @@
+/*
+ * Copyright 2013 eXo Platform SAS
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package juzu.plugin.upload.impl;
+
+import juzu.impl.common.JSON;
+import juzu.impl.common.Tools;
+import juzu.impl.plugin.ServiceContext;
+import juzu.impl.plugin.ServiceDescriptor;
+import juzu.impl.plugin.application.ApplicationService;
+import juzu.impl.request.Request;
+import org.apache.commons.fileupload.FileUpload;
+import org.apache.commons.fileupload.disk.DiskFileItemFactory;
+
+import java.io.File;
+
+/**
+ * Holds the upload configuration of an application.
+ *
+ * @author Julien Viet
+ */
+public class UploadService extends ApplicationService {
+
+  /** The service used when no application is available for the current thread. */
+  private static final UploadService DEFAULT = new UploadService();
+
+  /**
+   * Returns the service of the current application or a service with the default configuration when there is
+   * no current request.
+   *
+   * @return the service
+   */
+  public static UploadService getCurrent() {
+    Request request = Request.getCurrent();
+    if (request != null) {
+      ApplicationService service = request.getApplication().getPlugin("upload");
+      if (service instanceof UploadService) {
+        return (UploadService)service;
+      }
+    }
+    return DEFAULT;
+  }
+
+  /** . */
+  private final DiskFileItemFactory factory;
+
+  /** . */
+  private long sizeMax;
+
+  /** . */
+  private long fileSizeMax;
+
+  public UploadService() {
+    super("upload");
+
+    //
+    this.factory = new DiskFileItemFactory();
+    this.sizeMax = -1;
+    this.fileSizeMax = -1;
+  }
+
+  @Override
+  public ServiceDescriptor init(ServiceContext context) throws Exception {
+    JSON config = context.getConfig();
+    if (config != null) {
+      Number sizeThreshold = (Number)config.get("sizeThreshold");
+      if (sizeThreshold != null) {
+        factory.setSizeThreshold(sizeThreshold.intValue());
+      }
+      String repository = config.getString("repository");
+      if (repository != null && repository.length() > 0) {
+        File dir = new File(Tools.interpolate(repository, System.getProperties()));
+        if (!dir.exists() && !dir.mkdirs()) {
+          throw new IllegalArgumentException("Could not create upload repository " + dir.getAbsolutePath());
+        }
+        factory.setRepository(dir);
+      }
+      Number sizeMax = (Number)config.get("sizeMax");
+      if (sizeMax != null) {
+        this.sizeMax = sizeMax.longValue();
+      }
+      Number fileSizeMax = (Number)config.get("fileSizeMax");
+      if (fileSizeMax != null) {
+        this.fileSizeMax = fileSizeMax.longValue();
+      }
+    }
+    return new ServiceDescriptor();
+  }
+
+  public DiskFileItemFactory getFactory() {
+    return factory;
+  }
+
+  /**
+   * Create a file upload configured with the application limits.
+   *
+   * @return the file upload
+   */
+  public FileUpload createUpload() {
+    FileUpload upload = new FileUpload(factory);
+    upload.setSizeMax(sizeMax);
+    upload.setFileSizeMax(fileSizeMax);
+    return upload;
+  }
+}
@@ -31,9 +31,14 @@ import javax.validation.ParameterNameProvider;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import javax.validation.metadata.MethodDescriptor;
+import javax.validation.metadata.ParameterDescriptor;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -50,6 +55,12 @@ public class ValidationFilter implements RequestFilter<Stage.Invoke>, ParameterN
   /** . */
   private final ControllerService controllerPlugin;
 
+  /** The parameter names of the controller methods. */
+  private final HashMap<Method, List<String>> parameterNames = new HashMap<Method, List<String>>();
+
+  /** The controller methods having constrained parameters. */
+  private final HashSet<Method> constrainedMethods = new HashSet<Method>();
+
   @Inject
   public ValidationFilter(ControllerService controllerPlugin) {
     this.controllerPlugin = controllerPlugin;
@@ -62,13 +73,51 @@ public class ValidationFilter implements RequestFilter<Stage.Invoke>, ParameterN
 
   @PostConstruct
   public void start() {
+    List<ControllerHandler> handlers = controllerPlugin.getDescriptor().getHandlers();
+    for (ControllerHandler<?> handler : handlers) {
+      List<ControlParameter> parameters = handler.getParameters();
+      ArrayList<String> names = new ArrayList<String>(parameters.size());
+      for (ControlParameter parameter : parameters) {
+        names.add(parameter.getName());
+      }
+      parameterNames.put(handler.getMethod(), Collections.unmodifiableList(names));
+    }
     ValidatorFactory factory = Validation.byDefaultProvider().configure().parameterNameProvider(this).buildValidatorFactory();
     validator = factory.getValidator();
+    for (ControllerHandler<?> handler : handlers) {
+      Method method = handler.getMethod();
+      MethodDescriptor descriptor = validator.getConstraintsForClass(handler.getType()).getConstraintsForMethod(method.getName(), method.getParameterTypes());
+      if (descriptor != null && isConstrained(descriptor)) {
+        constrainedMethods.add(method);
+      }
+    }
+  }
+
+  private static boolean isConstrained(MethodDescriptor descriptor) {
+    if (descriptor.hasConstrainedParameters()) {
+      return true;
+    }
+    for (ParameterDescriptor parameter : descriptor.getParameterDescriptors()) {
+      if (parameter.isCascaded()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns true when the parameters of a controller method are validated.
+   *
+   * @param method the controller method
+   * @return true when the method has constrained or cascaded parameters
+   */
+  public boolean isConstrained(Method method) {
+    return validator != null && constrainedMethods.contains(method);
   }
 
   @Override
   public Response handle(Stage.Invoke argument) {
-    if (validator != null) {
+    if (isConstrained(argument.getMethod())) {
       Set<ConstraintViolation<Object>> violations = validator.forExecutables().validateParameters(argument.getController(), argument.getMethod(), argument.getArguments());
       if (violations.size() > 0) {
         return new ValidationError(violations);
@@ -84,14 +133,9 @@ public class ValidationFilter implements RequestFilter<Stage.Invoke>, ParameterN
 
   @Override
   public List<String> getParameterNames(Method method) {
-    ControllerHandler<?> handler = controllerPlugin.getDescriptor().getHandler(method);
-    if (handler != null) {
-      List<ControlParameter> parameters = handler.getParameters();
-      ArrayList<String> parameterNames = new ArrayList<String>(parameters.size());
-      for (ControlParameter parameter : parameters) {
-        parameterNames.add(parameter.getName());
-      }
-      return parameterNames;
+    List<String> names = parameterNames.get(method);
+    if (names != null) {
+      return names;
     } else {
       return getParameterNames( method.getParameterTypes().length );
     }
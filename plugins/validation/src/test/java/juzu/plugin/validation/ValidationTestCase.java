@@ -18,6 +18,10 @@
 package juzu.plugin.validation;
 
 import juzu.impl.inject.spi.InjectorProvider;
+import juzu.impl.plugin.controller.ControllerService;
+import juzu.impl.request.ControllerHandler;
+import juzu.impl.request.RequestFilter;
+import juzu.plugin.validation.impl.ValidationFilter;
 import juzu.test.AbstractInjectTestCase;
 import juzu.test.protocol.mock.MockApplication;
 import juzu.test.protocol.mock.MockClient;
@@ -27,6 +31,7 @@ import org.junit.Test;
 import javax.validation.ConstraintViolation;
 import javax.validation.ElementKind;
 import javax.validation.Path;
+import java.lang.reflect.Method;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -45,7 +50,8 @@ public class ValidationTestCase extends AbstractInjectTestCase {
 
   @Test
   public void testValidation() throws Exception {
-    MockApplication app = application("juzu.simple").init();
+    MockApplication<?> app = application("juzu.simple").init();
+    assertTrue(getFilter(app).isConstrained(getMethod(app, "index")));
     MockClient client = app.client();
     MockViewBridge render = client.render();
     ValidationError va = assertInstanceOf(ValidationError.class, render.getResponse());
@@ -73,4 +79,31 @@ public class ValidationTestCase extends AbstractInjectTestCase {
     Set<ConstraintViolation<Object>> violations = error.getViolations();
     assertEquals(1, violations.size());
   }
+
+  @Test
+  public void testUnconstrained() throws Exception {
+    MockApplication<?> app = application("juzu.unconstrained").init();
+    assertFalse(getFilter(app).isConstrained(getMethod(app, "index")));
+    MockClient client = app.client();
+    MockViewBridge render = client.render();
+    render.assertStringResponse("hello null");
+  }
+
+  private ValidationFilter getFilter(MockApplication<?> app) throws Exception {
+    for (RequestFilter<?> filter : app.getLifeCycle().resolveBeans(RequestFilter.class)) {
+      if (filter instanceof ValidationFilter) {
+        return (ValidationFilter)filter;
+      }
+    }
+    throw failure("No validation filter");
+  }
+
+  private Method getMethod(MockApplication<?> app, String name) throws Exception {
+    for (ControllerHandler<?> handler : app.getLifeCycle().resolveBean(ControllerService.class).getDescriptor().getHandlers()) {
+      if (handler.getMethod().getName().equals(name)) {
+        return handler.getMethod();
+      }
+    }
+    throw failure("No controller method " + name);
+  }
 }
@@ -0,0 +1,4 @@
+@Application
+package juzu.unconstrained;
+
+import juzu.Application;
@@ -93,4 +93,9 @@ public class TemplateProviderImpl extends TemplateProvider<MustacheContext> {
   public String getSourceExtension() {
     return "mustache";
   }
+
+  @Override
+  public boolean isConcurrent() {
+    return true;
+  }
 }